@@ -0,0 +1,61 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: BenchmarkMain.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of benchmarks.jar: the regular JMH command line, except that results are always written as JSON
+ * ({@code jmh-result.json} unless {@code -rff} says otherwise) and the GC profiler is on, so every run leaves a
+ * machine-readable record with allocation rates that can be diffed against earlier runs.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions cli;
+        try {
+            cli = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("[ERROR] " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams() || cli.shouldListProfilers()
+                || cli.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli).resultFormat(ResultFormatType.JSON);
+        if (cli.getResult().hasValue()) {
+            options.result(cli.getResult().get());
+        } else {
+            options.result("jmh-result.json");
+        }
+        if (cli.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: ColumnarFilterBenchmark.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.bench;
+
+import com.mobinyousefi.googlesearchfilter.loadtest.CseFixtures;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.FilterPlan;
+import com.mobinyousefi.googlesearchfilter.service.ResultBatch;
+import com.mobinyousefi.googlesearchfilter.service.SearchFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering stored results in bulk: {@link SearchFilter#apply} row by row over a list against the columnar
+ * {@link ResultBatch}, with every criterion set and {@code maxResults} at the batch size so both see every row.
+ *
+ * {@code select} is the bitset evaluation alone, {@code columnar} includes collecting the matching rows. Building
+ * the batch is a one-time cost and not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarFilterBenchmark {
+
+    private static final String[] MIME_TYPES = {"text/html", "application/pdf", "text/plain", null};
+    private static final String[] LANGUAGES = {"en", "en-US", "de", "fr", "ja", null};
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private final SearchFilter filter = new SearchFilter();
+    private List<SearchResult> results;
+    private ResultBatch batch;
+    private FilterPlan plan;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        long from = OffsetDateTime.of(2015, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).toEpochSecond();
+        results = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String host = CseFixtures.domain(random.nextInt(CseFixtures.HOST_POOL));
+            results.add(SearchResult.builder()
+                    .title("Result " + i)
+                    .link("https://" + host + "/" + i)
+                    .displayLink(host)
+                    .mimeType(MIME_TYPES[random.nextInt(MIME_TYPES.length)])
+                    .languageCode(LANGUAGES[random.nextInt(LANGUAGES.length)])
+                    .indexedTime(from + random.nextInt(10 * 365 * 86400), 0, 0)
+                    .safe(random.nextInt(10) > 0)
+                    .build());
+        }
+        batch = ResultBatch.of(results);
+
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setMaxResults(rows);
+        criteria.setFromDate(OffsetDateTime.of(2019, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        criteria.setToDate(OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        criteria.getDomainBlacklist().addAll(CseFixtures.domains(CseFixtures.HOST_POOL / 4));
+        criteria.getMimeTypes().add("text/html");
+        criteria.getLanguageCodes().add("en");
+        plan = FilterPlan.compile(criteria);
+    }
+
+    @Benchmark
+    public List<SearchResult> rowWise() {
+        return filter.apply(results, plan);
+    }
+
+    @Benchmark
+    public List<SearchResult> columnar() {
+        return filter.apply(batch, plan);
+    }
+
+    @Benchmark
+    public long[] select() {
+        return batch.select(plan);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DateParseBenchmark.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.bench;
+
+import com.mobinyousefi.googlesearchfilter.util.DateParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata date parsing per string: the original {@code OffsetDateTime.parse} with exceptions as control flow
+ * (kept here verbatim as the baseline) against {@link DateParser}, with and without its cache.
+ *
+ * {@code shape} picks the input mix: {@code iso} only offset-carrying ISO strings (the baseline's best case),
+ * {@code mixed} the shapes seen in the wild, where most strings make the baseline throw.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateParseBenchmark {
+
+    private static final int INPUTS = 64;
+
+    private static final String[] MIXED = {
+            "2024-03-%02dT10:30:00+01:00",
+            "2024-03-%02dT10:30:00Z",
+            "2024-03-%02dT10:30:00",
+            "2024-03-%02d",
+            "Fri, %02d Mar 2024 10:30:00 GMT",
+            "March %d, 2024",
+            "2024/03/%02d",
+            "n/a %d"};
+
+    @Param({"iso", "mixed"})
+    public String shape;
+
+    private final String[] inputs = new String[INPUTS];
+    private final DateParser uncached = new DateParser(0);
+    private final DateParser cached = new DateParser();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < INPUTS; i++) {
+            String pattern = shape.equals("iso") ? MIXED[i % 2] : MIXED[i % MIXED.length];
+            inputs[i] = String.format(pattern, 1 + i % 28);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void exceptionBaseline(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(parseDate(input));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void dateParser(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(uncached.parse(input));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void dateParserCached(Blackhole blackhole) {
+        for (String input : inputs) {
+            blackhole.consume(cached.parse(input));
+        }
+    }
+
+    private static OffsetDateTime parseDate(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null) {
+                try {
+                    return OffsetDateTime.parse(candidate);
+                } catch (DateTimeParseException ignored) {
+                    // best-effort only
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: EndToEndBenchmark.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.bench;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.loadtest.CseFixtures;
+import com.mobinyousefi.googlesearchfilter.loadtest.CseStubServer;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.FilteredSearchService;
+import com.mobinyousefi.googlesearchfilter.service.GoogleSearchClient;
+import com.mobinyousefi.googlesearchfilter.service.SearchFilter;
+import com.mobinyousefi.googlesearchfilter.util.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole query against a CSE stand-in on the loopback interface: HTTP round trips, parsing and filtering, with no
+ * caches in the way. The stub answers instantly, so this measures our own overhead per query, not Google's latency.
+ *
+ * {@code transport} compares full uncompressed responses ({@code full}) with the default partial responses
+ * ({@code fields}) and partial gzipped ones ({@code fields-gzip}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    private static final String QUERY = "benchmark query";
+
+    @Param({"100"})
+    public int maxResults;
+
+    @Param({"1", "4"})
+    public int concurrentPages;
+
+    @Param({"full", "fields", "fields-gzip"})
+    public String transport;
+
+    private CseStubServer server;
+
+    private GoogleSearchClient client;
+    private final SearchFilter filter = new SearchFilter();
+    private FilteredSearchService service;
+    private FilterCriteria criteria;
+
+    @Setup
+    public void setUp() throws IOException, SearchException {
+        server = CseStubServer.builder().pages(maxResults / 10).seed(11).start();
+
+        Properties properties = new Properties();
+        properties.setProperty("google.endpoint", server.getEndpoint());
+        properties.setProperty("google.apiKey", "benchmark-key-" + concurrentPages + "-" + transport);
+        properties.setProperty("google.searchEngineId", "benchmark-cx");
+        properties.setProperty("google.maxConcurrentPages", String.valueOf(concurrentPages));
+        properties.setProperty("google.requestsPerSecond", "1000000000");
+        properties.setProperty("google.dailyQuota", "0");
+        if (transport.equals("full")) {
+            properties.setProperty("google.fields", "");
+        }
+        properties.setProperty("http.compression", String.valueOf(transport.endsWith("gzip")));
+        client = new GoogleSearchClient(new Config(properties));
+        service = new FilteredSearchService(client, filter);
+
+        criteria = new FilterCriteria();
+        criteria.setMaxResults(maxResults);
+        criteria.setFromDate(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        for (int i = 0; i < CseFixtures.HOST_POOL; i += 3) {
+            criteria.getDomainBlacklist().add(CseFixtures.domain(i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    /**
+     * The original shape of a query: fetch everything, then filter the list.
+     */
+    @Benchmark
+    public List<SearchResult> searchThenApply() throws IOException, SearchException {
+        return filter.apply(client.search(QUERY, maxResults), criteria);
+    }
+
+    /**
+     * Pushdown plus streaming filter, over-fetching until {@code maxResults} rows match or the pages run out.
+     */
+    @Benchmark
+    public List<SearchResult> filteredSearch() throws IOException, SearchException {
+        return service.search(QUERY, criteria);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: FilterBenchmark.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.bench;
+
+import com.mobinyousefi.googlesearchfilter.loadtest.CseFixtures;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.CseResponseParser;
+import com.mobinyousefi.googlesearchfilter.service.FilterPlan;
+import com.mobinyousefi.googlesearchfilter.service.SearchFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SearchFilter#apply} over a full 100-result query as the domain lists grow from empty to 100k entries.
+ *
+ * {@code applyCriteria} is what a caller pays per query (plan compilation included), {@code applyPlan} the per-row
+ * cost once compiled, and {@code compile} the compilation alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({"0", "10", "1000", "100000"})
+    public int domains;
+
+    @Param({"whitelist", "blacklist"})
+    public String list;
+
+    private final SearchFilter filter = new SearchFilter();
+    private List<SearchResult> results;
+    private FilterCriteria criteria;
+    private FilterPlan plan;
+
+    @Setup
+    public void setUp() throws IOException {
+        CseResponseParser parser = new CseResponseParser();
+        results = new ArrayList<>();
+        for (int start = 1; start <= 91; start += 10) {
+            results.addAll(parser.parse(CseFixtures.page("benchmark query", start, 10, 30, 7)));
+        }
+
+        criteria = new FilterCriteria();
+        criteria.setMaxResults(results.size());
+        criteria.setFromDate(OffsetDateTime.of(2021, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+        // every other pool domain, so lists of any size match roughly half the hosts that are in range
+        List<String> domainList = new ArrayList<>(domains);
+        for (int i = 0; domainList.size() < domains; i++) {
+            domainList.add(CseFixtures.domain(i * 2));
+        }
+        if (list.equals("whitelist")) {
+            criteria.getDomainWhitelist().addAll(domainList);
+        } else {
+            criteria.getDomainBlacklist().addAll(domainList);
+        }
+        plan = FilterPlan.compile(criteria);
+    }
+
+    @Benchmark
+    public List<SearchResult> applyCriteria() {
+        return filter.apply(results, criteria);
+    }
+
+    @Benchmark
+    public List<SearchResult> applyPlan() {
+        return filter.apply(results, plan);
+    }
+
+    @Benchmark
+    public FilterPlan compile() {
+        return FilterPlan.compile(criteria);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: ParseBenchmark.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobinyousefi.googlesearchfilter.loadtest.CseFixtures;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.CseResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response parsing throughput: the streaming {@link CseResponseParser} against the original tree-model path
+ * ({@code readTree} on the decoded body, kept here verbatim as the baseline). Run with {@code -prof gc} (the default
+ * in {@link BenchmarkMain}) for the allocation rate per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"1", "10"})
+    public int items;
+
+    @Param({"30"})
+    public int snippetWords;
+
+    private byte[] body;
+    private final CseResponseParser parser = new CseResponseParser();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Setup
+    public void setUp() {
+        body = CseFixtures.page("benchmark query", 1, items, snippetWords, 42);
+    }
+
+    @Benchmark
+    public List<SearchResult> streamingBytes() throws IOException {
+        return parser.parse(body);
+    }
+
+    /**
+     * The production path: the parser reads straight from the response body stream.
+     */
+    @Benchmark
+    public List<SearchResult> streamingInputStream() throws IOException {
+        return parser.parse(new ByteArrayInputStream(body));
+    }
+
+    /**
+     * Baseline: body decoded to a String, then a full {@link JsonNode} tree, then field lookups.
+     */
+    @Benchmark
+    public List<SearchResult> domTree() throws IOException {
+        return parseTree(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private List<SearchResult> parseTree(String jsonBody) throws IOException {
+        List<SearchResult> results = new ArrayList<>();
+        JsonNode root = objectMapper.readTree(jsonBody);
+        JsonNode items = root.get("items");
+        if (items == null || !items.isArray()) {
+            return results;
+        }
+
+        for (JsonNode item : items) {
+            SearchResult.Builder builder = SearchResult.builder()
+                    .title(textOrNull(item.get("title")))
+                    .link(textOrNull(item.get("link")))
+                    .displayLink(textOrNull(item.get("displayLink")))
+                    .snippet(textOrNull(item.get("snippet")));
+
+            JsonNode mimeTypeNode = item.get("mime");
+            if (mimeTypeNode != null) {
+                builder.mimeType(mimeTypeNode.asText());
+            }
+
+            JsonNode fileFormatNode = item.get("fileFormat");
+            if (fileFormatNode != null) {
+                builder.fileFormat(fileFormatNode.asText());
+            }
+
+            JsonNode pagemap = item.get("pagemap");
+            if (pagemap != null && pagemap.has("metatags")) {
+                JsonNode metatagsArray = pagemap.get("metatags");
+                if (metatagsArray.isArray() && !metatagsArray.isEmpty()) {
+                    JsonNode meta = metatagsArray.get(0);
+                    builder.indexedTime(parseDate(meta, "article:published_time", "og:updated_time", "date"));
+                    String lang = textOrNull(meta.get("og:locale"));
+                    if (lang != null) {
+                        builder.languageCode(lang);
+                    }
+                }
+            }
+            builder.safe(true);
+            results.add(builder.build());
+        }
+        return results;
+    }
+
+    private static OffsetDateTime parseDate(JsonNode meta, String... keys) {
+        for (String key : keys) {
+            JsonNode node = meta.get(key);
+            if (node != null && node.isTextual()) {
+                try {
+                    return OffsetDateTime.parse(node.asText());
+                } catch (DateTimeParseException ignored) {
+                    // best-effort only
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node != null && node.isTextual() ? node.asText() : null;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: ResultFootprint.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.bench;
+
+import com.mobinyousefi.googlesearchfilter.loadtest.CseFixtures;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.model.StringDictionary;
+import com.mobinyousefi.googlesearchfilter.service.CseResponseParser;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retained heap per result: the compact {@link SearchResult} against the original nine-reference layout (kept here
+ * verbatim as {@link LegacyResult}), over the same parsed rows.
+ *
+ * Heap is not a timing question, so this is a plain main rather than a JMH benchmark; sizes come from JOL walking
+ * the object graphs. Strings are copied per row for the legacy layout, as the parser allocates them per row.
+ * <pre>
+ *   java -cp target/benchmarks.jar com.mobinyousefi.googlesearchfilter.bench.ResultFootprint [results]
+ * </pre>
+ */
+public final class ResultFootprint {
+
+    private ResultFootprint() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        CseResponseParser parser = new CseResponseParser();
+
+        List<SearchResult> compact = new ArrayList<>(count);
+        for (int start = 1; compact.size() < count; start += 10) {
+            compact.addAll(parser.parse(CseFixtures.page("footprint", start, 10, 30, 7)));
+        }
+        compact = compact.subList(0, count);
+
+        List<LegacyResult> legacy = new ArrayList<>(count);
+        for (SearchResult r : compact) {
+            legacy.add(LegacyResult.copyOf(r));
+        }
+
+        long compactBytes = GraphLayout.parseInstance(compact.toArray()).totalSize();
+        long legacyBytes = GraphLayout.parseInstance(legacy.toArray()).totalSize();
+        long dictionaryBytes = GraphLayout.parseInstance(StringDictionary.shared()).totalSize();
+
+        System.out.printf("results:            %,d%n", count);
+        System.out.printf("legacy layout:      %,d bytes (%.1f per result)%n", legacyBytes,
+                (double) legacyBytes / count);
+        System.out.printf("compact layout:     %,d bytes (%.1f per result)%n", compactBytes,
+                (double) compactBytes / count);
+        System.out.printf("shared dictionary:  %,d bytes (%,d values)%n", dictionaryBytes,
+                StringDictionary.shared().size());
+        System.out.printf("saved:              %.1f%% including the dictionary%n",
+                100.0 * (legacyBytes - compactBytes - dictionaryBytes) / legacyBytes);
+    }
+
+    /**
+     * The pre-compact layout: one reference per field, a string per row for every field and a full
+     * {@link OffsetDateTime} graph.
+     */
+    static final class LegacyResult {
+        private final String title;
+        private final String link;
+        private final String displayLink;
+        private final String snippet;
+        private final String mimeType;
+        private final String fileFormat;
+        private final OffsetDateTime indexedTime;
+        private final String languageCode;
+        private final boolean safe;
+
+        private LegacyResult(String title, String link, String displayLink, String snippet, String mimeType,
+                             String fileFormat, OffsetDateTime indexedTime, String languageCode, boolean safe) {
+            this.title = title;
+            this.link = link;
+            this.displayLink = displayLink;
+            this.snippet = snippet;
+            this.mimeType = mimeType;
+            this.fileFormat = fileFormat;
+            this.indexedTime = indexedTime;
+            this.languageCode = languageCode;
+            this.safe = safe;
+        }
+
+        static LegacyResult copyOf(SearchResult r) {
+            return new LegacyResult(copy(r.getTitle()), copy(r.getLink()), copy(r.getDisplayLink()),
+                    copy(r.getSnippet()), copy(r.getMimeType()), copy(r.getFileFormat()), r.getIndexedTime(),
+                    copy(r.getLanguageCode()), r.isSafe());
+        }
+
+        private static String copy(String s) {
+            return s == null ? null : new String(s.toCharArray()); // new String(s) would share the bytes
+        }
+    }
+}
@@ -4,54 +4,765 @@
  * File: GoogleSearchFilterApp.java
  * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
  * Created: 2025-11-19
- * Updated: 2025-11-19
+ * Updated: 2026-10-16
  * License: MIT License (see LICENSE file for details)
  * =====================================================================================================================
  */
 
 package com.mobinyousefi.googlesearchfilter;
 
+import com.mobinyousefi.googlesearchfilter.batch.BatchRunner;
 import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.index.LocalIndex;
+import com.mobinyousefi.googlesearchfilter.loadtest.CseStubServer;
+import com.mobinyousefi.googlesearchfilter.loadtest.LatencyDistribution;
+import com.mobinyousefi.googlesearchfilter.loadtest.LoadGenerator;
+import com.mobinyousefi.googlesearchfilter.metrics.MetricsEndpoint;
+import com.mobinyousefi.googlesearchfilter.metrics.MetricsRegistry;
+import com.mobinyousefi.googlesearchfilter.metrics.MetricsReporter;
 import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
 import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.server.DaemonClient;
+import com.mobinyousefi.googlesearchfilter.server.DaemonServer;
+import com.mobinyousefi.googlesearchfilter.server.SearchServer;
+import com.mobinyousefi.googlesearchfilter.service.CachingSearchClient;
+import com.mobinyousefi.googlesearchfilter.service.CoalescingSearchClient;
+import com.mobinyousefi.googlesearchfilter.service.DiskCachingSearchClient;
+import com.mobinyousefi.googlesearchfilter.service.DiskResultStore;
+import com.mobinyousefi.googlesearchfilter.service.DomainList;
+import com.mobinyousefi.googlesearchfilter.service.DomainListLoader;
+import com.mobinyousefi.googlesearchfilter.service.FederatedSearchClient;
+import com.mobinyousefi.googlesearchfilter.service.FilteredSearchService;
 import com.mobinyousefi.googlesearchfilter.service.GoogleSearchClient;
+import com.mobinyousefi.googlesearchfilter.service.LocalIndexSearchClient;
+import com.mobinyousefi.googlesearchfilter.service.PagedSearchClient;
+import com.mobinyousefi.googlesearchfilter.service.PublicSuffixList;
+import com.mobinyousefi.googlesearchfilter.service.ResultRanker;
 import com.mobinyousefi.googlesearchfilter.service.SearchClient;
 import com.mobinyousefi.googlesearchfilter.service.SearchFilter;
 import com.mobinyousefi.googlesearchfilter.ui.ConsoleUI;
 import com.mobinyousefi.googlesearchfilter.util.Config;
+import com.mobinyousefi.googlesearchfilter.watch.SeenSet;
+import com.mobinyousefi.googlesearchfilter.watch.Watch;
+import com.mobinyousefi.googlesearchfilter.watch.WatchRunner;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * Application entry point. Wires configuration, search client, filtering layer, and console UI together.
+ *
+ * Usage:
+ * <pre>
+ *   java -jar app.jar                                              interactive console
+ *   java -jar app.jar --batch [input|-] [output|-] [--concurrency N]   JSONL batch run (see {@link BatchRunner})
+ *   java -jar app.jar --stub-server [--port N] [--latency SPEC] [--error-rate R] [--pages N] [--snippet-words N]
+ *                                                                  local CSE stand-in (see {@link CseStubServer})
+ *   java -jar app.jar --load-test [--qps N] [--duration SECONDS] [--queries N] [--max-results N]
+ *                     [--max-in-flight N] [--endpoint URL] [--set key=value]...
+ *                                                                  open-loop load run (see {@link LoadGenerator})
+ *   java -jar app.jar --serve [--host ADDRESS] [--port N]          HTTP search service (see {@link SearchServer})
+ *   java -jar app.jar --index [file|-]... [--index-dir DIR]        add JSONL results to the offline index
+ *                                                                  (see {@link LocalIndex})
+ *   java -jar app.jar --watch [watches|-] [output|-] [--state DIR] [--once]
+ *                                                                  report new results of saved queries
+ *                                                                  (see {@link WatchRunner})
+ *   java -jar app.jar --daemon [--socket PATH]                     warm search service on a Unix domain socket
+ *                                                                  (see {@link DaemonServer})
+ *   java -jar app.jar --client [--socket PATH] [--criteria JSON] [--timeout MS] query...
+ *                                                                  search through a running daemon
+ * </pre>
+ *
+ * search.providers selects where queries go: google, local (the offline index) or both, federated. Block lists of
+ * millions of domains are compiled from files once and memory-mapped (see {@link DomainList}).
+ *
+ * Stage latencies and counters are published over JMX (metrics.jmx), optionally as Prometheus text on
+ * metrics.port, and summarized every metrics.summaryIntervalSeconds in batch and load-test runs.
+ *
+ * Fatal errors name the stage that failed and exit with status 1, as do a batch run with failed queries and a client
+ * search that did not complete.
  */
 public class GoogleSearchFilterApp {
 
+    private static final String DEFAULT_PUBLIC_SUFFIX_LIST = "/usr/share/publicsuffix/public_suffix_list.dat";
+
+    private static FilteredSearchService sharedService; // guarded by GoogleSearchFilterApp.class
+
     public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "";
+        String stage = "load configuration"; // what was being done, for the error message
         try {
             Config config = new Config("config.properties");
-            SearchClient searchClient = new GoogleSearchClient(config);
-            SearchFilter searchFilter = new SearchFilter();
-            ConsoleUI consoleUI = new ConsoleUI(searchClient, searchFilter);
+            if (mode.equals("--client")) {
+                stage = "search through the daemon";
+                runClient(config, args); // first, so a call loads as little as possible
+                return;
+            }
+            if (mode.equals("--stub-server")) {
+                stage = "run the CSE stub";
+                runStubServer(config, args);
+                return;
+            }
+            if (mode.equals("--index")) {
+                stage = "update the local index";
+                runIndex(config, args);
+                return;
+            }
+            stage = "start metrics export";
+            startMetricsExport(config);
+            stage = "load domain lists";
+            configureDomainLists(config);
+            if (mode.equals("--load-test")) {
+                stage = "run the load test";
+                MetricsReporter reporter = startMetricsReporter(config, System.out);
+                try {
+                    runLoadTest(config, args);
+                } finally {
+                    stop(reporter);
+                }
+                System.out.println("[INFO] " + MetricsRegistry.global().summaryLine());
+                return;
+            }
+            if (mode.equals("--watch")) {
+                stage = "run watches";
+                runWatch(config, args);
+                return;
+            }
 
-            consoleUI.start();
-        } catch (IOException e) {
-            System.err.println("[FATAL] Failed to load configuration: " + e.getMessage());
-        } catch (SearchException e) {
-            System.err.println("[FATAL] Search engine initialization failed: " + e.getMessage());
+            stage = "initialize the search engine";
+            SearchClient searchClient = createSearchClient(config);
+            SearchFilter searchFilter = createSearchFilter(config);
+            FilteredSearchService searchService = createSearchService(config, searchClient, searchFilter);
+
+            if (mode.equals("--serve")) {
+                stage = "run the search service";
+                MetricsReporter reporter = startMetricsReporter(config, System.out);
+                try {
+                    runServer(config, searchService, args);
+                } finally {
+                    stop(reporter);
+                }
+                printCacheStats(searchClient, System.out);
+                System.out.println("[INFO] " + MetricsRegistry.global().summaryLine());
+            } else if (mode.equals("--daemon")) {
+                stage = "run the search daemon";
+                MetricsReporter reporter = startMetricsReporter(config, System.out);
+                try {
+                    runDaemon(config, searchService, args);
+                } finally {
+                    stop(reporter);
+                }
+                printCacheStats(searchClient, System.out);
+                System.out.println("[INFO] " + MetricsRegistry.global().summaryLine());
+            } else if (mode.equals("--batch")) {
+                stage = "run the batch";
+                BatchRunner.Summary summary;
+                MetricsReporter reporter = startMetricsReporter(config, System.err);
+                try {
+                    summary = runBatch(config, searchService, args);
+                } finally {
+                    stop(reporter);
+                }
+                printCacheStats(searchClient, System.err);
+                System.err.println("[INFO] " + MetricsRegistry.global().summaryLine());
+                if (summary.getFailed() > 0) {
+                    System.exit(1); // so that scripts notice queries that got no answer
+                }
+            } else {
+                stage = "run the console";
+                ConsoleUI consoleUI = new ConsoleUI(searchService);
+                consoleUI.start();
+                printCacheStats(searchClient, System.out);
+                System.out.println("[INFO] " + MetricsRegistry.global().summaryLine());
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("[FATAL] " + e.getMessage());
+            System.exit(1);
+        } catch (IOException | SearchException e) {
+            System.err.println("[FATAL] Failed to " + stage + ": " + e.getMessage());
+            System.exit(1);
         }
     }
 
     /**
-     * Convenience method used by tests or future GUI integrations.
+     * Convenience method used by tests or future GUI integrations. The configured client stack is built on first use
+     * and shared by later calls, so they reuse its connections, caches and quota limiter.
      */
     public static List<SearchResult> executeFilteredSearch(String query, FilterCriteria criteria)
             throws IOException, SearchException {
-        Config config = new Config("config.properties");
-        SearchClient searchClient = new GoogleSearchClient(config);
-        SearchFilter searchFilter = new SearchFilter();
-        List<SearchResult> raw = searchClient.search(query, criteria.getMaxResults());
-        return searchFilter.apply(raw, criteria);
+        return sharedSearchService().search(query, criteria);
+    }
+
+    private static synchronized FilteredSearchService sharedSearchService() throws IOException, SearchException {
+        if (sharedService == null) {
+            Config config = new Config("config.properties");
+            configureDomainLists(config);
+            sharedService = createSearchService(config, createSearchClient(config), createSearchFilter(config));
+        }
+        return sharedService;
+    }
+
+    /**
+     * Builds the filter, with the ranking stage when ranking.enabled is set.
+     */
+    public static SearchFilter createSearchFilter(Config config) {
+        if (!config.getBoolean("ranking.enabled", false)) {
+            return new SearchFilter();
+        }
+        return new SearchFilter(ResultRanker.builder()
+                .titleWeight(config.getDouble("ranking.titleWeight", 2))
+                .snippetWeight(config.getDouble("ranking.snippetWeight", 1))
+                .recency(config.getDouble("ranking.recencyWeight", 1),
+                        Duration.ofHours(config.getLong("ranking.recencyHalfLifeHours", 720)))
+                .domainBoosts(config.getOrDefault("ranking.domainBoosts", ""))
+                .candidates(config.getInt("ranking.candidates", ResultRanker.DEFAULT_CANDIDATES))
+                .build());
+    }
+
+    /**
+     * Sets up how domain list files are compiled and cached, and loads the block lists applied to every search
+     * (domainLists.blocklists). The Public Suffix List is read from domainLists.publicSuffixList, by default the copy
+     * many Linux distributions install; without one, only top-level domains count as public suffixes.
+     */
+    public static void configureDomainLists(Config config) throws IOException {
+        String pslFile = config.getOrDefault("domainLists.publicSuffixList", DEFAULT_PUBLIC_SUFFIX_LIST);
+        PublicSuffixList suffixes = PublicSuffixList.DEFAULT;
+        if (!pslFile.isBlank() && Files.isReadable(Path.of(pslFile))) {
+            suffixes = PublicSuffixList.load(Path.of(pslFile));
+        } else if (!pslFile.equals(DEFAULT_PUBLIC_SUFFIX_LIST)) {
+            System.err.println("[WARN] Public Suffix List not readable: " + pslFile + "; using top-level domains only");
+        }
+        List<String> blocklists = new ArrayList<>();
+        for (String file : config.getOrDefault("domainLists.blocklists", "").split(",")) {
+            if (!file.isBlank()) {
+                blocklists.add(file.trim());
+            }
+        }
+        DomainListLoader.global().configure(
+                Path.of(config.getOrDefault("domainLists.cacheDirectory",
+                        Path.of(System.getProperty("user.home"), ".google-search-filter", "domain-lists").toString())),
+                suffixes, config.getBoolean("domainLists.blockWholeSites", false), blocklists);
+        for (DomainList list : DomainListLoader.global().getLoaded()) {
+            System.err.println("[INFO] Blocking every search with " + list);
+        }
+    }
+
+    public static FilteredSearchService createSearchService(Config config, SearchClient searchClient,
+                                                            SearchFilter searchFilter) {
+        return new FilteredSearchService(searchClient, searchFilter,
+                config.getInt("search.pageBudget", FilteredSearchService.DEFAULT_PAGE_BUDGET));
+    }
+
+    /**
+     * Builds the configured search client: the Google stack ({@link #createGoogleSearchClient}), the offline local
+     * index, or both behind a {@link FederatedSearchClient}, as listed in search.providers. A provider with a
+     * search.&lt;provider&gt;.backup gets that provider as its hedged backup, asked as well after
+     * search.&lt;provider&gt;.hedgeAfterMillis without a result or right away on a failure.
+     */
+    public static SearchClient createSearchClient(Config config) throws IOException, SearchException {
+        List<String> providers = new ArrayList<>();
+        for (String provider : config.getOrDefault("search.providers", "google").split(",")) {
+            if (!provider.isBlank()) {
+                providers.add(provider.trim());
+            }
+        }
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("search.providers must name at least one provider");
+        }
+        Map<String, SearchClient> clients = new HashMap<>(); // one per provider, also when it backs up another
+        if (providers.size() == 1 && backupOf(config, providers.get(0)) == null) {
+            return provider(config, clients, providers.get(0));
+        }
+        Duration timeout = Duration.ofMillis(config.getLong("search.providerTimeoutMillis", 10_000));
+        FederatedSearchClient.Builder builder = FederatedSearchClient.builder();
+        for (String provider : providers) {
+            String backup = backupOf(config, provider);
+            if (backup == null) {
+                builder.provider(provider, provider(config, clients, provider), timeout);
+            } else {
+                builder.provider(provider, provider(config, clients, provider), timeout,
+                        provider(config, clients, backup),
+                        Duration.ofMillis(config.getLong("search." + provider + ".hedgeAfterMillis", 300)));
+            }
+        }
+        FederatedSearchClient federated = builder.build();
+        Runtime.getRuntime().addShutdownHook(new Thread(federated::close, "federated-search-client-close"));
+        return federated;
+    }
+
+    private static String backupOf(Config config, String provider) {
+        String backup = config.get("search." + provider + ".backup");
+        if (backup == null || backup.isBlank()) {
+            return null;
+        }
+        if (backup.trim().equals(provider)) {
+            throw new IllegalArgumentException("search." + provider + ".backup must name another provider");
+        }
+        return backup.trim();
+    }
+
+    private static SearchClient provider(Config config, Map<String, SearchClient> clients, String provider)
+            throws IOException, SearchException {
+        SearchClient client = clients.get(provider);
+        if (client == null) {
+            client = createProvider(config, provider);
+            clients.put(provider, client);
+        }
+        return client;
+    }
+
+    private static SearchClient createProvider(Config config, String provider) throws IOException, SearchException {
+        return switch (provider) {
+            case "google" -> createGoogleSearchClient(config);
+            case "local" -> new LocalIndexSearchClient(openLocalIndex(config, localIndexDirectory(config)));
+            default -> throw new IllegalArgumentException("Unknown search provider: " + provider);
+        };
+    }
+
+    /**
+     * Builds the Google search client stack: Google CSE, optionally behind a persistent on-disk result store,
+     * single-flight coalescing of identical in-flight pages and an in-memory result cache (checked first).
+     */
+    public static PagedSearchClient createGoogleSearchClient(Config config) throws IOException, SearchException {
+        PagedSearchClient client = new GoogleSearchClient(config);
+        if (config.getBoolean("diskCache.enabled", false)) {
+            Path directory = Path.of(config.getOrDefault("diskCache.directory",
+                    Path.of(System.getProperty("user.home"), ".google-search-filter", "cache").toString()));
+            DiskResultStore store = null;
+            try {
+                store = DiskResultStore.open(directory,
+                        Duration.ofSeconds(config.getLong("diskCache.ttlSeconds", 86400)),
+                        config.getLong("diskCache.segmentBytes", 16L * 1024 * 1024),
+                        Duration.ofSeconds(config.getLong("diskCache.compactionIntervalSeconds", 300)));
+            } catch (IOException e) {
+                // typically another process (a daemon, a batch run) owns the directory; the cache is only an aid
+                System.err.println("[WARN] Disk cache unavailable, running without it: " + e.getMessage());
+            }
+            if (store != null) {
+                DiskResultStore opened = store;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        opened.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, "disk-result-store-close"));
+                client = new DiskCachingSearchClient(client, store);
+            }
+        }
+        if (config.getBoolean("search.coalesce", true)) {
+            client = new CoalescingSearchClient(client);
+        }
+        if (config.getBoolean("cache.enabled", false)) {
+            client = new CachingSearchClient(client,
+                    Duration.ofSeconds(config.getLong("cache.ttlSeconds", 600)),
+                    config.getLong("cache.maxBytes", 64L * 1024 * 1024));
+        }
+        return client;
+    }
+
+    private static Path localIndexDirectory(Config config) {
+        return Path.of(config.getOrDefault("localIndex.directory",
+                Path.of(System.getProperty("user.home"), ".google-search-filter", "index").toString()));
+    }
+
+    private static LocalIndex openLocalIndex(Config config, Path directory) throws IOException {
+        LocalIndex index = LocalIndex.open(directory,
+                config.getInt("localIndex.segmentDocs", LocalIndex.DEFAULT_SEGMENT_DOCS));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                index.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, "local-index-close"));
+        return index;
+    }
+
+    /**
+     * Adds JSON Lines files (or standard input, "-" or no file) to the local index: single results as well as
+     * --batch output lines.
+     */
+    private static void runIndex(Config config, String[] args) throws IOException {
+        Path directory = localIndexDirectory(config);
+        List<String> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--index-dir")) {
+                directory = Path.of(optionValue(args, i++));
+            } else if (args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected index argument: " + args[i]);
+            } else {
+                inputs.add(args[i]);
+            }
+        }
+        if (inputs.isEmpty()) {
+            inputs.add("-");
+        }
+
+        try (LocalIndex index = LocalIndex.open(directory,
+                config.getInt("localIndex.segmentDocs", LocalIndex.DEFAULT_SEGMENT_DOCS))) {
+            for (String input : inputs) {
+                long start = System.nanoTime();
+                long added;
+                if (input.equals("-")) {
+                    added = index.addJsonLines(new BufferedReader(new InputStreamReader(System.in,
+                            StandardCharsets.UTF_8)));
+                } else {
+                    added = index.addJsonLines(Path.of(input));
+                }
+                long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                System.out.printf("[INFO] Indexed %d results from %s in %d ms (%d/s)%n", added, input, millis,
+                        added * 1000 / millis);
+            }
+            System.out.println("[INFO] " + index);
+        }
+    }
+
+    private static void startMetricsExport(Config config) throws IOException {
+        if (config.getBoolean("metrics.jmx", true)) {
+            MetricsRegistry.global().registerJmx();
+        }
+        int port = config.getInt("metrics.port", 0);
+        if (port > 0) {
+            MetricsEndpoint endpoint = MetricsEndpoint.start(MetricsRegistry.global(), port);
+            Runtime.getRuntime().addShutdownHook(new Thread(endpoint::close, "metrics-endpoint-stop"));
+        }
+    }
+
+    /**
+     * @return the periodic summary printer, or null when metrics.summaryIntervalSeconds is 0
+     */
+    private static MetricsReporter startMetricsReporter(Config config, PrintStream out) {
+        long seconds = config.getLong("metrics.summaryIntervalSeconds", 10);
+        return seconds > 0 ? MetricsReporter.start(MetricsRegistry.global(), Duration.ofSeconds(seconds), out) : null;
+    }
+
+    private static void stop(MetricsReporter reporter) {
+        if (reporter != null) {
+            reporter.close();
+        }
+    }
+
+    private static BatchRunner.Summary runBatch(Config config, FilteredSearchService searchService, String[] args)
+            throws IOException {
+        String input = "-";
+        String output = "-";
+        int concurrency = config.getInt("batch.concurrency", 16);
+        int positional = 0;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--concurrency")) {
+                concurrency = Integer.parseInt(optionValue(args, i++));
+            } else if (positional == 0) {
+                input = args[i];
+                positional++;
+            } else if (positional == 1) {
+                output = args[i];
+                positional++;
+            } else {
+                throw new IllegalArgumentException("Unexpected batch argument: " + args[i]);
+            }
+        }
+
+        BatchRunner runner = new BatchRunner(searchService, concurrency);
+        try (BufferedReader in = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(input), StandardCharsets.UTF_8);
+             Writer out = output.equals("-")
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)) {
+            return runner.run(in, out, System.err);
+        }
+    }
+
+    /**
+     * Reports new results of the saved queries in a JSONL file (or standard input), either once or on their
+     * schedules until interrupted. Result caches are bypassed, since a watch exists to see what changed.
+     */
+    private static void runWatch(Config config, String[] args)
+            throws IOException, SearchException {
+        String input = "-";
+        String output = "-";
+        Path state = Path.of(config.getOrDefault("watch.stateDirectory",
+                Path.of(System.getProperty("user.home"), ".google-search-filter", "watch").toString()));
+        boolean once = false;
+        int positional = 0;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--state")) {
+                state = Path.of(optionValue(args, i++));
+            } else if (args[i].equals("--once")) {
+                once = true;
+            } else if (args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected watch argument: " + args[i]);
+            } else if (positional == 0) {
+                input = args[i];
+                positional++;
+            } else if (positional == 1) {
+                output = args[i];
+                positional++;
+            } else {
+                throw new IllegalArgumentException("Unexpected watch argument: " + args[i]);
+            }
+        }
+
+        List<Watch> watches;
+        try (BufferedReader in = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(input), StandardCharsets.UTF_8)) {
+            watches = Watch.readAll(in);
+        }
+        if (watches.isEmpty()) {
+            throw new IllegalArgumentException("No watches in " + input);
+        }
+
+        Config uncached = config.with("cache.enabled", "false").with("diskCache.enabled", "false");
+        FilteredSearchService searchService = createSearchService(uncached, createSearchClient(uncached),
+                createSearchFilter(uncached));
+        try (SeenSet seen = SeenSet.open(state, config.getLong("watch.initialCapacity", 1_000_000),
+                config.getDouble("watch.falsePositiveRate", 0.000001));
+             Writer out = output.equals("-")
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            WatchRunner runner = new WatchRunner(searchService, seen, out, System.err);
+            if (once) {
+                System.err.printf("[INFO] %d new results%n", runner.runAll(watches));
+                System.err.println("[INFO] " + seen);
+                return;
+            }
+            CountDownLatch stopped = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                runner.close();
+                seen.flush();
+                System.err.println("[INFO] " + seen);
+                stopped.countDown();
+            }, "watch-runner-stop"));
+            runner.start(watches, config.getInt("watch.threads", 4));
+            try {
+                stopped.await(); // the watch threads are daemons
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void runServer(Config config, FilteredSearchService searchService, String[] args)
+            throws IOException {
+        SearchServer.Builder builder = SearchServer.builder(searchService)
+                .host(config.getOrDefault("server.host", "127.0.0.1"))
+                .port(config.getInt("server.port", 8080))
+                .backlog(config.getInt("server.backlog", 1024))
+                .maxConcurrent(config.getInt("server.maxConcurrent", 256))
+                .queueTimeout(Duration.ofMillis(config.getLong("server.queueTimeoutMillis", 100)))
+                .defaultTimeout(Duration.ofMillis(config.getLong("server.defaultTimeoutMillis", 10_000)))
+                .maxTimeout(Duration.ofMillis(config.getLong("server.maxTimeoutMillis", 60_000)));
+        for (int i = 1; i < args.length; i++) {
+            String value = optionValue(args, i++);
+            switch (args[i - 1]) {
+                case "--host" -> builder.host(value);
+                case "--port" -> builder.port(Integer.parseInt(value));
+                default -> throw new IllegalArgumentException("Unexpected server argument: " + args[i - 1]);
+            }
+        }
+
+        SearchServer server = builder.start();
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(Duration.ofSeconds(2));
+            System.out.println("[INFO] " + server);
+            stopped.countDown();
+        }, "search-server-stop"));
+        System.out.println("[INFO] Search service listening on " + server.getUrl() + SearchServer.SEARCH_PATH
+                + "; Ctrl-C to stop.");
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path daemonSocket(Config config) {
+        String socket = config.getOrDefault("daemon.socket", "");
+        return socket.isBlank()
+                ? Path.of(System.getProperty("user.home"), ".google-search-filter", "daemon.sock")
+                : Path.of(socket);
+    }
+
+    private static void runDaemon(Config config, FilteredSearchService searchService, String[] args)
+            throws IOException {
+        DaemonServer.Builder builder = DaemonServer.builder(searchService)
+                .socket(daemonSocket(config))
+                .maxConcurrent(config.getInt("daemon.maxConcurrent", 64))
+                .queueTimeout(Duration.ofMillis(config.getLong("daemon.queueTimeoutMillis", 1_000)))
+                .defaultTimeout(Duration.ofMillis(config.getLong("daemon.defaultTimeoutMillis", 10_000)))
+                .maxTimeout(Duration.ofMillis(config.getLong("daemon.maxTimeoutMillis", 60_000)));
+        for (int i = 1; i < args.length; i++) {
+            String value = optionValue(args, i++);
+            if (args[i - 1].equals("--socket")) {
+                builder.socket(Path.of(value));
+            } else {
+                throw new IllegalArgumentException("Unexpected daemon argument: " + args[i - 1]);
+            }
+        }
+
+        DaemonServer daemon = builder.start();
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            daemon.close();
+            System.out.println("[INFO] " + daemon);
+            stopped.countDown();
+        }, "daemon-stop"));
+        System.out.println("[INFO] Search daemon listening on " + daemon.getSocket() + "; Ctrl-C to stop.");
+        try {
+            stopped.await(); // the daemon threads are daemons
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void runClient(Config config, String[] args) throws IOException {
+        Path socket = daemonSocket(config);
+        String criteria = null;
+        long timeoutMs = 0;
+        StringBuilder query = new StringBuilder();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--socket" -> socket = Path.of(optionValue(args, i++));
+                case "--criteria" -> criteria = optionValue(args, i++);
+                case "--timeout" -> timeoutMs = Long.parseLong(optionValue(args, i++));
+                default -> query.append(query.length() > 0 ? " " : "").append(args[i]);
+            }
+        }
+        if (query.length() == 0) {
+            throw new IllegalArgumentException("Missing query for --client");
+        }
+        boolean completed;
+        try {
+            completed = DaemonClient.search(socket, query.toString(), criteria, timeoutMs, System.out, System.err);
+        } catch (IOException e) {
+            System.err.println("[ERROR] Search through the daemon on " + socket + " failed (is one running? start it"
+                    + " with --daemon): " + e.getMessage());
+            completed = false;
+        }
+        if (!completed) {
+            System.exit(1); // scripts calling the client must be able to tell a failed search from an empty one
+        }
+    }
+
+    private static void runStubServer(Config config, String[] args) throws IOException {
+        CseStubServer.Builder builder = CseStubServer.builder()
+                .port(config.getInt("stub.port", 8089))
+                .latency(LatencyDistribution.parse(config.getOrDefault("stub.latency", "0")))
+                .errorRate(config.getDouble("stub.errorRate", 0))
+                .pages(config.getInt("stub.pages", 10))
+                .snippetWords(config.getInt("stub.snippetWords", 30));
+        for (int i = 1; i < args.length; i++) {
+            String value = optionValue(args, i++);
+            switch (args[i - 1]) {
+                case "--port" -> builder.port(Integer.parseInt(value));
+                case "--latency" -> builder.latency(LatencyDistribution.parse(value));
+                case "--error-rate" -> builder.errorRate(Double.parseDouble(value));
+                case "--pages" -> builder.pages(Integer.parseInt(value));
+                case "--snippet-words" -> builder.snippetWords(Integer.parseInt(value));
+                default -> throw new IllegalArgumentException("Unexpected stub server argument: " + args[i - 1]);
+            }
+        }
+
+        CseStubServer server = builder.start();
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            System.out.println("[INFO] " + server);
+            stopped.countDown();
+        }, "cse-stub-stop"));
+        System.out.println("[INFO] " + server);
+        System.out.println("[INFO] Set google.endpoint=" + server.getEndpoint() + " to use it; Ctrl-C to stop.");
+        try {
+            stopped.await(); // the server threads are daemons
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void runLoadTest(Config config, String[] args) throws IOException, SearchException {
+        double qps = 20;
+        long seconds = 30;
+        int distinctQueries = 100;
+        int maxResults = 10;
+        int maxInFlight = 256;
+        for (int i = 1; i < args.length; i++) {
+            String value = optionValue(args, i++);
+            switch (args[i - 1]) {
+                case "--qps" -> qps = Double.parseDouble(value);
+                case "--duration" -> seconds = Long.parseLong(value);
+                case "--queries" -> distinctQueries = Integer.parseInt(value);
+                case "--max-results" -> maxResults = Integer.parseInt(value);
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--endpoint" -> config = config.with("google.endpoint", value);
+                case "--set" -> {
+                    int eq = value.indexOf('=');
+                    if (eq <= 0) {
+                        throw new IllegalArgumentException("Expected --set key=value, got: " + value);
+                    }
+                    config = config.with(value.substring(0, eq).trim(), value.substring(eq + 1).trim());
+                }
+                default -> throw new IllegalArgumentException("Unexpected load test argument: " + args[i - 1]);
+            }
+        }
+
+        // distinct queries control how much the caches and request coalescing can absorb
+        List<String> queries = new ArrayList<>(distinctQueries);
+        for (int i = 0; i < distinctQueries; i++) {
+            queries.add("load test query " + i);
+        }
+        SearchClient searchClient = createSearchClient(config);
+        new LoadGenerator(searchClient, qps, Duration.ofSeconds(seconds), maxInFlight)
+                .run(queries, maxResults, System.out);
+        printCacheStats(searchClient, System.out);
+    }
+
+    private static String optionValue(String[] args, int index) {
+        if (index + 1 >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index]);
+        }
+        return args[index + 1];
+    }
+
+    private static void printCacheStats(SearchClient client, PrintStream out) {
+        while (true) {
+            if (client instanceof CachingSearchClient cache) {
+                out.println("[INFO] " + cache);
+                client = cache.getDelegate();
+            } else if (client instanceof CoalescingSearchClient coalescing) {
+                out.println("[INFO] " + coalescing);
+                client = coalescing.getDelegate();
+            } else if (client instanceof DiskCachingSearchClient disk) {
+                out.println("[INFO] " + disk);
+                client = disk.getDelegate();
+            } else if (client instanceof LocalIndexSearchClient local) {
+                out.println("[INFO] " + local);
+                return;
+            } else if (client instanceof FederatedSearchClient federated) {
+                out.println("[INFO] " + federated);
+                return;
+            } else {
+                return;
+            }
+        }
     }
 }
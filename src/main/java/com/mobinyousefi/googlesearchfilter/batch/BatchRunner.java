@@ -0,0 +1,221 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: BatchRunner.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobinyousefi.googlesearchfilter.metrics.SearchMetrics;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.FilteredSearchService;
+import com.mobinyousefi.googlesearchfilter.util.SearchJson;
+import com.mobinyousefi.googlesearchfilter.util.Threads;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-interactive batch mode: runs many queries concurrently and streams one JSON line per query.
+ *
+ * Input is JSON Lines, one query per line:
+ * <pre>
+ *   {"id": "q1", "query": "deep learning", "criteria": {"maxResults": 10, "domainWhitelist": ["arxiv.org"]}}
+ * </pre>
+ * {@code id} and {@code criteria} are optional (see {@link SearchJson} for the criteria fields); blank lines and lines
+ * starting with {@code #} are skipped. Each query runs on its own (virtual, where available) thread, at most
+ * {@code concurrency} at a time, and its output line is written as soon as it finishes, so output order follows
+ * completion order. A summary of throughput, errors and latency percentiles is printed at the end.
+ */
+public class BatchRunner {
+
+    private final FilteredSearchService searchService;
+    private final int concurrency;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+
+    public BatchRunner(FilteredSearchService searchService, int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.searchService = searchService;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Runs every query read from {@code input}, writing JSONL to {@code output} and the summary to {@code log}.
+     *
+     * @return the run summary
+     */
+    public Summary run(BufferedReader input, Writer output, PrintStream log) throws IOException {
+        ExecutorService executor = Threads.newTaskExecutor("batch-query");
+        Semaphore permits = new Semaphore(concurrency);
+        Summary summary = new Summary();
+        long started = System.nanoTime();
+
+        try {
+            String line;
+            int lineNumber = 0;
+            while ((line = input.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                permits.acquireUninterruptibly();
+                int number = lineNumber;
+                executor.execute(() -> {
+                    try {
+                        runOne(number, trimmed, output, summary);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            permits.acquireUninterruptibly(concurrency); // wait for the stragglers
+        } finally {
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        summary.elapsedNanos = System.nanoTime() - started;
+        output.flush();
+        log.println("[INFO] " + summary);
+        return summary;
+    }
+
+    private void runOne(int lineNumber, String line, Writer output, Summary summary) {
+        String id = String.valueOf(lineNumber);
+        String query = null;
+        long started = System.nanoTime();
+        List<SearchResult> results = null;
+        String error = null;
+
+        try {
+            JsonNode request = objectMapper.readTree(line);
+            if (request.hasNonNull("id")) {
+                id = request.get("id").asText();
+            }
+            query = request.hasNonNull("query") ? request.get("query").asText() : null;
+            if (query == null || query.isBlank()) {
+                throw new IllegalArgumentException("missing \"query\"");
+            }
+            FilterCriteria criteria = SearchJson.readCriteria(request.get("criteria"));
+            results = searchService.search(query, criteria);
+        } catch (Exception e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+
+        long latencyNanos = System.nanoTime() - started;
+        summary.record(latencyNanos, error == null);
+        try {
+            writeLine(output, id, query, latencyNanos, results, error);
+        } catch (IOException e) {
+            System.err.println("[ERROR] Failed to write batch output for " + id + ": " + e.getMessage());
+        }
+    }
+
+    private void writeLine(Writer output, String id, String query, long latencyNanos, List<SearchResult> results,
+                           String error) throws IOException {
+        long start = System.nanoTime();
+        StringWriter buffer = new StringWriter(512);
+        try (JsonGenerator gen = jsonFactory.createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeStringField("id", id);
+            if (query != null) {
+                gen.writeStringField("query", query);
+            }
+            gen.writeStringField("status", error == null ? "ok" : "error");
+            gen.writeNumberField("latencyMs", TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+            if (error != null) {
+                gen.writeStringField("error", error);
+            } else {
+                gen.writeArrayFieldStart("results");
+                for (SearchResult r : results) {
+                    SearchJson.writeResult(gen, r);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+        buffer.write('\n');
+        SearchMetrics.RENDER.recordSince(start);
+        synchronized (output) {
+            output.write(buffer.toString());
+            output.flush();
+        }
+    }
+
+    /**
+     * Aggregate statistics of a batch run.
+     */
+    public static final class Summary {
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private long[] latencies = new long[256];
+        private int count;
+        private long elapsedNanos;
+
+        private synchronized void record(long latencyNanos, boolean ok) {
+            (ok ? succeeded : failed).incrementAndGet();
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        public int getSucceeded() {
+            return succeeded.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public synchronized long getLatencyPercentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, Math.min(count - 1, index))]);
+        }
+
+        public double getQueriesPerSecond() {
+            return elapsedNanos == 0 ? 0 : (getSucceeded() + getFailed()) * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Batch done: %d queries (%d ok, %d errors) in %.1fs, %.2f queries/s; "
+                            + "latency ms p50=%d p90=%d p99=%d max=%d",
+                    getSucceeded() + getFailed(), getSucceeded(), getFailed(), elapsedNanos / 1e9,
+                    getQueriesPerSecond(), getLatencyPercentileMillis(50), getLatencyPercentileMillis(90),
+                    getLatencyPercentileMillis(99), getLatencyPercentileMillis(100));
+        }
+    }
+}
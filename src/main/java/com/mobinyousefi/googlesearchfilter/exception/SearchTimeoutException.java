@@ -0,0 +1,22 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SearchTimeoutException.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.exception;
+
+/**
+ * Thrown when a search runs past its deadline. Pages still in flight have been cancelled by then.
+ */
+public class SearchTimeoutException extends SearchException {
+
+    public SearchTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: IndexInput.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader over a region of a memory-mapped index file, decoding what {@link IndexOutput} wrote.
+ *
+ * Reads use absolute indexes into the shared buffer, so any number of inputs can read the same mapping concurrently;
+ * each input only keeps its own position.
+ */
+final class IndexInput {
+
+    private final ByteBuffer buffer;
+    private int position;
+
+    IndexInput(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    /**
+     * Maps {@code path} read-only. The mapping stays valid after the file is deleted, so readers of an older
+     * snapshot are unaffected by merges.
+     */
+    static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(path + " exceeds 2 GB and cannot be mapped");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    int position() {
+        return position;
+    }
+
+    int readByte() {
+        return buffer.get(position++) & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = buffer.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = buffer.get(position++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    long readZigZag() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        position += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: LocalIndex.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.index;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.util.SearchJson;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Offline full-text index over previously collected {@link SearchResult}s, answering queries without any network
+ * call.
+ *
+ * Title and snippet terms go into an inverted index of immutable, memory-mapped {@link Segment}s whose postings are
+ * delta- and varint-encoded; the results themselves are stored alongside and only read for the hits returned.
+ * Queries are ranked with BM25 (k1 = 1.2, b = 0.75, title terms weighted double) over all query terms.
+ *
+ * Indexing is incremental: every {@link #add} writes new segments of up to {@code segmentDocs} results, and a result
+ * whose link is already indexed supersedes the earlier version, which is marked deleted. Once there are more than
+ * {@value #MAX_SEGMENTS} segments the smallest are merged, so queries touch a bounded number of them. Searches run
+ * lock-free on a snapshot of the segment list and may run concurrently with indexing; writers are serialized, and a
+ * lock file keeps other processes from opening the same index.
+ */
+public final class LocalIndex implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_DOCS = 250_000;
+    static final int MAX_SEGMENTS = 8;
+    // keeps merged files well below the 2 GB a single mapping can address
+    private static final int MAX_MERGE_DOCS = 2_000_000;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final long[] NO_GENERATIONS = new long[0];
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path directory;
+    private final int segmentDocs;
+    private final FileChannel lockChannel;
+    private volatile List<Segment> segments; // oldest first, replaced wholesale under "this"
+    private long nextGeneration; // guarded by "this"
+
+    private LocalIndex(Path directory, int segmentDocs, FileChannel lockChannel) {
+        this.directory = directory;
+        this.segmentDocs = segmentDocs;
+        this.lockChannel = lockChannel;
+    }
+
+    public static LocalIndex open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_DOCS);
+    }
+
+    /**
+     * Opens the index in {@code directory}, creating it if needed, and removes leftovers of interrupted writes.
+     *
+     * @param segmentDocs results per segment written by {@link #add}
+     */
+    public static LocalIndex open(Path directory, int segmentDocs) throws IOException {
+        if (segmentDocs <= 0) {
+            throw new IllegalArgumentException("segmentDocs must be positive");
+        }
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve("write.lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException("Index " + directory + " is already open");
+            }
+            LocalIndex index = new LocalIndex(directory, segmentDocs, channel);
+            index.load();
+            return index;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private synchronized void load() throws IOException {
+        Set<Long> generations = new TreeSet<>();
+        Set<Long> committed = new TreeSet<>();
+        List<Path> temporary = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "seg-*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long generation = Segment.generationOf(name);
+                if (generation < 0) {
+                    continue;
+                }
+                generations.add(generation);
+                if (name.endsWith(".tmp")) {
+                    temporary.add(file);
+                } else if (name.endsWith("." + Segment.META)) {
+                    committed.add(generation);
+                }
+            }
+        }
+        for (Path file : temporary) {
+            Files.deleteIfExists(file);
+        }
+
+        List<Segment> opened = new ArrayList<>();
+        Set<Long> replaced = new HashSet<>();
+        for (long generation : committed) {
+            Segment segment = Segment.open(directory, generation);
+            opened.add(segment);
+            for (long old : segment.replaced) {
+                replaced.add(old);
+            }
+        }
+        opened.removeIf(segment -> replaced.contains(segment.generation));
+        Set<Long> live = new HashSet<>();
+        for (Segment segment : opened) {
+            live.add(segment.generation);
+        }
+        for (long generation : generations) {
+            if (!live.contains(generation)) {
+                Segment.deleteFiles(directory, generation); // merged away, or never committed
+            }
+        }
+        this.segments = List.copyOf(opened);
+        this.nextGeneration = generations.isEmpty() ? 1 : ((TreeSet<Long>) generations).last() + 1;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return indexed results, superseded versions excluded
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.liveDocs();
+        }
+        return size;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long add(Iterable<SearchResult> results) throws IOException {
+        return add(results.iterator());
+    }
+
+    /**
+     * Indexes {@code results}, committing a segment every {@code segmentDocs} results, so an interrupted run keeps
+     * what was committed.
+     *
+     * @return the number of results added
+     */
+    public synchronized long add(Iterator<SearchResult> results) throws IOException {
+        long added = 0;
+        SegmentWriter writer = null;
+        long generation = 0;
+        try {
+            while (results.hasNext()) {
+                SearchResult result = results.next();
+                if (writer == null) {
+                    generation = nextGeneration++;
+                    writer = new SegmentWriter(directory, generation);
+                }
+                writer.add(result);
+                added++;
+                if (writer.size() >= segmentDocs) {
+                    publish(writer, generation);
+                    writer = null;
+                }
+            }
+            if (writer != null) {
+                publish(writer, generation);
+                writer = null;
+            }
+        } finally {
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+        mergeIfNeeded();
+        return added;
+    }
+
+    /**
+     * Indexes JSON Lines: each line either one result as written by {@link SearchJson#writeResult}, or an object
+     * with a {@code results} array such as a batch-mode output line. Other objects and blank lines are skipped.
+     *
+     * @return the number of results added
+     */
+    public long addJsonLines(BufferedReader reader) throws IOException {
+        try {
+            return add(new JsonLinesIterator(reader));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public long addJsonLines(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return addJsonLines(reader);
+        }
+    }
+
+    /**
+     * @return up to {@code maxResults} results matching any term of {@code query}, best BM25 score first
+     */
+    public List<SearchResult> search(String query, int maxResults) {
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be positive");
+        }
+        List<Segment> snapshot = segments;
+        List<String> tokens = new ArrayList<>();
+        Tokenizer.tokenize(query, tokens);
+        byte[][] terms = new LinkedHashSet<>(tokens).stream()
+                .map(term -> term.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        if (terms.length == 0 || snapshot.isEmpty()) {
+            return List.of();
+        }
+
+        long docs = 0;
+        long totalLength = 0;
+        for (Segment segment : snapshot) {
+            docs += segment.docCount;
+            totalLength += segment.totalLength;
+        }
+        double averageLength = Math.max(1, (double) totalLength / Math.max(1, docs));
+        int[][] ordinals = new int[snapshot.size()][terms.length];
+        long[] docFreqs = new long[terms.length];
+        for (int s = 0; s < snapshot.size(); s++) {
+            for (int t = 0; t < terms.length; t++) {
+                int ordinal = snapshot.get(s).find(terms[t]);
+                ordinals[s][t] = ordinal;
+                if (ordinal >= 0) {
+                    docFreqs[t] += snapshot.get(s).docFreq(ordinal);
+                }
+            }
+        }
+        double[] weights = new double[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            double idf = Math.log(1 + (docs - docFreqs[t] + 0.5) / (docFreqs[t] + 0.5));
+            weights[t] = idf * (K1 + 1);
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(maxResults, 1024) + 1, Hit.ORDER);
+        for (int s = 0; s < snapshot.size(); s++) {
+            score(snapshot.get(s), s, ordinals[s], weights, averageLength, top, maxResults);
+        }
+
+        Hit[] hits = top.toArray(new Hit[0]);
+        Arrays.sort(hits, Hit.ORDER.reversed());
+        List<SearchResult> results = new ArrayList<>(hits.length);
+        Set<String> links = new HashSet<>();
+        for (Hit hit : hits) {
+            SearchResult r = snapshot.get(hit.segment).document(hit.doc);
+            if (r.getLink() == null || links.add(r.getLink())) { // a write interrupted mid-supersede may leave both
+                results.add(r);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Term-at-a-time BM25 over one segment; offers every scored document to the top-k heap.
+     */
+    private static void score(Segment segment, int index, int[] ordinals, double[] weights, double averageLength,
+                              PriorityQueue<Hit> top, int k) {
+        float[] scores = null;
+        int[] touched = null;
+        int touchedCount = 0;
+        for (int t = 0; t < ordinals.length; t++) {
+            int ordinal = ordinals[t];
+            if (ordinal < 0) {
+                continue;
+            }
+            if (scores == null) {
+                scores = new float[segment.docCount];
+                touched = new int[Math.min(segment.docCount, 1024)];
+            }
+            IndexInput postings = segment.postings(ordinal);
+            int docFreq = segment.docFreq(ordinal);
+            double weight = weights[t];
+            int doc = 0;
+            for (int i = 0; i < docFreq; i++) {
+                doc += postings.readVarInt();
+                int frequency = postings.readVarInt();
+                if (segment.isDeleted(doc)) {
+                    continue;
+                }
+                double norm = K1 * (1 - B + B * segment.length(doc) / averageLength);
+                if (scores[doc] == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = doc;
+                }
+                scores[doc] += (float) (weight * frequency / (frequency + norm));
+            }
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            float score = scores[doc];
+            if (top.size() < k) {
+                top.add(new Hit(score, index, doc));
+            } else if (score > top.peek().score) {
+                top.poll();
+                top.add(new Hit(score, index, doc));
+            }
+        }
+    }
+
+    /**
+     * Commits a freshly written segment and deletes the older versions of the links it contains, dropping segments
+     * left without live documents.
+     */
+    private void publish(SegmentWriter writer, long generation) throws IOException {
+        writer.commit(NO_GENERATIONS);
+        Segment segment = Segment.open(directory, generation);
+        List<Segment> current = segments;
+        for (Segment older : current) {
+            boolean changed = false;
+            for (int i = 0; i < segment.linkCount(); i++) {
+                changed |= older.deleteLink(segment.linkHash(i));
+            }
+            if (changed) {
+                older.writeDeletes();
+            }
+        }
+        List<Segment> next = new ArrayList<>(current);
+        next.add(segment);
+        List<Segment> empty = new ArrayList<>();
+        next.removeIf(older -> older.liveDocs() == 0 && empty.add(older));
+        segments = List.copyOf(next);
+        for (Segment older : empty) {
+            older.deleteFiles(); // fully superseded
+        }
+    }
+
+    /**
+     * Merges the smallest segments while there are more than {@value #MAX_SEGMENTS}.
+     */
+    private void mergeIfNeeded() throws IOException {
+        while (segments.size() > MAX_SEGMENTS) {
+            List<Segment> bySize = new ArrayList<>(segments);
+            bySize.sort(Comparator.comparingInt(Segment::liveDocs));
+            List<Segment> merging = new ArrayList<>();
+            long docs = 0;
+            for (Segment segment : bySize) {
+                if (merging.size() >= Math.max(2, segments.size() / 2)
+                        || docs + segment.liveDocs() > MAX_MERGE_DOCS) {
+                    break;
+                }
+                merging.add(segment);
+                docs += segment.liveDocs();
+            }
+            if (merging.size() < 2) {
+                return; // all remaining segments are too large to merge
+            }
+            merge(merging);
+        }
+    }
+
+    private void merge(List<Segment> merging) throws IOException {
+        merging.sort(Comparator.comparingLong(segment -> segment.generation));
+        long generation = nextGeneration++;
+        SegmentWriter writer = new SegmentWriter(directory, generation);
+        try {
+            long[] replaced = new long[merging.size()];
+            for (int i = 0; i < merging.size(); i++) {
+                Segment segment = merging.get(i);
+                replaced[i] = segment.generation;
+                for (int doc = 0; doc < segment.docCount; doc++) {
+                    if (!segment.isDeleted(doc)) {
+                        writer.add(segment.document(doc));
+                    }
+                }
+            }
+            writer.commit(replaced);
+            Segment merged = Segment.open(directory, generation);
+            List<Segment> next = new ArrayList<>(segments);
+            next.removeAll(merging);
+            next.add(merged);
+            segments = List.copyOf(next);
+            writer = null;
+        } finally {
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+        for (Segment segment : merging) {
+            segment.deleteFiles(); // open snapshots keep their mappings
+        }
+    }
+
+    /**
+     * Releases the write lock. Searches on an index that was closed keep working on the segments they know.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        lockChannel.close();
+    }
+
+    @Override
+    public String toString() {
+        return "local index " + directory + " results=" + size() + ", segments=" + segmentCount();
+    }
+
+    private static final class Hit {
+        // lowest first: the heap head is the weakest hit; equal scores favour newer segments and documents
+        static final Comparator<Hit> ORDER = Comparator.<Hit>comparingDouble(hit -> hit.score)
+                .thenComparingInt(hit -> hit.segment)
+                .thenComparingInt(hit -> hit.doc);
+
+        final float score;
+        final int segment;
+        final int doc;
+
+        Hit(float score, int segment, int doc) {
+            this.score = score;
+            this.segment = segment;
+            this.doc = doc;
+        }
+    }
+
+    /**
+     * Results of a JSON Lines input, parsed line by line as the index asks for them. Failures surface as
+     * {@link UncheckedIOException}, unwrapped by {@link #addJsonLines(BufferedReader)}.
+     */
+    private static final class JsonLinesIterator implements Iterator<SearchResult> {
+        private final BufferedReader reader;
+        private final Deque<SearchResult> pending = new ArrayDeque<>();
+        private long lineNumber;
+        private boolean eof;
+
+        JsonLinesIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending.isEmpty() && !eof) {
+                readLine();
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public SearchResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pending.poll();
+        }
+
+        private void readLine() {
+            try {
+                String line = reader.readLine();
+                if (line == null) {
+                    eof = true;
+                    return;
+                }
+                lineNumber++;
+                if (line.isBlank()) {
+                    return;
+                }
+                JsonNode node = MAPPER.readTree(line);
+                JsonNode results = node.get("results");
+                if (results != null && results.isArray()) {
+                    for (JsonNode result : results) {
+                        pending.add(SearchJson.readResult(result));
+                    }
+                } else if (node.has("link")) {
+                    pending.add(SearchJson.readResult(node));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                throw new UncheckedIOException(new IOException("Line " + lineNumber + ": " + e.getMessage(), e));
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: Segment.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.index;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.util.Hashing;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * One immutable, memory-mapped segment of a {@link LocalIndex}. Files, all named {@code seg-<generation>.<ext>}:
+ * <ul>
+ *   <li>{@code tim}: the terms, UTF-8 with a varint length, sorted by unsigned bytes</li>
+ *   <li>{@code tix}: per term, fixed width: offset in {@code tim}, offset of its postings, document frequency</li>
+ *   <li>{@code pst}: per term, {@code (doc delta, term frequency)} varint pairs in ascending doc order</li>
+ *   <li>{@code fdt} and {@code fdx}: the stored fields of each document and their offsets</li>
+ *   <li>{@code len}: weighted term count per document, for BM25 length normalization</li>
+ *   <li>{@code lnk}: {@code (link hash, doc)} sorted by hash, to find documents a newer version supersedes</li>
+ *   <li>{@code del}: bitset of superseded documents; absent while there are none</li>
+ *   <li>{@code meta}: counts and the generations this segment replaces (when it is a merge). Written last and
+ *       atomically, so a segment exists only once its meta does</li>
+ * </ul>
+ * Everything is immutable except the deletions, which only the index writer changes. Searches may see a deletion
+ * late, never a torn file.
+ */
+final class Segment {
+
+    static final String META = "meta";
+    static final List<String> EXTENSIONS = List.of("tim", "tix", "pst", "fdt", "fdx", "len", "lnk", "del", META);
+
+    static final int TERM_ENTRY_BYTES = 2 * Long.BYTES + Integer.BYTES;
+    static final int LINK_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int MAGIC = 0x47534649; // "GSFI"
+    private static final byte VERSION = 1;
+    private static final int FLAG_SAFE = 1;
+    private static final int FLAG_HAS_TIME = 2;
+
+    final Path directory;
+    final long generation;
+    final int docCount;
+    final long totalLength;
+    final int termCount;
+    final long[] replaced;
+
+    private final MappedByteBuffer terms;
+    private final MappedByteBuffer termIndex;
+    private final MappedByteBuffer postings;
+    private final MappedByteBuffer fields;
+    private final MappedByteBuffer fieldIndex;
+    private final MappedByteBuffer lengths;
+    private final MappedByteBuffer links;
+    private final long[] deleted;
+    private volatile int deletedCount;
+
+    private Segment(Path directory, long generation, int docCount, long totalLength, int termCount, long[] replaced)
+            throws IOException {
+        this.directory = directory;
+        this.generation = generation;
+        this.docCount = docCount;
+        this.totalLength = totalLength;
+        this.termCount = termCount;
+        this.replaced = replaced;
+        this.terms = IndexInput.map(file(directory, generation, "tim"));
+        this.termIndex = IndexInput.map(file(directory, generation, "tix"));
+        this.postings = IndexInput.map(file(directory, generation, "pst"));
+        this.fields = IndexInput.map(file(directory, generation, "fdt"));
+        this.fieldIndex = IndexInput.map(file(directory, generation, "fdx"));
+        this.lengths = IndexInput.map(file(directory, generation, "len"));
+        this.links = IndexInput.map(file(directory, generation, "lnk"));
+        this.deleted = new long[(docCount + 63) >>> 6];
+        Path deletes = file(directory, generation, "del");
+        if (Files.exists(deletes)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(deletes))) {
+                int count = 0;
+                for (int w = 0; w < deleted.length; w++) {
+                    deleted[w] = in.readLong();
+                    count += Long.bitCount(deleted[w]);
+                }
+                this.deletedCount = count;
+            }
+        }
+    }
+
+    static Segment open(Path directory, long generation) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file(directory, generation, META)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Not a segment of a supported version: " + file(directory, generation, META));
+            }
+            int docCount = in.readInt();
+            long totalLength = in.readLong();
+            int termCount = in.readInt();
+            long[] replaced = new long[in.readInt()];
+            for (int i = 0; i < replaced.length; i++) {
+                replaced[i] = in.readLong();
+            }
+            return new Segment(directory, generation, docCount, totalLength, termCount, replaced);
+        }
+    }
+
+    /**
+     * Commits a segment whose data files are complete by atomically writing its meta file.
+     */
+    static void writeMeta(Path directory, long generation, int docCount, long totalLength, int termCount,
+                          long[] replaced) throws IOException {
+        Path tmp = file(directory, generation, META + ".tmp");
+        try (OutputStream file = Files.newOutputStream(tmp); DataOutputStream out = new DataOutputStream(file)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(docCount);
+            out.writeLong(totalLength);
+            out.writeInt(termCount);
+            out.writeInt(replaced.length);
+            for (long generationReplaced : replaced) {
+                out.writeLong(generationReplaced);
+            }
+        }
+        Files.move(tmp, file(directory, generation, META), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static Path file(Path directory, long generation, String extension) {
+        return directory.resolve(String.format("seg-%08d.%s", generation, extension));
+    }
+
+    /**
+     * @return the generation of a segment file name, or -1 if {@code name} is not one
+     */
+    static long generationOf(String name) {
+        if (!name.startsWith("seg-")) {
+            return -1;
+        }
+        int dot = name.indexOf('.');
+        try {
+            return dot < 0 ? -1 : Long.parseLong(name.substring(4, dot));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the ordinal of {@code term} (UTF-8), or -1 if it does not occur in this segment
+     */
+    int find(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTerm((int) termIndex.getLong(mid * TERM_ENTRY_BYTES), term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    int docFreq(int ordinal) {
+        return termIndex.getInt(ordinal * TERM_ENTRY_BYTES + 2 * Long.BYTES);
+    }
+
+    /**
+     * @return reader positioned on the postings of a term: {@link #docFreq} pairs of doc delta and term frequency
+     */
+    IndexInput postings(int ordinal) {
+        return new IndexInput(postings, (int) termIndex.getLong(ordinal * TERM_ENTRY_BYTES + Long.BYTES));
+    }
+
+    int length(int doc) {
+        return lengths.getInt(doc * Integer.BYTES);
+    }
+
+    boolean isDeleted(int doc) {
+        return (deleted[doc >>> 6] & (1L << doc)) != 0;
+    }
+
+    int liveDocs() {
+        return docCount - deletedCount;
+    }
+
+    SearchResult document(int doc) {
+        IndexInput in = new IndexInput(fields, (int) fieldIndex.getLong(doc * Long.BYTES));
+        int flags = in.readByte();
+        SearchResult.Builder builder = SearchResult.builder()
+                .title(in.readString())
+                .link(in.readString())
+                .displayLink(in.readString())
+                .snippet(in.readString())
+                .mimeType(in.readString())
+                .fileFormat(in.readString())
+                .languageCode(in.readString())
+                .safe((flags & FLAG_SAFE) != 0);
+        if ((flags & FLAG_HAS_TIME) != 0) {
+            builder.indexedTime(in.readZigZag(), in.readVarInt(), (int) in.readZigZag());
+        }
+        return builder.build();
+    }
+
+    static void writeDocument(IndexOutput out, SearchResult r) throws IOException {
+        out.writeByte((r.isSafe() ? FLAG_SAFE : 0) | (r.hasIndexedTime() ? FLAG_HAS_TIME : 0));
+        out.writeString(r.getTitle());
+        out.writeString(r.getLink());
+        out.writeString(r.getDisplayLink());
+        out.writeString(r.getSnippet());
+        out.writeString(r.getMimeType());
+        out.writeString(r.getFileFormat());
+        out.writeString(r.getLanguageCode());
+        if (r.hasIndexedTime()) {
+            out.writeZigZag(r.getIndexedEpochSecond());
+            out.writeVarInt(r.getIndexedNano());
+            out.writeZigZag(r.getIndexedOffsetSeconds());
+        }
+    }
+
+    int linkCount() {
+        return links.capacity() / LINK_ENTRY_BYTES;
+    }
+
+    long linkHash(int entry) {
+        return links.getLong(entry * LINK_ENTRY_BYTES);
+    }
+
+    /**
+     * Marks the live documents whose link has {@code hash} as deleted. Index writer only.
+     *
+     * @return true if any document was deleted
+     */
+    boolean deleteLink(long hash) {
+        int low = 0;
+        int high = linkCount() - 1;
+        while (low <= high) { // leftmost entry with the hash
+            int mid = (low + high) >>> 1;
+            if (linkHash(mid) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        boolean changed = false;
+        for (int entry = low; entry < linkCount() && linkHash(entry) == hash; entry++) {
+            int doc = links.getInt(entry * LINK_ENTRY_BYTES + Long.BYTES);
+            if (!isDeleted(doc)) {
+                deleted[doc >>> 6] |= 1L << doc;
+                deletedCount++;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Persists the deletions atomically. Index writer only.
+     */
+    void writeDeletes() throws IOException {
+        Path tmp = file(directory, generation, "del.tmp");
+        try (OutputStream file = Files.newOutputStream(tmp); DataOutputStream out = new DataOutputStream(file)) {
+            for (long word : deleted) {
+                out.writeLong(word);
+            }
+        }
+        Files.move(tmp, file(directory, generation, "del"), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Deletes this segment's files, meta first so that a partial deletion leaves only orphans. Failures are
+     * ignored; orphans are removed the next time the index is opened.
+     */
+    void deleteFiles() {
+        deleteFiles(directory, generation);
+    }
+
+    static void deleteFiles(Path directory, long generation) {
+        for (int i = EXTENSIONS.size() - 1; i >= 0; i--) {
+            try {
+                Files.deleteIfExists(file(directory, generation, EXTENSIONS.get(i)));
+            } catch (IOException e) {
+                // left for the next open
+            }
+        }
+    }
+
+    /**
+     * The key of the {@code lnk} file; see {@link Hashing#hash}.
+     */
+    static long linkHash(String link) {
+        return Hashing.hash(link);
+    }
+
+    private int compareTerm(int offset, byte[] term) {
+        IndexInput in = new IndexInput(terms, offset);
+        int length = in.readVarInt();
+        int start = in.position();
+        int n = Math.min(length, term.length);
+        for (int i = 0; i < n; i++) {
+            int cmp = (terms.get(start + i) & 0xFF) - (term[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - term.length;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SegmentWriter.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.index;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds one {@link Segment}. Stored fields stream straight to disk as documents are added; the inverted index is
+ * accumulated in memory as varint-encoded postings per term and written, terms sorted, by {@link #commit}.
+ *
+ * A link added twice keeps only its last version: the earlier document is deleted within the segment.
+ */
+final class SegmentWriter {
+
+    /** Title terms count double: a query term in the title says more than one in the snippet. */
+    private static final int TITLE_WEIGHT = 2;
+
+    private final Path directory;
+    private final long generation;
+    private final IndexOutput fields;
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> docsByLink = new HashMap<>();
+    private long[] fieldOffsets = new long[1024];
+    private int[] lengths = new int[1024];
+    private long[] deleted = new long[16];
+    private int docCount;
+    private long totalLength;
+
+    private final List<String> terms = new ArrayList<>();
+    private final Map<String, int[]> frequencies = new HashMap<>();
+
+    SegmentWriter(Path directory, long generation) throws IOException {
+        this.directory = directory;
+        this.generation = generation;
+        this.fields = new IndexOutput(Segment.file(directory, generation, "fdt"));
+    }
+
+    int size() {
+        return docCount;
+    }
+
+    void add(SearchResult r) throws IOException {
+        int doc = docCount++;
+        if (doc == lengths.length) {
+            lengths = Arrays.copyOf(lengths, doc * 2);
+            fieldOffsets = Arrays.copyOf(fieldOffsets, doc * 2);
+        }
+        fieldOffsets[doc] = fields.position();
+        Segment.writeDocument(fields, r);
+
+        if (r.getLink() != null) {
+            Integer previous = docsByLink.put(r.getLink(), doc);
+            if (previous != null) {
+                if ((previous >>> 6) >= deleted.length) {
+                    deleted = Arrays.copyOf(deleted, Math.max(deleted.length * 2, (previous >>> 6) + 1));
+                }
+                deleted[previous >>> 6] |= 1L << previous;
+            }
+        }
+
+        frequencies.clear();
+        count(r.getTitle(), TITLE_WEIGHT);
+        count(r.getSnippet(), 1);
+        int length = 0;
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            int frequency = entry.getValue()[0];
+            postings.computeIfAbsent(entry.getKey(), k -> new PostingList()).add(doc, frequency);
+            length += frequency;
+        }
+        lengths[doc] = length;
+        totalLength += length;
+    }
+
+    /**
+     * Writes the remaining files and commits the segment.
+     *
+     * @param replaced generations a merge replaces; empty for new documents
+     */
+    void commit(long[] replaced) throws IOException {
+        fields.close();
+        try (IndexOutput out = new IndexOutput(Segment.file(directory, generation, "fdx"))) {
+            for (int doc = 0; doc < docCount; doc++) {
+                out.writeLong(fieldOffsets[doc]);
+            }
+        }
+        try (IndexOutput out = new IndexOutput(Segment.file(directory, generation, "len"))) {
+            for (int doc = 0; doc < docCount; doc++) {
+                out.writeInt(lengths[doc]);
+            }
+        }
+        writeLinks();
+        int termCount = writeTerms();
+        if (Arrays.stream(deleted).anyMatch(word -> word != 0)) {
+            long[] words = Arrays.copyOf(deleted, (docCount + 63) >>> 6);
+            try (OutputStream file = Files.newOutputStream(Segment.file(directory, generation, "del"));
+                 DataOutputStream out = new DataOutputStream(file)) {
+                for (long word : words) {
+                    out.writeLong(word);
+                }
+            }
+        }
+        Segment.writeMeta(directory, generation, docCount, totalLength, termCount, replaced);
+    }
+
+    /**
+     * Discards a segment that will not be committed.
+     */
+    void abort() {
+        try {
+            fields.close();
+        } catch (IOException e) {
+            // the files are deleted anyway
+        }
+        Segment.deleteFiles(directory, generation);
+    }
+
+    private void count(String text, int weight) {
+        terms.clear();
+        Tokenizer.tokenize(text, terms);
+        for (String term : terms) {
+            frequencies.computeIfAbsent(term, k -> new int[1])[0] += weight;
+        }
+    }
+
+    private void writeLinks() throws IOException {
+        int n = docsByLink.size();
+        long[] hashes = new long[n];
+        int[] docs = new int[n];
+        Integer[] order = new Integer[n];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : docsByLink.entrySet()) {
+            hashes[i] = Segment.linkHash(entry.getKey());
+            docs[i] = entry.getValue();
+            order[i] = i;
+            i++;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        try (IndexOutput out = new IndexOutput(Segment.file(directory, generation, "lnk"))) {
+            for (int entry : order) {
+                out.writeLong(hashes[entry]);
+                out.writeInt(docs[entry]);
+            }
+        }
+    }
+
+    private int writeTerms() throws IOException {
+        List<Map.Entry<byte[], PostingList>> sorted = new ArrayList<>(postings.size());
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            sorted.add(Map.entry(entry.getKey().getBytes(StandardCharsets.UTF_8), entry.getValue()));
+        }
+        sorted.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+        try (IndexOutput termOut = new IndexOutput(Segment.file(directory, generation, "tim"));
+             IndexOutput indexOut = new IndexOutput(Segment.file(directory, generation, "tix"));
+             IndexOutput postingsOut = new IndexOutput(Segment.file(directory, generation, "pst"))) {
+            for (Map.Entry<byte[], PostingList> entry : sorted) {
+                PostingList list = entry.getValue();
+                indexOut.writeLong(termOut.position());
+                indexOut.writeLong(postingsOut.position());
+                indexOut.writeInt(list.docFreq);
+                termOut.writeVarInt(entry.getKey().length);
+                termOut.writeBytes(entry.getKey(), entry.getKey().length);
+                postingsOut.writeBytes(list.bytes, list.size);
+            }
+        }
+        return sorted.size();
+    }
+
+    /**
+     * In-memory postings of one term, already in their on-disk encoding.
+     */
+    private static final class PostingList {
+        byte[] bytes = new byte[8];
+        int size;
+        int lastDoc;
+        int docFreq;
+
+        void add(int doc, int frequency) {
+            writeVarInt(doc - lastDoc);
+            writeVarInt(frequency);
+            lastDoc = doc;
+            docFreq++;
+        }
+
+        private void writeVarInt(int value) {
+            if (size + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: Tokenizer.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.index;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into index terms: maximal runs of letters and digits, lower-cased. Documents and queries go through
+ * the same tokenizer, so they agree on what a term is.
+ */
+final class Tokenizer {
+
+    /** Longer runs (hashes, base64 blobs) are dropped rather than indexed. */
+    static final int MAX_TERM_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    static void tokenize(String text, List<String> terms) {
+        if (text == null) {
+            return;
+        }
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(text.codePointAt(i))) {
+                i += Character.charCount(text.codePointAt(i));
+            }
+            if (i > start && i - start <= MAX_TERM_LENGTH) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+}
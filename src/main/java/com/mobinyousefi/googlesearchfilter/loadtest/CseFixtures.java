@@ -0,0 +1,245 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: CseFixtures.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.loadtest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.mobinyousefi.googlesearchfilter.service.CseResponseParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic but realistically shaped Google CSE responses.
+ *
+ * Pages carry everything a real response does (queries, context, searchInformation, htmlTitle/htmlSnippet,
+ * formattedUrl, a pagemap with thumbnails, images and a wide metatags object), so parsers pay for the subtrees they
+ * skip as well as the fields they read. Projected pages hold only what a {@link CseResponseParser#FIELDS} partial
+ * response would. Output is deterministic for a given seed.
+ * Served by {@link CseStubServer} and used directly by the JMH benchmarks.
+ */
+public final class CseFixtures {
+
+    private static final String[] TLDS = {"com", "org", "net", "io", "dev", "co.uk", "de", "edu"};
+    private static final String[] WORDS = {"search", "filter", "engine", "result", "query", "index", "ranking",
+            "latency", "throughput", "cache", "parser", "stream", "domain", "language", "document", "snippet",
+            "network", "quota", "page", "benchmark", "java", "virtual", "thread", "memory", "allocation"};
+    private static final String[] LOCALES = {"en_US", "en_GB", "de_DE", "fr_FR", "es_ES", "ja_JP"};
+    private static final String[][] FILE_TYPES = {{"application/pdf", "PDF/Adobe Acrobat"},
+            {"application/msword", "Microsoft Word"}, {"text/plain", "Text"}};
+
+    /** Results draw their hosts from the first {@code HOST_POOL} domains of {@link #domain}. */
+    public static final int HOST_POOL = 500;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private CseFixtures() {
+    }
+
+    /**
+     * @return the {@code i}-th domain of the synthetic domain space
+     */
+    public static String domain(int i) {
+        return "site" + i + ".example." + TLDS[i % TLDS.length];
+    }
+
+    public static List<String> domains(int count) {
+        List<String> domains = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            domains.add(domain(i));
+        }
+        return domains;
+    }
+
+    /**
+     * One CSE response page.
+     *
+     * @param start         1-based index of the first item, as in the CSE {@code start} parameter
+     * @param items         number of items (CSE returns at most 10)
+     * @param snippetWords  snippet length in words; real snippets are 20 to 40
+     * @param seed          randomness seed, so the same arguments always produce the same bytes
+     */
+    public static byte[] page(String query, int start, int items, int snippetWords, long seed) {
+        return page(query, start, items, snippetWords, seed, false);
+    }
+
+    /**
+     * @param projected only the fields of a {@link CseResponseParser#FIELDS} partial response; the items are the
+     *                  same as in the full page
+     */
+    public static byte[] page(String query, int start, int items, int snippetWords, long seed, boolean projected) {
+        Random random = new Random(seed * 31 + start);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096 + items * (2048 + snippetWords * 16));
+        try (JsonGenerator gen = JSON.createGenerator(out)) {
+            gen.writeStartObject();
+            if (projected) {
+                random.nextDouble(); // the skipped searchTime, so the items come out the same as in the full page
+            } else {
+                writeEnvelope(gen, random, query, start, items);
+            }
+            gen.writeArrayFieldStart("items");
+            for (int i = 0; i < items; i++) {
+                writeItem(gen, random, start + i, snippetWords, projected);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeEnvelope(JsonGenerator gen, Random random, String query, int start, int items)
+            throws IOException {
+        gen.writeStringField("kind", "customsearch#search");
+        gen.writeObjectFieldStart("url");
+        gen.writeStringField("type", "application/json");
+        gen.writeStringField("template", "https://www.googleapis.com/customsearch/v1?q={searchTerms}"
+                + "&num={count?}&start={startIndex?}&cx={cx?}&key={key?}&alt=json");
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("queries");
+        writeQuery(gen, "request", query, start, items);
+        writeQuery(gen, "nextPage", query, start + items, items);
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("context");
+        gen.writeStringField("title", "Benchmark engine");
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("searchInformation");
+        gen.writeNumberField("searchTime", 0.21 + random.nextDouble() / 10);
+        gen.writeStringField("formattedSearchTime", "0.23");
+        gen.writeStringField("totalResults", "1830000");
+        gen.writeStringField("formattedTotalResults", "1,830,000");
+        gen.writeEndObject();
+    }
+
+    private static void writeQuery(JsonGenerator gen, String name, String query, int start, int count)
+            throws IOException {
+        gen.writeArrayFieldStart(name);
+        gen.writeStartObject();
+        gen.writeStringField("title", "Google Custom Search - " + query);
+        gen.writeStringField("totalResults", "1830000");
+        gen.writeStringField("searchTerms", query);
+        gen.writeNumberField("count", count);
+        gen.writeNumberField("startIndex", start);
+        gen.writeStringField("inputEncoding", "utf8");
+        gen.writeStringField("outputEncoding", "utf8");
+        gen.writeStringField("safe", "off");
+        gen.writeStringField("cx", "0123456789abcdef0:benchmark");
+        gen.writeEndObject();
+        gen.writeEndArray();
+    }
+
+    private static void writeItem(JsonGenerator gen, Random random, int rank, int snippetWords, boolean projected)
+            throws IOException {
+        String host = domain(random.nextInt(HOST_POOL));
+        String displayLink = random.nextInt(4) == 0 ? "www." + host : host;
+        String title = words(random, 4 + random.nextInt(6));
+        String link = "https://" + displayLink + "/articles/" + rank + "/" + title.replace(' ', '-');
+        String snippet = words(random, snippetWords);
+        String[] fileType = random.nextInt(10) == 0 ? FILE_TYPES[random.nextInt(FILE_TYPES.length)] : null;
+
+        gen.writeStartObject();
+        if (!projected) {
+            gen.writeStringField("kind", "customsearch#result");
+        }
+        gen.writeStringField("title", title);
+        if (!projected) {
+            gen.writeStringField("htmlTitle", "<b>" + title + "</b>");
+        }
+        gen.writeStringField("link", link);
+        gen.writeStringField("displayLink", displayLink);
+        gen.writeStringField("snippet", snippet);
+        if (!projected) {
+            gen.writeStringField("htmlSnippet", snippet.replace(" ", " <b></b>"));
+            gen.writeStringField("formattedUrl", link);
+            gen.writeStringField("htmlFormattedUrl", link);
+        }
+        if (fileType != null) {
+            gen.writeStringField("mime", fileType[0]);
+            gen.writeStringField("fileFormat", fileType[1]);
+        }
+
+        gen.writeObjectFieldStart("pagemap");
+        long thumbnail = random.nextLong();
+        if (!projected) {
+            gen.writeArrayFieldStart("cse_thumbnail");
+            gen.writeStartObject();
+            gen.writeStringField("src", "https://encrypted-tbn0.gstatic.com/images?q=tbn:"
+                    + Long.toHexString(thumbnail));
+            gen.writeStringField("width", "225");
+            gen.writeStringField("height", "225");
+            gen.writeEndObject();
+            gen.writeEndArray();
+        }
+
+        gen.writeArrayFieldStart("metatags");
+        gen.writeStartObject();
+        gen.writeStringField("og:type", "article");
+        gen.writeStringField("og:title", title);
+        gen.writeStringField("og:description", snippet);
+        gen.writeStringField("og:url", link);
+        gen.writeStringField("og:site_name", host);
+        gen.writeStringField("og:image", "https://" + host + "/img/" + rank + ".jpg");
+        gen.writeStringField("twitter:card", "summary_large_image");
+        gen.writeStringField("viewport", "width=device-width, initial-scale=1");
+        if (random.nextInt(5) != 0) {
+            gen.writeStringField("og:locale", LOCALES[random.nextInt(LOCALES.length)]);
+        }
+        switch (random.nextInt(4)) {
+            case 0 -> gen.writeStringField("article:published_time", date(random).toString());
+            case 1 -> gen.writeStringField("og:updated_time", date(random).toString());
+            case 2 -> gen.writeStringField("date", "2024-03-" + (10 + random.nextInt(18))); // not ISO-8601 offset
+            default -> {
+                // no date metadata at all
+            }
+        }
+        gen.writeEndObject();
+        gen.writeEndArray();
+
+        if (!projected) {
+            gen.writeArrayFieldStart("cse_image");
+            gen.writeStartObject();
+            gen.writeStringField("src", "https://" + host + "/img/" + rank + ".jpg");
+            gen.writeEndObject();
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+
+        gen.writeEndObject();
+    }
+
+    private static OffsetDateTime date(Random random) {
+        return OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+                .plusMinutes(random.nextInt(6 * 365 * 24 * 60))
+                .withOffsetSameInstant(ZoneOffset.ofHours(random.nextInt(25) - 12));
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder(count * 8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
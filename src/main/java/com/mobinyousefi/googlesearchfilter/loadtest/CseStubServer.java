@@ -0,0 +1,328 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: CseStubServer.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.loadtest;
+
+import com.mobinyousefi.googlesearchfilter.util.HttpServers;
+import com.mobinyousefi.googlesearchfilter.util.Threads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for the Google Custom Search JSON API, for load tests and benchmarks that must not spend quota.
+ *
+ * Serves {@code GET /customsearch/v1} with the CSE parameters ({@code q}, {@code start}, {@code num}; everything else
+ * is accepted and ignored, except that any {@code fields} projection yields the projected page shape and
+ * {@code Accept-Encoding: gzip} a gzipped body) and answers with synthetic pages from {@link CseFixtures}: {@code pages} full pages per
+ * query, then empty ones. Each request first sleeps a sample of the latency distribution, then fails with one of the
+ * error statuses with probability {@code errorRate}, CSE-style JSON error body included. Point the client at it with
+ * {@code google.endpoint=http://localhost:PORT/customsearch/v1}.
+ *
+ * Requests are handled on their own (virtual, where available) threads, so simulated latency costs no pool slots.
+ */
+public final class CseStubServer implements AutoCloseable {
+
+    public static final String PATH = "/customsearch/v1";
+    private static final int PAGE_SIZE = 10;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final int[] errorStatuses;
+    private final int pages;
+    private final int snippetWords;
+    private final long seed;
+    private final byte[][][] fullPages; // [projected * 2 + gzip][page]
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+
+    private CseStubServer(Builder builder) throws IOException {
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.errorStatuses = builder.errorStatuses.clone();
+        this.pages = builder.pages;
+        this.snippetWords = builder.snippetWords;
+        this.seed = builder.seed;
+
+        // the common case (num=10 within range) is served from pre-rendered bytes
+        this.fullPages = new byte[4][pages][];
+        for (int i = 0; i < pages; i++) {
+            for (int projected = 0; projected < 2; projected++) {
+                byte[] page = CseFixtures.page("stub", 1 + i * PAGE_SIZE, PAGE_SIZE, snippetWords, seed,
+                        projected == 1);
+                fullPages[projected * 2][i] = page;
+                fullPages[projected * 2 + 1][i] = gzip(page);
+            }
+        }
+
+        this.executor = Threads.newTaskExecutor("cse-stub");
+        this.server = HttpServers.create(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+        server.setExecutor(executor);
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the value to use as {@code google.endpoint}
+     */
+    public String getEndpoint() {
+        return "http://" + server.getAddress().getHostString() + ":" + getPort() + PATH;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.sum();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "CSE stub on " + getEndpoint() + " latency=" + latency + ", errorRate=" + errorRate + ", pages="
+                + pages + ", snippetWords=" + snippetWords + "; served " + getRequestCount() + " requests ("
+                + getInjectedErrorCount() + " injected errors, " + getBytesSent() / 1024 + " KiB)";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, error(405, "Only GET is supported"));
+                return;
+            }
+
+            String query = "";
+            int start = 1;
+            int num = PAGE_SIZE;
+            boolean projected = false;
+            String rawQuery = exchange.getRequestURI().getRawQuery();
+            try {
+                if (rawQuery != null) {
+                    for (String pair : rawQuery.split("&")) {
+                        int eq = pair.indexOf('=');
+                        String name = eq < 0 ? pair : pair.substring(0, eq);
+                        String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                        switch (name) {
+                            case "q" -> query = value;
+                            case "start" -> start = Integer.parseInt(value);
+                            case "num" -> num = Integer.parseInt(value);
+                            case "fields" -> projected = !value.isBlank();
+                            default -> {
+                                // key, cx and pushed-down filters are accepted as-is
+                            }
+                        }
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error(400, "Invalid parameter: " + e.getMessage()));
+                return;
+            }
+            if (start < 1 || num < 1 || num > PAGE_SIZE) {
+                send(exchange, 400, error(400, "Invalid Value"));
+                return;
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long sleepMillis = Math.round(latency.sampleMillis(random));
+            if (sleepMillis > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            if (errorRate > 0 && random.nextDouble() < errorRate) {
+                injectedErrors.increment();
+                int status = errorStatuses[random.nextInt(errorStatuses.length)];
+                send(exchange, status, error(status, "Injected failure"));
+                return;
+            }
+
+            boolean gzip = acceptsGzip(exchange);
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            send(exchange, 200, page(query, start, num, projected, gzip));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] page(String query, int start, int num, boolean projected, boolean gzip) {
+        int first = start - 1;
+        int available = Math.max(0, Math.min(num, pages * PAGE_SIZE - first));
+        if (available == PAGE_SIZE && first % PAGE_SIZE == 0) {
+            return fullPages[(projected ? 2 : 0) + (gzip ? 1 : 0)][first / PAGE_SIZE];
+        }
+        byte[] page = CseFixtures.page(query, start, available, snippetWords, seed, projected);
+        return gzip ? gzip(page) : page;
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        for (String value : exchange.getRequestHeaders().getOrDefault("Accept-Encoding", List.of())) {
+            for (String coding : value.split(",")) {
+                if (coding.trim().toLowerCase(Locale.ROOT).startsWith("gzip")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        bytesSent.add(body.length);
+    }
+
+    private static byte[] error(int status, String message) {
+        return ("{\"error\":{\"code\":" + status + ",\"message\":\"" + message + "\",\"status\":\""
+                + (status == 429 ? "RESOURCE_EXHAUSTED" : status >= 500 ? "UNAVAILABLE" : "INVALID_ARGUMENT")
+                + "\"}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static final class Builder {
+        private String host = "127.0.0.1";
+        private int port;
+        private int backlog = 1024;
+        private LatencyDistribution latency = LatencyDistribution.fixed(0);
+        private double errorRate;
+        private int[] errorStatuses = {429, 500, 503};
+        private int pages = 10;
+        private int snippetWords = 30;
+        private long seed = 1;
+
+        private Builder() {
+        }
+
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * @param port listening port, 0 for any free one
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * @param errorRate share of requests, 0 to 1, answered with an error status instead of a page
+         */
+        public Builder errorRate(double errorRate) {
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("errorRate must be between 0 and 1");
+            }
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder errorStatuses(int... errorStatuses) {
+            if (errorStatuses.length == 0) {
+                throw new IllegalArgumentException("at least one error status is required");
+            }
+            this.errorStatuses = errorStatuses.clone();
+            return this;
+        }
+
+        /**
+         * @param pages full result pages served per query before the results run out
+         */
+        public Builder pages(int pages) {
+            if (pages < 0) {
+                throw new IllegalArgumentException("pages must not be negative");
+            }
+            this.pages = pages;
+            return this;
+        }
+
+        /**
+         * @param snippetWords snippet length in words, the main knob for payload size
+         */
+        public Builder snippetWords(int snippetWords) {
+            this.snippetWords = Math.max(0, snippetWords);
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public CseStubServer start() throws IOException {
+            return new CseStubServer(this);
+        }
+    }
+}
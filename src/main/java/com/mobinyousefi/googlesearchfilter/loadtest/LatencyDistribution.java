@@ -0,0 +1,109 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: LatencyDistribution.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.loadtest;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Simulated response latency, parsed from a compact spec:
+ * <ul>
+ *   <li>{@code 0} or {@code fixed:50}: always 50 ms</li>
+ *   <li>{@code uniform:20-80}: uniform between 20 and 80 ms</li>
+ *   <li>{@code exp:50}: exponential with a 50 ms mean</li>
+ *   <li>{@code lognormal:120,0.5}: log-normal with a 120 ms median and shape (sigma) 0.5, the long-tailed shape real
+ *       API latencies tend to have</li>
+ * </ul>
+ */
+public final class LatencyDistribution {
+
+    private enum Kind { FIXED, UNIFORM, EXPONENTIAL, LOGNORMAL }
+
+    private final Kind kind;
+    private final double a;
+    private final double b;
+    private final String spec;
+
+    private LatencyDistribution(Kind kind, double a, double b, String spec) {
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+        this.spec = spec;
+    }
+
+    public static LatencyDistribution fixed(double millis) {
+        return new LatencyDistribution(Kind.FIXED, millis, 0, "fixed:" + millis);
+    }
+
+    public static LatencyDistribution parse(String spec) {
+        String s = spec.trim().toLowerCase(Locale.ROOT);
+        int colon = s.indexOf(':');
+        String name = colon < 0 ? "fixed" : s.substring(0, colon);
+        String args = colon < 0 ? s : s.substring(colon + 1);
+        try {
+            switch (name) {
+                case "fixed":
+                    return new LatencyDistribution(Kind.FIXED, nonNegative(args), 0, s);
+                case "uniform": {
+                    String[] range = args.split("-");
+                    double min = nonNegative(range[0]);
+                    double max = nonNegative(range[1]);
+                    if (max < min) {
+                        throw new IllegalArgumentException("empty range");
+                    }
+                    return new LatencyDistribution(Kind.UNIFORM, min, max, s);
+                }
+                case "exp":
+                    return new LatencyDistribution(Kind.EXPONENTIAL, nonNegative(args), 0, s);
+                case "lognormal": {
+                    String[] params = args.split(",");
+                    return new LatencyDistribution(Kind.LOGNORMAL, Math.log(Math.max(1e-3, nonNegative(params[0]))),
+                            nonNegative(params[1]), s);
+                }
+                default:
+                    throw new IllegalArgumentException("unknown distribution \"" + name + "\"");
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid latency spec \"" + spec + "\" (expected fixed:MS, "
+                    + "uniform:MIN-MAX, exp:MEAN or lognormal:MEDIAN,SIGMA): " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return one latency sample in milliseconds
+     */
+    public double sampleMillis(Random random) {
+        switch (kind) {
+            case UNIFORM:
+                return a + random.nextDouble() * (b - a);
+            case EXPONENTIAL:
+                return -a * Math.log(1 - random.nextDouble());
+            case LOGNORMAL:
+                return Math.exp(a + b * random.nextGaussian());
+            default:
+                return a;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private static double nonNegative(String value) {
+        double d = Double.parseDouble(value.trim());
+        if (d < 0 || Double.isNaN(d)) {
+            throw new IllegalArgumentException("negative value " + value);
+        }
+        return d;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: LoadGenerator.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.loadtest;
+
+import com.mobinyousefi.googlesearchfilter.service.SearchClient;
+import com.mobinyousefi.googlesearchfilter.util.Threads;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: issues {@link SearchClient#search} calls at a fixed target rate, whether or not earlier
+ * calls have finished, and reports latency percentiles.
+ *
+ * Latency is measured from each call's scheduled start, not from when a thread got around to it, so a stalled
+ * client shows up as latency instead of silently lowering the offered rate (coordinated omission). When
+ * {@code maxInFlight} calls are already outstanding, the next one is dropped and counted rather than queued.
+ */
+public class LoadGenerator {
+
+    private final SearchClient client;
+    private final double targetQps;
+    private final Duration duration;
+    private final int maxInFlight;
+
+    public LoadGenerator(SearchClient client, double targetQps, Duration duration, int maxInFlight) {
+        if (targetQps <= 0) {
+            throw new IllegalArgumentException("targetQps must be positive");
+        }
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.client = client;
+        this.targetQps = targetQps;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Cycles through {@code queries} for the configured duration, asking for {@code maxResults} results each.
+     * A progress line is printed to {@code log} every 5 seconds, the report at the end.
+     */
+    public Report run(List<String> queries, int maxResults, PrintStream log) {
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("queries must not be empty");
+        }
+        ExecutorService executor = Threads.newTaskExecutor("load-generator");
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Report report = new Report(targetQps);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / targetQps);
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        long nextProgress = started + TimeUnit.SECONDS.toNanos(5);
+
+        try {
+            for (long i = 0; ; i++) {
+                long scheduled = started + i * intervalNanos;
+                if (scheduled >= deadline) {
+                    break;
+                }
+                long wait;
+                while ((wait = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (scheduled >= nextProgress) {
+                    log.println("[INFO] " + report.progress(System.nanoTime() - started));
+                    nextProgress += TimeUnit.SECONDS.toNanos(5);
+                }
+
+                report.sent.incrementAndGet();
+                if (!inFlight.tryAcquire()) {
+                    report.dropped.incrementAndGet();
+                    continue;
+                }
+                String query = queries.get((int) (i % queries.size()));
+                executor.execute(() -> {
+                    boolean ok = false;
+                    try {
+                        client.search(query, maxResults);
+                        ok = true;
+                    } catch (Exception e) {
+                        report.recordError(e);
+                    } finally {
+                        report.record(System.nanoTime() - scheduled, ok);
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquireUninterruptibly(maxInFlight); // let outstanding calls finish
+        } finally {
+            executor.shutdown();
+        }
+
+        report.elapsedNanos = System.nanoTime() - started;
+        log.println("[INFO] " + report);
+        return report;
+    }
+
+    /**
+     * Outcome of a load run.
+     */
+    public static final class Report {
+        private final double targetQps;
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private long succeeded;
+        private long failed;
+        private String lastError;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long elapsedNanos;
+
+        private Report(double targetQps) {
+            this.targetQps = targetQps;
+        }
+
+        private synchronized void record(long latencyNanos, boolean ok) {
+            if (ok) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        private synchronized void recordError(Exception e) {
+            lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+
+        public long getSent() {
+            return sent.get();
+        }
+
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        public synchronized long getSucceeded() {
+            return succeeded;
+        }
+
+        public synchronized long getFailed() {
+            return failed;
+        }
+
+        public synchronized String getLastError() {
+            return lastError;
+        }
+
+        /**
+         * @return completed calls per second over the whole run
+         */
+        public synchronized double getAchievedQps() {
+            return elapsedNanos == 0 ? 0 : (succeeded + failed) * 1e9 / elapsedNanos;
+        }
+
+        public synchronized double getLatencyPercentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))] / 1e6;
+        }
+
+        private synchronized String progress(long elapsed) {
+            return String.format("Load: %.0fs, %d sent, %d ok, %d errors, %d dropped", elapsed / 1e9, getSent(),
+                    succeeded, failed, getDropped());
+        }
+
+        @Override
+        public synchronized String toString() {
+            String summary = String.format("Load done: target %.1f qps, achieved %.1f qps over %.1fs; %d sent, "
+                            + "%d ok, %d errors, %d dropped; latency ms p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f "
+                            + "max=%.1f",
+                    targetQps, getAchievedQps(), elapsedNanos / 1e9, getSent(), succeeded, failed, getDropped(),
+                    getLatencyPercentileMillis(50), getLatencyPercentileMillis(90), getLatencyPercentileMillis(99),
+                    getLatencyPercentileMillis(99.9), getLatencyPercentileMillis(100));
+            return lastError == null ? summary : summary + "; last error: " + lastError;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: StubSearchClient.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.loadtest;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.SearchClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process search provider for exercising provider-level logic (federation, hedging, timeouts) without any network.
+ *
+ * Every query answers with the same ranked results after a latency drawn from a {@link LatencyDistribution}, or fails
+ * with an {@link IOException} at the configured rate. The wait honors interrupts, like a real blocking request.
+ */
+public final class StubSearchClient implements SearchClient {
+
+    private final String name;
+    private final List<SearchResult> results;
+    private final LatencyDistribution latency;
+    private final double failureRate;
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * @param failureRate share of requests failing, from 0 to 1
+     */
+    public StubSearchClient(String name, List<SearchResult> results, LatencyDistribution latency,
+                            double failureRate) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("failureRate must be between 0 and 1");
+        }
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.results = List.copyOf(results);
+        this.latency = Objects.requireNonNull(latency, "latency must not be null");
+        this.failureRate = failureRate;
+    }
+
+    public StubSearchClient(String name, List<SearchResult> results, LatencyDistribution latency) {
+        this(name, results, latency, 0);
+    }
+
+    /**
+     * Ranked results on consecutive synthetic domains ({@link CseFixtures#domain}) starting at {@code firstDomain},
+     * so two providers built from overlapping ranges return some identical links.
+     */
+    public static List<SearchResult> results(int firstDomain, int count) {
+        List<SearchResult> results = new ArrayList<>(count);
+        for (int i = firstDomain; i < firstDomain + count; i++) {
+            String host = CseFixtures.domain(i);
+            results.add(SearchResult.builder()
+                    .title("Result on " + host)
+                    .link("https://" + host + "/")
+                    .displayLink(host)
+                    .snippet("Synthetic result " + i)
+                    .mimeType("text/html")
+                    .languageCode("en")
+                    .build());
+        }
+        return results;
+    }
+
+    @Override
+    public List<SearchResult> search(String query, int maxResults) throws IOException, SearchException {
+        requests.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            Thread.sleep(Math.round(latency.sampleMillis(random)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchException(name + ": request interrupted", e);
+        }
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            throw new IOException(name + ": simulated failure");
+        }
+        return results.subList(0, Math.min(maxResults, results.size()));
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + results.size() + " results, latency " + latency + ")";
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: Counter.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, striped ({@link LongAdder}) so hot paths on many threads do not contend.
+ */
+public final class Counter implements CounterMBean {
+
+    private final String name;
+    private final String help;
+    private final String labels;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name, String help, String labels) {
+        this.name = name;
+        this.help = help;
+        this.labels = labels;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * @return the Prometheus label set, e.g. {@code status="429"}, or an empty string
+     */
+    public String getLabels() {
+        return labels;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    @Override
+    public long getValue() {
+        return value.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name + (labels.isEmpty() ? "" : "{" + labels + "}") + "=" + getValue();
+    }
+}
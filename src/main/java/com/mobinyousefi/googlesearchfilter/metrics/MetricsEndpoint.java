@@ -0,0 +1,93 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: MetricsEndpoint.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.metrics;
+
+import com.mobinyousefi.googlesearchfilter.util.HttpServers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves a {@link MetricsRegistry} as Prometheus text on {@code GET /metrics}.
+ *
+ * The handler is also usable on its own, for servers that already run an {@link HttpServer}.
+ */
+public final class MetricsEndpoint implements HttpHandler, AutoCloseable {
+
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsRegistry registry;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MetricsEndpoint(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Starts a dedicated scrape server on {@code port} (all interfaces).
+     */
+    public static MetricsEndpoint start(MetricsRegistry registry, int port) throws IOException {
+        MetricsEndpoint endpoint = new MetricsEndpoint(registry);
+        endpoint.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        endpoint.server = HttpServers.create(new InetSocketAddress(port), 16);
+        endpoint.server.setExecutor(endpoint.executor);
+        endpoint.server.createContext(PATH, endpoint);
+        endpoint.server.start();
+        return endpoint;
+    }
+
+    public int getPort() {
+        return server == null ? -1 : server.getAddress().getPort();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringWriter text = new StringWriter(8192);
+            registry.writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}
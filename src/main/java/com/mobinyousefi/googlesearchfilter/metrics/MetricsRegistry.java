@@ -0,0 +1,177 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: MetricsRegistry.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named latency histograms and counters, exported as Prometheus text and, once {@link #registerJmx()} is called,
+ * as MBeans under {@value #JMX_DOMAIN}.
+ *
+ * Lookups by name are for wiring; hot paths keep the returned instances (see {@link SearchMetrics}).
+ */
+public final class MetricsRegistry {
+
+    public static final String JMX_DOMAIN = "com.mobinyousefi.googlesearchfilter";
+
+    // Prometheus-style le bounds, seconds
+    private static final String[] EXPORT_BUCKETS = {"0.0001", "0.00025", "0.0005", "0.001", "0.0025", "0.005", "0.01",
+            "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5", "5", "10", "30"};
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private volatile MBeanServer mbeanServer;
+
+    /**
+     * @return the process-wide registry the application instruments
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public LatencyHistogram histogram(String name, String help) {
+        LatencyHistogram existing = histograms.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        LatencyHistogram created = new LatencyHistogram(name, help);
+        existing = histograms.putIfAbsent(name, created);
+        return existing != null ? existing : register(created, "Latency", name);
+    }
+
+    public Counter counter(String name, String help) {
+        return counter(name, help, "");
+    }
+
+    /**
+     * @param labels Prometheus label set without braces, e.g. {@code status="429"}; one counter per distinct set
+     */
+    public Counter counter(String name, String help, String labels) {
+        String key = labels.isEmpty() ? name : name + "{" + labels + "}";
+        Counter existing = counters.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        Counter created = new Counter(name, help, labels);
+        existing = counters.putIfAbsent(key, created);
+        return existing != null ? existing : register(created, "Counter", key);
+    }
+
+    public List<LatencyHistogram> getHistograms() {
+        return new ArrayList<>(histograms.values());
+    }
+
+    public List<Counter> getCounters() {
+        return new ArrayList<>(counters.values());
+    }
+
+    /**
+     * Registers every metric, present and future, with the platform MBean server.
+     */
+    public synchronized void registerJmx() {
+        if (mbeanServer != null) {
+            return;
+        }
+        mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        histograms.forEach((name, histogram) -> register(histogram, "Latency", name));
+        counters.forEach((key, counter) -> register(counter, "Counter", key));
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text exposition format (version 0.0.4).
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        String lastName = null;
+        for (Counter counter : counters.values()) {
+            if (!counter.getName().equals(lastName)) {
+                lastName = counter.getName();
+                out.write("# HELP " + lastName + " " + counter.getHelp() + "\n");
+                out.write("# TYPE " + lastName + " counter\n");
+            }
+            out.write(lastName + (counter.getLabels().isEmpty() ? "" : "{" + counter.getLabels() + "}") + " "
+                    + counter.getValue() + "\n");
+        }
+
+        for (LatencyHistogram histogram : histograms.values()) {
+            String name = histogram.getName();
+            out.write("# HELP " + name + " " + histogram.getHelp() + "\n");
+            out.write("# TYPE " + name + " histogram\n");
+            for (String le : EXPORT_BUCKETS) {
+                long bound = (long) (Double.parseDouble(le) * 1e9);
+                out.write(name + "_bucket{le=\"" + le + "\"} " + histogram.countAtMost(bound) + "\n");
+            }
+            long count = histogram.getCount();
+            out.write(name + "_bucket{le=\"+Inf\"} " + count + "\n");
+            out.write(name + "_sum " + LatencyHistogram.toSeconds(histogram.getSumNanos()) + "\n");
+            out.write(name + "_count " + count + "\n");
+        }
+    }
+
+    /**
+     * @return one line with every counter and the p50/p99 of every histogram that has seen values
+     */
+    public String summaryLine() {
+        StringBuilder sb = new StringBuilder("metrics:");
+        for (Counter counter : counters.values()) {
+            if (counter.getValue() > 0) {
+                sb.append(' ').append(shortName(counter.getName()));
+                if (!counter.getLabels().isEmpty()) {
+                    sb.append('{').append(counter.getLabels().replace("\"", "")).append('}');
+                }
+                sb.append('=').append(counter.getValue());
+            }
+        }
+        for (LatencyHistogram histogram : histograms.values()) {
+            if (histogram.getCount() > 0) {
+                sb.append(String.format(Locale.ROOT, " %s[p50=%.2fms p99=%.2fms]", shortName(histogram.getName()),
+                        histogram.getP50Millis(), histogram.getP99Millis()));
+            }
+        }
+        return sb.toString();
+    }
+
+    private <T> T register(T metric, String type, String name) {
+        MBeanServer server = mbeanServer;
+        if (server != null) {
+            try {
+                server.registerMBean(metric, new ObjectName(JMX_DOMAIN + ":type=" + type + ",name="
+                        + ObjectName.quote(name)));
+            } catch (InstanceAlreadyExistsException ignored) {
+                // registered by an earlier registry instance
+            } catch (JMException e) {
+                System.err.println("[WARN] Could not register metric " + name + " with JMX: " + e.getMessage());
+            }
+        }
+        return metric;
+    }
+
+    private static String shortName(String name) {
+        String s = name.startsWith("search_") ? name.substring("search_".length()) : name;
+        if (s.endsWith("_total")) {
+            return s.substring(0, s.length() - "_total".length());
+        }
+        return s.endsWith("_seconds") ? s.substring(0, s.length() - "_seconds".length()) : s;
+    }
+}
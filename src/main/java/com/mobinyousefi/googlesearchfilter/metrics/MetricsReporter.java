@@ -0,0 +1,49 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: MetricsReporter.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.metrics;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prints {@link MetricsRegistry#summaryLine()} at a fixed interval, for unattended runs.
+ */
+public final class MetricsReporter implements AutoCloseable {
+
+    private final ScheduledExecutorService scheduler;
+
+    private MetricsReporter(MetricsRegistry registry, Duration interval, PrintStream out) {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleAtFixedRate(() -> out.println("[INFO] " + registry.summaryLine()), millis, millis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static MetricsReporter start(MetricsRegistry registry, Duration interval, PrintStream out) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        return new MetricsReporter(registry, interval, out);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SearchMetrics.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The pipeline's stage timers and counters, registered in {@link MetricsRegistry#global()}.
+ *
+ * Stages, in request order: waiting for response headers, reading the body off the wire, parsing it (excluding the
+ * time blocked on reads), parsing metadata dates, filtering, ranking, and rendering output.
+ */
+public final class SearchMetrics {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.global();
+
+    public static final LatencyHistogram HTTP_WAIT = REGISTRY.histogram("search_http_wait_seconds",
+            "Time from sending a CSE request to receiving its response headers");
+    public static final LatencyHistogram BODY_READ = REGISTRY.histogram("search_body_read_seconds",
+            "Time spent blocked reading CSE response bodies");
+    public static final LatencyHistogram PARSE = REGISTRY.histogram("search_parse_seconds",
+            "CPU time parsing CSE response bodies, excluding body reads");
+    public static final LatencyHistogram PARSE_DATE = REGISTRY.histogram("search_parse_date_seconds",
+            "Time parsing the date metadata of one result");
+    public static final LatencyHistogram FILTER = REGISTRY.histogram("search_filter_seconds",
+            "Time evaluating filter criteria over one page or result list");
+    public static final LatencyHistogram RANK = REGISTRY.histogram("search_rank_seconds",
+            "Time scoring and selecting the top results of one query, excluding waits for candidates");
+    public static final LatencyHistogram RENDER = REGISTRY.histogram("search_render_seconds",
+            "Time rendering output: one console result or one batch output line");
+
+    public static final Counter REQUESTS = REGISTRY.counter("search_http_requests_total",
+            "CSE HTTP requests sent, retries included");
+    public static final Counter PAGES = REGISTRY.counter("search_pages_total",
+            "CSE result pages received and parsed");
+    public static final Counter BYTES = REGISTRY.counter("search_response_bytes_total",
+            "CSE response body bytes received, before decompression");
+    public static final Counter RESULTS_IN = REGISTRY.counter("search_filter_results_in_total",
+            "Results evaluated by the filter");
+    public static final Counter RESULTS_OUT = REGISTRY.counter("search_filter_results_out_total",
+            "Results that passed the filter");
+    public static final Counter NEAR_DUPLICATES = REGISTRY.counter("search_filter_near_duplicates_total",
+            "Results that passed the filter but were dropped as near-duplicates of a better-ranked one");
+
+    private static final String ERRORS = "search_http_errors_total";
+    private static final String ERRORS_HELP = "Failed CSE requests by HTTP status or failure kind";
+    private static final Map<String, Counter> ERRORS_BY_STATUS = new ConcurrentHashMap<>();
+
+    private SearchMetrics() {
+    }
+
+    /**
+     * @param status an HTTP status code, or a failure kind such as {@code timeout} or {@code connect}
+     */
+    public static Counter errors(String status) {
+        return ERRORS_BY_STATUS.computeIfAbsent(status,
+                s -> REGISTRY.counter(ERRORS, ERRORS_HELP, "status=\"" + s + "\""));
+    }
+
+    public static Counter errors(int status) {
+        return errors(String.valueOf(status));
+    }
+}
@@ -4,7 +4,7 @@
  * File: FilterCriteria.java
  * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
  * Created: 2025-11-19
- * Updated: 2025-11-19
+ * Updated: 2026-10-16
  * License: MIT License (see LICENSE file for details)
  * =====================================================================================================================
  */
@@ -20,14 +20,20 @@ import java.util.Set;
  */
 public class FilterCriteria {
 
+    /** Largest near-duplicate distance; beyond it, unrelated snippets start to collide and lookups slow down. */
+    public static final int MAX_NEAR_DUPLICATE_DISTANCE = 8;
+
     private OffsetDateTime fromDate;
     private OffsetDateTime toDate;
     private final Set<String> domainWhitelist = new HashSet<>();
     private final Set<String> domainBlacklist = new HashSet<>();
+    private final Set<String> domainAllowlistFiles = new HashSet<>();
+    private final Set<String> domainBlocklistFiles = new HashSet<>();
     private final Set<String> mimeTypes = new HashSet<>();
     private final Set<String> languageCodes = new HashSet<>();
     private boolean safeOnly = true;
     private int maxResults = 20;
+    private int nearDuplicateDistance = -1;
 
     public OffsetDateTime getFromDate() {
         return fromDate;
@@ -53,6 +59,22 @@ public class FilterCriteria {
         return domainBlacklist;
     }
 
+    /**
+     * @return paths of domain list files (one domain per line, hosts files and adblock domain rules accepted) whose
+     *         domains are allowed in addition to the whitelist; as with the whitelist, any entry restricts results
+     */
+    public Set<String> getDomainAllowlistFiles() {
+        return domainAllowlistFiles;
+    }
+
+    /**
+     * @return paths of domain list files whose domains are blocked in addition to the blacklist, e.g. threat-intel
+     *         feeds of millions of domains
+     */
+    public Set<String> getDomainBlocklistFiles() {
+        return domainBlocklistFiles;
+    }
+
     public Set<String> getMimeTypes() {
         return mimeTypes;
     }
@@ -79,4 +101,42 @@ public class FilterCriteria {
         }
         this.maxResults = maxResults;
     }
+
+    /**
+     * @return the SimHash distance within which results count as near-duplicates, or -1 if they are not collapsed
+     */
+    public int getNearDuplicateDistance() {
+        return nearDuplicateDistance;
+    }
+
+    /**
+     * @param nearDuplicateDistance differing fingerprint bits, from 0 to {@value #MAX_NEAR_DUPLICATE_DISTANCE}, up to
+     *                              which only the best-ranked of two similar results is kept; -1 keeps both
+     */
+    public void setNearDuplicateDistance(int nearDuplicateDistance) {
+        if (nearDuplicateDistance < -1 || nearDuplicateDistance > MAX_NEAR_DUPLICATE_DISTANCE) {
+            throw new IllegalArgumentException("nearDuplicateDistance must be between 0 and "
+                    + MAX_NEAR_DUPLICATE_DISTANCE + ", or -1");
+        }
+        this.nearDuplicateDistance = nearDuplicateDistance;
+    }
+
+    /**
+     * @return an independent copy of these criteria
+     */
+    public FilterCriteria copy() {
+        FilterCriteria copy = new FilterCriteria();
+        copy.fromDate = fromDate;
+        copy.toDate = toDate;
+        copy.domainWhitelist.addAll(domainWhitelist);
+        copy.domainBlacklist.addAll(domainBlacklist);
+        copy.domainAllowlistFiles.addAll(domainAllowlistFiles);
+        copy.domainBlocklistFiles.addAll(domainBlocklistFiles);
+        copy.mimeTypes.addAll(mimeTypes);
+        copy.languageCodes.addAll(languageCodes);
+        copy.safeOnly = safeOnly;
+        copy.maxResults = maxResults;
+        copy.nearDuplicateDistance = nearDuplicateDistance;
+        return copy;
+    }
 }
@@ -4,40 +4,69 @@
  * File: SearchResult.java
  * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
  * Created: 2025-11-19
- * Updated: 2025-11-19
+ * Updated: 2026-10-16
  * License: MIT License (see LICENSE file for details)
  * =====================================================================================================================
  */
 
 package com.mobinyousefi.googlesearchfilter.model;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Objects;
 
 /**
  * Immutable representation of a single search result returned by Google Custom Search.
+ *
+ * Stored compactly, since caches and batch runs keep tens of thousands of these around: the fields that repeat
+ * across rows (display link, MIME type, file format, language) are dictionary-encoded as int ids in
+ * {@link StringDictionary#shared()}, and the indexed time is kept as primitive epoch seconds, nanos and offset
+ * instead of a four-object {@link OffsetDateTime} graph. The getters decode on access; {@link #getIndexedTime()}
+ * builds a new {@code OffsetDateTime} per call, so hot paths should use {@link #hasIndexedTime()},
+ * {@link #getIndexedEpochSecond()} and {@link #getIndexedNano()} instead.
  */
 public final class SearchResult {
 
+    private static final StringDictionary DICTIONARY = StringDictionary.shared();
+    private static final int DISPLAY_LINK = 0;
+    private static final int MIME_TYPE = 1;
+    private static final int FILE_FORMAT = 2;
+    private static final int LANGUAGE_CODE = 3;
+    private static final int NO_TIME = Integer.MIN_VALUE;
+
     private final String title;
     private final String link;
-    private final String displayLink;
     private final String snippet;
-    private final String mimeType;
-    private final String fileFormat;
-    private final OffsetDateTime indexedTime;
-    private final String languageCode;
+    private final int displayLinkId;
+    private final int mimeTypeId;
+    private final int fileFormatId;
+    private final int languageCodeId;
+    private final long indexedEpochSecond;
+    private final int indexedNano;
+    private final int indexedOffsetSeconds; // NO_TIME when there is no indexed time
     private final boolean safe;
+    // values that did not fit into a full dictionary, by field index; null in the common case
+    private final String[] overflow;
 
     private SearchResult(Builder builder) {
         this.title = builder.title;
         this.link = builder.link;
-        this.displayLink = builder.displayLink;
         this.snippet = builder.snippet;
-        this.mimeType = builder.mimeType;
-        this.fileFormat = builder.fileFormat;
-        this.indexedTime = builder.indexedTime;
-        this.languageCode = builder.languageCode;
+        this.displayLinkId = DICTIONARY.encode(builder.displayLink);
+        this.mimeTypeId = DICTIONARY.encode(builder.mimeType);
+        this.fileFormatId = DICTIONARY.encode(builder.fileFormat);
+        this.languageCodeId = DICTIONARY.encode(builder.languageCode);
+        if (displayLinkId == StringDictionary.OVERFLOW || mimeTypeId == StringDictionary.OVERFLOW
+                || fileFormatId == StringDictionary.OVERFLOW || languageCodeId == StringDictionary.OVERFLOW) {
+            this.overflow = new String[]{builder.displayLink, builder.mimeType, builder.fileFormat,
+                    builder.languageCode};
+        } else {
+            this.overflow = null;
+        }
+        this.indexedEpochSecond = builder.indexedEpochSecond;
+        this.indexedNano = builder.indexedNano;
+        this.indexedOffsetSeconds = builder.indexedOffsetSeconds;
         this.safe = builder.safe;
     }
 
@@ -50,7 +79,7 @@ public final class SearchResult {
     }
 
     public String getDisplayLink() {
-        return displayLink;
+        return decode(displayLinkId, DISPLAY_LINK);
     }
 
     public String getSnippet() {
@@ -58,19 +87,48 @@ public final class SearchResult {
     }
 
     public String getMimeType() {
-        return mimeType;
+        return decode(mimeTypeId, MIME_TYPE);
     }
 
     public String getFileFormat() {
-        return fileFormat;
+        return decode(fileFormatId, FILE_FORMAT);
     }
 
     public OffsetDateTime getIndexedTime() {
-        return indexedTime;
+        if (indexedOffsetSeconds == NO_TIME) {
+            return null;
+        }
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(indexedEpochSecond, indexedNano),
+                ZoneOffset.ofTotalSeconds(indexedOffsetSeconds));
+    }
+
+    public boolean hasIndexedTime() {
+        return indexedOffsetSeconds != NO_TIME;
+    }
+
+    /**
+     * @return seconds since the epoch of the indexed time; only meaningful if {@link #hasIndexedTime()}
+     */
+    public long getIndexedEpochSecond() {
+        return indexedEpochSecond;
+    }
+
+    /**
+     * @return nano-of-second of the indexed time; only meaningful if {@link #hasIndexedTime()}
+     */
+    public int getIndexedNano() {
+        return indexedNano;
+    }
+
+    /**
+     * @return the offset of the indexed time in seconds; only meaningful if {@link #hasIndexedTime()}
+     */
+    public int getIndexedOffsetSeconds() {
+        return indexedOffsetSeconds;
     }
 
     public String getLanguageCode() {
-        return languageCode;
+        return decode(languageCodeId, LANGUAGE_CODE);
     }
 
     public boolean isSafe() {
@@ -82,11 +140,11 @@ public final class SearchResult {
         return "SearchResult{" +
                 "title='" + title + '\'' +
                 ", link='" + link + '\'' +
-                ", displayLink='" + displayLink + '\'' +
-                ", mimeType='" + mimeType + '\'' +
-                ", fileFormat='" + fileFormat + '\'' +
-                ", indexedTime=" + indexedTime +
-                ", languageCode='" + languageCode + '\'' +
+                ", displayLink='" + getDisplayLink() + '\'' +
+                ", mimeType='" + getMimeType() + '\'' +
+                ", fileFormat='" + getFileFormat() + '\'' +
+                ", indexedTime=" + getIndexedTime() +
+                ", languageCode='" + getLanguageCode() + '\'' +
                 ", safe=" + safe +
                 '}';
     }
@@ -103,6 +161,10 @@ public final class SearchResult {
         return Objects.hash(link);
     }
 
+    private String decode(int id, int field) {
+        return id == StringDictionary.OVERFLOW ? overflow[field] : DICTIONARY.decode(id);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -114,7 +176,9 @@ public final class SearchResult {
         private String snippet;
         private String mimeType;
         private String fileFormat;
-        private OffsetDateTime indexedTime;
+        private long indexedEpochSecond;
+        private int indexedNano;
+        private int indexedOffsetSeconds = NO_TIME;
         private String languageCode;
         private boolean safe = true;
 
@@ -152,7 +216,25 @@ public final class SearchResult {
         }
 
         public Builder indexedTime(OffsetDateTime indexedTime) {
-            this.indexedTime = indexedTime;
+            if (indexedTime == null) {
+                this.indexedOffsetSeconds = NO_TIME;
+                return this;
+            }
+            return indexedTime(indexedTime.toEpochSecond(), indexedTime.getNano(),
+                    indexedTime.getOffset().getTotalSeconds());
+        }
+
+        /**
+         * Primitive form of {@link #indexedTime(OffsetDateTime)}, for decoders that store the parts.
+         */
+        public Builder indexedTime(long epochSecond, int nano, int offsetSeconds) {
+            if (nano < 0 || nano > 999_999_999 || Math.abs(offsetSeconds) > 18 * 3600) {
+                throw new IllegalArgumentException("Invalid indexed time: " + epochSecond + "s " + nano + "ns "
+                        + offsetSeconds + "s offset");
+            }
+            this.indexedEpochSecond = epochSecond;
+            this.indexedNano = nano;
+            this.indexedOffsetSeconds = offsetSeconds;
             return this;
         }
 
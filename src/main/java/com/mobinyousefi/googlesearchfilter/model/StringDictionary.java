@@ -0,0 +1,109 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: StringDictionary.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary encoding strings as dense int ids, so values that repeat across many results (hosts, MIME
+ * types, languages) are stored once and referenced by a 4-byte id.
+ *
+ * Ids are never reused or invalidated, which keeps encoded rows valid forever; the price is that the dictionary only
+ * grows. It is therefore capped: once {@code capacity} distinct values are known, unknown values get
+ * {@link #OVERFLOW} and callers keep the string itself. Lookups of known values are lock-free; only new values take
+ * a lock. Thread-safe.
+ */
+public final class StringDictionary {
+
+    /** Id of {@code null}. */
+    public static final int NONE = -1;
+
+    /** Returned for new values once the dictionary is full. */
+    public static final int OVERFLOW = -2;
+
+    // hosts dominate; a few hundred thousand of them cost a few tens of MB at most
+    private static final StringDictionary SHARED = new StringDictionary(1 << 18);
+
+    private final int capacity;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[64]; // written under "this", element before publication
+    private int size; // guarded by "this"
+
+    public StringDictionary(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * The JVM-wide dictionary used by {@link SearchResult}.
+     */
+    public static StringDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the id of {@code value}, {@link #NONE} for null, or {@link #OVERFLOW} if it is new and the dictionary
+     * is full
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : add(value);
+    }
+
+    /**
+     * @return the value of an id returned by {@link #encode}; null for {@link #NONE}
+     */
+    public String decode(int id) {
+        return id < 0 ? null : values[id];
+    }
+
+    /**
+     * @return the id of {@code value} if it is already known, without adding it; {@link #NONE} otherwise
+     */
+    public int lookup(String value) {
+        Integer id = value == null ? null : ids.get(value);
+        return id != null ? id : NONE;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == capacity) {
+            return OVERFLOW;
+        }
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, Math.min(capacity, current.length * 2));
+        }
+        current[size] = value;
+        values = current; // volatile write publishes the element before the id becomes visible
+        ids.put(value, size);
+        return size++;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DaemonClient.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Thin client for {@link DaemonServer}: sends one search and copies each result to the output, one JSON object per
+ * line, as the daemon streams it. It touches no JSON library, HTTP client or filter class, so a call loads little
+ * more than the JDK's socket classes and its cost is the JVM start plus a local round trip.
+ */
+public final class DaemonClient {
+
+    private static final String RESULT_PREFIX = "{\"result\":";
+    private static final String OK_PREFIX = "{\"status\":\"ok\"";
+
+    private DaemonClient() {
+    }
+
+    /**
+     * @param criteriaJson a criteria object in the {@code SearchJson} mapping, passed through as written, or null
+     * @param timeoutMs    the search time limit, or 0 for the daemon's default
+     * @return true if the search completed; false if the daemon reported an error, which is written to {@code err}
+     * @throws IOException if the daemon is not running or the connection failed
+     */
+    public static boolean search(Path socket, String query, String criteriaJson, long timeoutMs, PrintStream out,
+                                 PrintStream err) throws IOException {
+        StringBuilder request = new StringBuilder(128).append("{\"query\":");
+        appendString(request, query);
+        if (criteriaJson != null && !criteriaJson.isBlank()) {
+            request.append(",\"criteria\":").append(criteriaJson.replace('\n', ' ').replace('\r', ' '));
+        }
+        if (timeoutMs > 0) {
+            request.append(",\"timeoutMs\":").append(timeoutMs);
+        }
+        request.append("}\n");
+
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            OutputStream requestOut = Channels.newOutputStream(channel);
+            requestOut.write(request.toString().getBytes(StandardCharsets.UTF_8));
+            requestOut.flush();
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    out.println(line.substring(RESULT_PREFIX.length(), line.length() - 1));
+                } else if (line.startsWith(OK_PREFIX)) {
+                    out.flush();
+                    return true;
+                } else {
+                    out.flush();
+                    err.println("[ERROR] " + line);
+                    return false;
+                }
+            }
+        }
+        throw new IOException("The daemon closed the connection before the search completed");
+    }
+
+    private static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,461 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DaemonServer.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.server;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.exception.SearchTimeoutException;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.FilterPlan;
+import com.mobinyousefi.googlesearchfilter.service.FilteredSearchService;
+import com.mobinyousefi.googlesearchfilter.service.SearchCursor;
+import com.mobinyousefi.googlesearchfilter.util.SearchJson;
+import com.mobinyousefi.googlesearchfilter.util.Threads;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local daemon front end for {@link FilteredSearchService} on a Unix domain socket, so that scripts calling the tool
+ * many times an hour pay JVM startup, class loading, JSON and filter warm-up and the TLS handshake once, not per call:
+ * the daemon keeps the client stack, its connection pool and caches alive, and a call costs a local round trip plus
+ * the search itself.
+ *
+ * The protocol is JSON Lines both ways. A connection sends one request per line (the {@link SearchServer} request
+ * object) and may send more after the previous one finished:
+ * <pre>
+ *   {"query": "...", "criteria": {...}, "timeoutMs": 5000}
+ * </pre>
+ * and receives each result as soon as it has passed the filter, then a status line:
+ * <pre>
+ *   {"result": {...}}
+ *   {"status": "ok", "count": N, "latencyMs": M}
+ *   {"status": "error", "code": 400|502|503|504, "error": "..."}
+ * </pre>
+ * A failure after some results still ends with the error line. The socket's directory is made accessible to its
+ * owner only before the socket is created (a directory of another user open to others is refused), so criteria may
+ * name local domain list files, as on the command line. {@link DaemonClient} is the thin client;
+ * {@code nc -U} or {@code socat} work too.
+ */
+public class DaemonServer implements AutoCloseable {
+
+    private static final int MAX_REQUEST_BYTES = 64 * 1024;
+
+    private final FilteredSearchService searchService;
+    private final Path socket;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final Duration queueTimeout;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ServerSocketChannel channel;
+    private final ExecutorService executor;
+    private final Thread acceptor;
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    private DaemonServer(Builder builder) throws IOException {
+        this.searchService = builder.searchService;
+        this.socket = builder.socket.toAbsolutePath();
+        this.maxConcurrent = builder.maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.queueTimeout = builder.queueTimeout;
+        this.defaultTimeout = builder.defaultTimeout;
+        this.maxTimeout = builder.maxTimeout;
+
+        warmUp();
+        removeStaleSocket(socket);
+        this.channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            channel.bind(UnixDomainSocketAddress.of(socket));
+            try {
+                Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // not a POSIX file system: the directory's access control has to do
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.executor = Threads.newTaskExecutor("daemon-connection");
+        this.acceptor = new Thread(this::acceptLoop, "daemon-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public static Builder builder(FilteredSearchService searchService) {
+        return new Builder(searchService);
+    }
+
+    public Path getSocket() {
+        return socket;
+    }
+
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long getServedCount() {
+        return served.sum();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    /**
+     * Stops accepting connections, ends the running ones and removes the socket file.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+        executor.shutdownNow();
+        try {
+            Files.deleteIfExists(socket);
+        } catch (IOException e) {
+            System.err.println("[WARN] Could not remove daemon socket " + socket + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Daemon on " + socket + ": served=" + getServedCount() + ", shed=" + getShedCount() + ", timedOut="
+                + getTimedOutCount();
+    }
+
+    /**
+     * Exercises request parsing, criteria mapping and filter compilation once, so the first real call does not pay
+     * for their class loading and caches.
+     */
+    private void warmUp() throws IOException {
+        JsonNode request = objectMapper.readTree("{\"query\":\"warm-up\",\"criteria\":{\"maxResults\":1,"
+                + "\"domainBlacklist\":[\"example.com\"],\"fromDate\":\"2024-01-01T00:00:00Z\"}}");
+        FilterPlan.compile(SearchJson.readCriteria(request.get("criteria")));
+        StringWriter sink = new StringWriter();
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(sink)) {
+            SearchJson.writeResult(gen, SearchResult.builder().title("warm-up").link("https://example.com/")
+                    .displayLink("example.com").build());
+        }
+    }
+
+    /**
+     * Deletes a socket file left behind by a daemon that is gone; refuses to start next to one that still answers.
+     */
+    private static void removeStaleSocket(Path socket) throws IOException {
+        makePrivateDirectory(socket.toAbsolutePath().getParent());
+        if (!Files.exists(socket)) {
+            return;
+        }
+        boolean answered;
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+            answered = true;
+        } catch (IOException e) {
+            answered = false;
+        }
+        if (answered) {
+            throw new IOException("A daemon is already listening on " + socket);
+        }
+        Files.deleteIfExists(socket);
+    }
+
+    /**
+     * Makes {@code directory} accessible to its owner only, creating it if needed, so that the socket is never
+     * reachable by other users, not even between its bind and its chmod. A shared directory, one that others may
+     * write to (such as /tmp) or that belongs to another user, is refused rather than changed.
+     */
+    private static void makePrivateDirectory(Path directory) throws IOException {
+        Set<PosixFilePermission> owner = PosixFilePermissions.fromString("rwx------");
+        try {
+            if (Files.notExists(directory)) {
+                if (directory.getParent() != null) {
+                    Files.createDirectories(directory.getParent());
+                }
+                Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(owner));
+                return;
+            }
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory);
+            if (permissions.equals(owner)) {
+                return;
+            }
+            if (permissions.contains(PosixFilePermission.GROUP_WRITE)
+                    || permissions.contains(PosixFilePermission.OTHERS_WRITE)
+                    || !Files.getOwner(directory).getName().equals(System.getProperty("user.name"))) {
+                throw new IOException("Socket directory " + directory + " is shared with other users; put the socket"
+                        + " in a directory of your own");
+            }
+            Files.setPosixFilePermissions(directory, owner);
+        } catch (UnsupportedOperationException e) {
+            Files.createDirectories(directory); // not a POSIX file system: its own access control has to do
+        }
+    }
+
+    private void acceptLoop() {
+        while (channel.isOpen()) {
+            SocketChannel connection;
+            try {
+                connection = channel.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("[WARN] Daemon accept failed: " + e.getMessage());
+                continue;
+            }
+            try {
+                executor.execute(() -> serve(connection));
+            } catch (RuntimeException e) { // rejected while shutting down
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    private void serve(SocketChannel connection) {
+        try (connection;
+             InputStream in = new BufferedInputStream(Channels.newInputStream(connection), 8192);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(connection), 8192)) {
+            byte[] line;
+            while ((line = readLine(in)) != null) {
+                if (line.length > 0) {
+                    handle(line, out);
+                }
+            }
+        } catch (IOException e) {
+            // the caller went away; an open cursor was closed on the way out, which cancels its upstream fetches
+        }
+    }
+
+    private void handle(byte[] line, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        String query;
+        FilterCriteria criteria;
+        Duration timeout;
+        try {
+            if (line.length > MAX_REQUEST_BYTES) {
+                throw new IllegalArgumentException("Request exceeds " + MAX_REQUEST_BYTES + " bytes");
+            }
+            JsonNode json = objectMapper.readTree(line);
+            if (json == null || !json.isObject()) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            JsonNode queryNode = json.get("query");
+            if (queryNode == null || !queryNode.isTextual() || queryNode.asText().isBlank()) {
+                throw new IllegalArgumentException("missing \"query\"");
+            }
+            query = queryNode.asText();
+            criteria = SearchJson.readCriteria(json.get("criteria"));
+            long timeoutMs = json.hasNonNull("timeoutMs") ? json.get("timeoutMs").asLong() : defaultTimeout.toMillis();
+            if (timeoutMs <= 0) {
+                throw new IllegalArgumentException("timeoutMs must be positive");
+            }
+            timeout = Duration.ofMillis(Math.min(timeoutMs, maxTimeout.toMillis()));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            writeError(out, 400, e.getMessage());
+            return;
+        }
+
+        try {
+            if (!permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                shed.increment();
+                writeError(out, 503, "Daemon busy, " + maxConcurrent + " searches in progress");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a search slot", e);
+        }
+        try {
+            served.increment();
+            search(query, criteria, timeout, started, out);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void search(String query, FilterCriteria criteria, Duration timeout, long started, OutputStream out)
+            throws IOException {
+        int count = 0;
+        int code = 0;
+        String error = null;
+        SearchCursor cursor = null;
+        try {
+            while (true) {
+                SearchResult r;
+                try {
+                    if (cursor == null) {
+                        cursor = searchService.stream(query, criteria, timeout);
+                    }
+                    r = cursor.next();
+                } catch (SearchTimeoutException e) {
+                    timedOut.increment();
+                    code = 504;
+                    error = e.getMessage();
+                    break;
+                } catch (IllegalArgumentException e) {
+                    code = 400;
+                    error = e.getMessage();
+                    break;
+                } catch (SearchException | IOException e) {
+                    code = 502;
+                    error = e.getMessage();
+                    break;
+                }
+                if (r == null) {
+                    break;
+                }
+                writeLine(out, toResultLine(r)); // if the caller went away, this ends the connection
+                count++;
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close(); // cancels upstream fetches still in flight
+            }
+        }
+        if (error != null) {
+            writeError(out, code, error);
+        } else {
+            writeLine(out, "{\"status\":\"ok\",\"count\":" + count + ",\"latencyMs\":"
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + "}");
+        }
+    }
+
+    private String toResultLine(SearchResult r) throws IOException {
+        StringWriter buffer = new StringWriter(512);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeFieldName("result");
+            SearchJson.writeResult(gen, r);
+            gen.writeEndObject();
+        }
+        return buffer.toString();
+    }
+
+    private void writeError(OutputStream out, int code, String message) throws IOException {
+        writeLine(out, "{\"status\":\"error\",\"code\":" + code + ",\"error\":"
+                + objectMapper.writeValueAsString(message == null ? "" : message) + "}");
+    }
+
+    private static void writeLine(OutputStream out, String json) throws IOException {
+        out.write((json + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * @return the next line without its terminator, truncated past the request limit (and then rejected), or null at
+     *         the end of the stream
+     */
+    private static byte[] readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        int b;
+        while ((b = in.read()) >= 0 && b != '\n') {
+            if (line.size() <= MAX_REQUEST_BYTES) {
+                line.write(b);
+            }
+        }
+        if (b < 0 && line.size() == 0) {
+            return null;
+        }
+        return line.toByteArray();
+    }
+
+    private static void closeQuietly(SocketChannel connection) {
+        try {
+            connection.close();
+        } catch (IOException e) {
+            // nothing left to do
+        }
+    }
+
+    public static final class Builder {
+        private final FilteredSearchService searchService;
+        private Path socket = Path.of(System.getProperty("user.home"), ".google-search-filter", "daemon.sock");
+        private int maxConcurrent = 64;
+        private Duration queueTimeout = Duration.ofSeconds(1);
+        private Duration defaultTimeout = Duration.ofSeconds(10);
+        private Duration maxTimeout = Duration.ofSeconds(60);
+
+        private Builder(FilteredSearchService searchService) {
+            this.searchService = searchService;
+        }
+
+        public Builder socket(Path socket) {
+            this.socket = socket;
+            return this;
+        }
+
+        /**
+         * @param maxConcurrent searches allowed to run at once; further requests wait up to the queue timeout
+         */
+        public Builder maxConcurrent(int maxConcurrent) {
+            if (maxConcurrent <= 0) {
+                throw new IllegalArgumentException("maxConcurrent must be positive");
+            }
+            this.maxConcurrent = maxConcurrent;
+            return this;
+        }
+
+        public Builder queueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+            return this;
+        }
+
+        public Builder defaultTimeout(Duration defaultTimeout) {
+            this.defaultTimeout = defaultTimeout;
+            return this;
+        }
+
+        public Builder maxTimeout(Duration maxTimeout) {
+            this.maxTimeout = maxTimeout;
+            return this;
+        }
+
+        public DaemonServer start() throws IOException {
+            return new DaemonServer(this);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SearchServer.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.server;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.exception.SearchTimeoutException;
+import com.mobinyousefi.googlesearchfilter.metrics.MetricsEndpoint;
+import com.mobinyousefi.googlesearchfilter.metrics.MetricsRegistry;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.FilteredSearchService;
+import com.mobinyousefi.googlesearchfilter.service.SearchCursor;
+import com.mobinyousefi.googlesearchfilter.util.HttpServers;
+import com.mobinyousefi.googlesearchfilter.util.SearchJson;
+import com.mobinyousefi.googlesearchfilter.util.Threads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long-running HTTP front end for {@link FilteredSearchService}, so embedding applications share one client stack
+ * (connection pool, caches, quota limiter) instead of building a new one per call.
+ *
+ * <pre>
+ *   POST /search   {"query": "...", "criteria": {...}, "timeoutMs": 5000}
+ *   GET  /health
+ *   GET  /metrics  Prometheus text
+ * </pre>
+ * {@code criteria} uses the {@link SearchJson} mapping, without domain list files; {@code timeoutMs} (or an
+ * {@code X-Request-Timeout-Ms} header) sets the request deadline, capped at the configured maximum. The response is
+ * streamed as
+ * <pre>
+ *   {"query": "...", "results": [ ... ], "count": N, "latencyMs": M}
+ * </pre>
+ * with every result flushed as soon as it has passed the filter. Failures before the first result map to a status
+ * (400 bad request, 502 upstream failure, 504 deadline); after that the status is already sent, so the object ends
+ * with {@code "error"} and {@code "truncated": true} instead.
+ *
+ * Each exchange runs on its own (virtual, where available) thread. At most {@code maxConcurrent} searches run at once;
+ * a request that cannot get a slot within {@code queueTimeout} is shed with 503 and {@code Retry-After}.
+ *
+ * There is no authentication: whoever reaches the port searches on the configured API key and spends its quota. The
+ * server therefore listens on the loopback address unless another host is configured.
+ */
+public class SearchServer implements AutoCloseable {
+
+    public static final String SEARCH_PATH = "/search";
+    public static final String HEALTH_PATH = "/health";
+    private static final int MAX_REQUEST_BYTES = 64 * 1024;
+    private static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private final FilteredSearchService searchService;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final Duration queueTimeout;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    private SearchServer(Builder builder) throws IOException {
+        this.searchService = builder.searchService;
+        this.maxConcurrent = builder.maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.queueTimeout = builder.queueTimeout;
+        this.defaultTimeout = builder.defaultTimeout;
+        this.maxTimeout = builder.maxTimeout;
+
+        this.executor = Threads.newTaskExecutor("search-server");
+        this.server = HttpServers.create(new InetSocketAddress(builder.host, builder.port), builder.backlog);
+        server.setExecutor(executor);
+        server.createContext(SEARCH_PATH, this::handleSearch);
+        server.createContext(HEALTH_PATH, this::handleHealth);
+        server.createContext(MetricsEndpoint.PATH, new MetricsEndpoint(MetricsRegistry.global()));
+        server.start();
+    }
+
+    public static Builder builder(FilteredSearchService searchService) {
+        return new Builder(searchService);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the base URL of the bound address, e.g. {@code http://127.0.0.1:8080}
+     */
+    public String getUrl() {
+        String host = server.getAddress().getHostString();
+        return "http://" + (host.indexOf(':') >= 0 ? "[" + host + "]" : host) + ":" + getPort();
+    }
+
+    public int getActiveCount() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long getServedCount() {
+        return served.sum();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    /**
+     * Stops accepting requests and gives running ones up to {@code grace} to finish.
+     */
+    public void stop(Duration grace) {
+        server.stop((int) Math.max(0, grace.toSeconds()));
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        stop(Duration.ZERO);
+    }
+
+    @Override
+    public String toString() {
+        return "search server on " + getUrl() + ": served=" + getServedCount() + ", shed=" + getShedCount()
+                + ", timedOut=" + getTimedOutCount() + ", active=" + getActiveCount();
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try {
+            sendJson(exchange, 200, "{\"status\":\"ok\",\"active\":" + getActiveCount() + "}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        long started = System.nanoTime();
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST with a JSON body");
+                return;
+            }
+
+            SearchRequest request;
+            try {
+                request = readRequest(exchange);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            if (!permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                shed.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "Server busy, " + maxConcurrent + " searches in progress");
+                return;
+            }
+            try {
+                served.increment();
+                search(exchange, request, started);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void search(HttpExchange exchange, SearchRequest request, long started) throws IOException {
+        SearchResult first;
+        try (SearchCursor cursor = searchService.stream(request.query, request.criteria, request.timeout)) {
+            try {
+                first = cursor.next(); // fail with a proper status while we still can
+            } catch (SearchTimeoutException e) {
+                timedOut.increment();
+                sendError(exchange, 504, e.getMessage());
+                return;
+            } catch (SearchException | IOException e) {
+                sendError(exchange, 502, e.getMessage());
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, 0); // chunked
+            try (OutputStream out = exchange.getResponseBody();
+                 JsonGenerator gen = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+                gen.writeStartObject();
+                gen.writeStringField("query", request.query);
+                gen.writeArrayFieldStart("results");
+                int count = 0;
+                String error = null;
+                try {
+                    for (SearchResult r = first; r != null; r = cursor.next()) {
+                        SearchJson.writeResult(gen, r);
+                        gen.flush();
+                        count++;
+                    }
+                } catch (SearchTimeoutException e) {
+                    timedOut.increment();
+                    error = e.getMessage();
+                } catch (SearchException e) {
+                    error = e.getMessage();
+                }
+                gen.writeEndArray();
+                gen.writeNumberField("count", count);
+                gen.writeNumberField("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                if (error != null) {
+                    gen.writeStringField("error", error);
+                    gen.writeBooleanField("truncated", true);
+                }
+                gen.writeEndObject();
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (SearchException e) {
+            sendError(exchange, 502, e.getMessage());
+        }
+    }
+
+    private SearchRequest readRequest(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_REQUEST_BYTES + 1);
+        }
+        if (body.length > MAX_REQUEST_BYTES) {
+            throw new IllegalArgumentException("Request body exceeds " + MAX_REQUEST_BYTES + " bytes");
+        }
+        JsonNode json = objectMapper.readTree(body);
+        if (json == null || !json.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        JsonNode query = json.get("query");
+        if (query == null || !query.isTextual() || query.asText().isBlank()) {
+            throw new IllegalArgumentException("missing \"query\"");
+        }
+
+        long timeoutMs = defaultTimeout.toMillis();
+        String header = exchange.getRequestHeaders().getFirst(TIMEOUT_HEADER);
+        if (json.hasNonNull("timeoutMs")) {
+            timeoutMs = json.get("timeoutMs").asLong();
+        } else if (header != null) {
+            try {
+                timeoutMs = Long.parseLong(header.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + TIMEOUT_HEADER + ": " + header);
+            }
+        }
+        if (timeoutMs <= 0) {
+            throw new IllegalArgumentException("timeoutMs must be positive");
+        }
+        Duration timeout = Duration.ofMillis(Math.min(timeoutMs, maxTimeout.toMillis()));
+        FilterCriteria criteria = SearchJson.readCriteria(json.get("criteria"));
+        if (!criteria.getDomainAllowlistFiles().isEmpty() || !criteria.getDomainBlocklistFiles().isEmpty()) {
+            // paths on this host are not for remote callers to name; server-wide lists come from the configuration
+            throw new IllegalArgumentException("Domain list files are not accepted in requests");
+        }
+        return new SearchRequest(query.asText(), criteria, timeout);
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, "{\"status\":" + status + ",\"error\":"
+                + objectMapper.writeValueAsString(message == null ? "" : message) + "}");
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static final class SearchRequest {
+        final String query;
+        final FilterCriteria criteria;
+        final Duration timeout;
+
+        SearchRequest(String query, FilterCriteria criteria, Duration timeout) {
+            this.query = query;
+            this.criteria = criteria;
+            this.timeout = timeout;
+        }
+    }
+
+    public static final class Builder {
+        private final FilteredSearchService searchService;
+        private String host = "127.0.0.1";
+        private int port = 8080;
+        private int backlog = 1024;
+        private int maxConcurrent = 256;
+        private Duration queueTimeout = Duration.ofMillis(100);
+        private Duration defaultTimeout = Duration.ofSeconds(10);
+        private Duration maxTimeout = Duration.ofSeconds(60);
+
+        private Builder(FilteredSearchService searchService) {
+            this.searchService = searchService;
+        }
+
+        /**
+         * @param host address to listen on; anything but loopback exposes the API key's quota to that network
+         */
+        public Builder host(String host) {
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * @param port listening port, 0 for any free one
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * @param maxConcurrent searches allowed to run at once; further requests wait up to the queue timeout
+         */
+        public Builder maxConcurrent(int maxConcurrent) {
+            if (maxConcurrent <= 0) {
+                throw new IllegalArgumentException("maxConcurrent must be positive");
+            }
+            this.maxConcurrent = maxConcurrent;
+            return this;
+        }
+
+        public Builder queueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+            return this;
+        }
+
+        public Builder defaultTimeout(Duration defaultTimeout) {
+            this.defaultTimeout = defaultTimeout;
+            return this;
+        }
+
+        public Builder maxTimeout(Duration maxTimeout) {
+            this.maxTimeout = maxTimeout;
+            return this;
+        }
+
+        public SearchServer start() throws IOException {
+            return new SearchServer(this);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: CachingSearchClient.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory, page-level result cache in front of any {@link PagedSearchClient}.
+ *
+ * Entries are keyed on the normalized query (trimmed, lower-cased, whitespace collapsed) and the page window, expire
+ * after a fixed TTL, and are evicted least-recently-used once their estimated heap footprint exceeds the configured
+ * bound. Because caching happens per page, a search for more results reuses every page already cached for a smaller
+ * search of the same query, and a cached page also serves any narrower window starting at the same offset.
+ */
+public class CachingSearchClient implements PagedSearchClient {
+
+    private final PagedSearchClient delegate;
+    private final long ttlNanos;
+    private final long maxBytes;
+
+    // access-ordered, guarded by "this"
+    private final LinkedHashMap<PageKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingSearchClient(PagedSearchClient delegate, Duration ttl, long maxBytes) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int getMaxConcurrentPages() {
+        return delegate.getMaxConcurrentPages();
+    }
+
+    @Override
+    public boolean supportsPushdown() {
+        return delegate.supportsPushdown();
+    }
+
+    @Override
+    public CompletableFuture<List<SearchResult>> fetchPage(String query, QueryParameters parameters, int start,
+                                                           int num) {
+        PageKey key = PageKey.of(query, parameters, start);
+        List<SearchResult> cached = lookup(key, num);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+        misses.increment();
+
+        CompletableFuture<List<SearchResult>> page = delegate.fetchPage(query, parameters, start, num);
+        page.whenComplete((results, error) -> {
+            if (error == null) {
+                store(key, num, results);
+            }
+        });
+        return page;
+    }
+
+    public PagedSearchClient getDelegate() {
+        return delegate;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getEstimatedBytes() {
+        return currentBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "cache hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount()
+                + ", entries=" + size() + ", bytes=" + getEstimatedBytes();
+    }
+
+    private synchronized List<SearchResult> lookup(PageKey key, int num) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.storedAt > ttlNanos) {
+            remove(key, entry);
+            return null;
+        }
+        // a page shorter than what was asked for means the provider ran out, so it answers any larger window too
+        if (entry.num < num && entry.results.size() >= entry.num) {
+            return null;
+        }
+        return entry.results.size() > num ? entry.results.subList(0, num) : entry.results;
+    }
+
+    private synchronized void store(PageKey key, int num, List<SearchResult> results) {
+        Entry entry = new Entry(num, List.copyOf(results), System.nanoTime());
+        if (entry.bytes > maxBytes) {
+            return;
+        }
+        Entry previous = entries.get(key);
+        if (previous != null) {
+            if (previous.num > num) {
+                return; // keep the wider window
+            }
+            remove(key, previous);
+        }
+        entries.put(key, entry);
+        currentBytes += entry.bytes;
+
+        Iterator<Map.Entry<PageKey, Entry>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<PageKey, Entry> victim = eldest.next();
+            eldest.remove();
+            currentBytes -= victim.getValue().bytes;
+            evictions.increment();
+        }
+    }
+
+    private void remove(PageKey key, Entry entry) {
+        entries.remove(key);
+        currentBytes -= entry.bytes;
+    }
+
+    private static final class Entry {
+        private final int num;
+        private final List<SearchResult> results;
+        private final long storedAt;
+        private final long bytes;
+
+        Entry(int num, List<SearchResult> results, long storedAt) {
+            this.num = num;
+            this.results = results;
+            this.storedAt = storedAt;
+            this.bytes = estimateBytes(results);
+        }
+    }
+
+    /**
+     * Rough retained-heap estimate: the compact row plus the character data of its own string fields. Dictionary-
+     * encoded fields live in the shared dictionary and are not charged to any entry.
+     */
+    static long estimateBytes(List<SearchResult> results) {
+        long bytes = 128; // entry, key and list overhead
+        for (SearchResult r : results) {
+            bytes += 64 // SearchResult with its encoded fields and primitive time
+                    + stringBytes(r.getTitle()) + stringBytes(r.getLink()) + stringBytes(r.getSnippet());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String s) {
+        return s == null ? 0 : 40 + s.length();
+    }
+}
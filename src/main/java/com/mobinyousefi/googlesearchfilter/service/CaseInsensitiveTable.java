@@ -0,0 +1,113 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: CaseInsensitiveTable.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import java.util.Collection;
+
+/**
+ * Immutable open-addressing string table with case-insensitive lookup of a character range.
+ *
+ * Keys are lower-cased once at build time; lookups fold case per character, so probing a substring of a host name or
+ * MIME type never allocates.
+ */
+final class CaseInsensitiveTable {
+
+    private static final CaseInsensitiveTable EMPTY = new CaseInsensitiveTable(new String[1]);
+
+    private final String[] keys;
+    private final int mask;
+
+    private CaseInsensitiveTable(String[] keys) {
+        this.keys = keys;
+        this.mask = keys.length - 1;
+    }
+
+    static CaseInsensitiveTable of(Collection<String> values) {
+        if (values.isEmpty()) {
+            return EMPTY;
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, values.size() * 2 - 1)) << 1;
+        String[] keys = new String[capacity];
+        for (String value : values) {
+            String key = lower(value);
+            int slot = hash(key, 0, key.length()) & (capacity - 1);
+            while (keys[slot] != null && !keys[slot].equals(key)) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            keys[slot] = key;
+        }
+        return new CaseInsensitiveTable(keys);
+    }
+
+    /**
+     * @return slot of the key equal (ignoring case) to {@code s[from, to)}, or -1 if absent
+     */
+    int indexOf(CharSequence s, int from, int to) {
+        int len = to - from;
+        int slot = hash(s, from, to) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.length() == len && regionEquals(key, s, from)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    boolean contains(CharSequence s) {
+        return indexOf(s, 0, s.length()) >= 0;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    static String lower(String s) {
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            char lc = fold(c);
+            if (lc != c && sb == null) {
+                sb = new StringBuilder(s.length()).append(s, 0, i);
+            }
+            if (sb != null) {
+                sb.append(lc);
+            }
+        }
+        return sb == null ? s : sb.toString();
+    }
+
+    private static boolean regionEquals(String key, CharSequence s, int from) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != fold(s.charAt(from + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence s, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + fold(s.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+}
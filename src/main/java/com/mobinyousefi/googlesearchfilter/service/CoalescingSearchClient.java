@@ -0,0 +1,172 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: CoalescingSearchClient.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-flight {@link PagedSearchClient} decorator: concurrent fetches of the same page window (normalized query,
+ * parameters, start, num) share one upstream request.
+ *
+ * Bookkeeping is lock-free: flights live in a {@link ConcurrentHashMap} only while the upstream request is running
+ * and are removed as soon as it completes, so this never serves stale data (that is the caches' job). Every caller
+ * gets its own future; cancelling it detaches only that caller, and the upstream request is cancelled once the last
+ * waiter has gone.
+ */
+public class CoalescingSearchClient implements PagedSearchClient {
+
+    private final PagedSearchClient delegate;
+    private final ConcurrentMap<FlightKey, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder upstreamFetches = new LongAdder();
+    private final LongAdder coalescedFetches = new LongAdder();
+
+    public CoalescingSearchClient(PagedSearchClient delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    }
+
+    @Override
+    public int getMaxConcurrentPages() {
+        return delegate.getMaxConcurrentPages();
+    }
+
+    @Override
+    public boolean supportsPushdown() {
+        return delegate.supportsPushdown();
+    }
+
+    @Override
+    public CompletableFuture<List<SearchResult>> fetchPage(String query, QueryParameters parameters, int start,
+                                                           int num) {
+        FlightKey key = new FlightKey(PageKey.of(query, parameters, start), num);
+        while (true) {
+            Flight existing = inFlight.get(key);
+            if (existing != null) {
+                if (existing.join()) {
+                    coalescedFetches.increment();
+                    return existing.newWaiter();
+                }
+                inFlight.remove(key, existing); // abandoned by all its waiters, being cancelled
+                continue;
+            }
+
+            Flight flight = new Flight();
+            if (inFlight.putIfAbsent(key, flight) != null) {
+                continue; // lost the race, join the winner
+            }
+            upstreamFetches.increment();
+            flight.result.whenComplete((results, error) -> inFlight.remove(key, flight));
+            flight.start(delegate.fetchPage(query, parameters, start, num));
+            return flight.newWaiter();
+        }
+    }
+
+    public PagedSearchClient getDelegate() {
+        return delegate;
+    }
+
+    public long getUpstreamFetchCount() {
+        return upstreamFetches.sum();
+    }
+
+    public long getCoalescedFetchCount() {
+        return coalescedFetches.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public String toString() {
+        return "coalescing upstream=" + getUpstreamFetchCount() + ", coalesced=" + getCoalescedFetchCount();
+    }
+
+    private static final class Flight {
+        final CompletableFuture<List<SearchResult>> result = new CompletableFuture<>();
+        // the creator counts as the first waiter; 0 means abandoned, and a flight never comes back from 0
+        final AtomicInteger waiters = new AtomicInteger(1);
+
+        void start(CompletableFuture<List<SearchResult>> upstream) {
+            upstream.whenComplete((results, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(results);
+                }
+            });
+            result.whenComplete((results, error) -> {
+                if (result.isCancelled()) {
+                    upstream.cancel(true);
+                }
+            });
+        }
+
+        boolean join() {
+            int current;
+            do {
+                current = waiters.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        CompletableFuture<List<SearchResult>> newWaiter() {
+            CompletableFuture<List<SearchResult>> waiter = new CompletableFuture<>();
+            result.whenComplete((results, error) -> {
+                if (error != null) {
+                    waiter.completeExceptionally(error);
+                } else {
+                    waiter.complete(results);
+                }
+            });
+            waiter.whenComplete((results, error) -> {
+                if (waiter.isCancelled() && waiters.decrementAndGet() == 0) {
+                    result.cancel(true);
+                }
+            });
+            return waiter;
+        }
+    }
+
+    private static final class FlightKey {
+        private final PageKey page;
+        private final int num;
+
+        FlightKey(PageKey page, int num) {
+            this.page = page;
+            this.num = num;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FlightKey that)) return false;
+            return num == that.num && page.equals(that.page);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * page.hashCode() + num;
+        }
+    }
+}
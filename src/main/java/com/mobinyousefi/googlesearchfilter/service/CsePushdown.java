@@ -0,0 +1,164 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: CsePushdown.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits a {@link FilterCriteria} into Google CSE request parameters and the residual criteria that still have to be
+ * evaluated locally.
+ *
+ * Translated:
+ * <ul>
+ *   <li>a single whitelisted domain as {@code siteSearch} (include) unless allow list files widen it, else a single
+ *       blacklisted one (exclude); block and allow list files stay local</li>
+ *   <li>an open-ended from-date as {@code dateRestrict=dN}, a closed window as {@code sort=date:r:FROM:TO}</li>
+ *   <li>a single MIME type with a known extension as {@code fileType}</li>
+ *   <li>language codes CSE knows as {@code lr=lang_xx|lang_yy}</li>
+ *   <li>the safe flag as {@code safe=active}</li>
+ * </ul>
+ * Domains, dates, MIME types and the safe flag can be verified exactly on the returned rows, so they stay in the
+ * residual as well; the pushdown only narrows what is fetched. Languages are dropped from the residual once pushed,
+ * because the local check relies on {@code og:locale} metadata that many pages do not publish.
+ */
+public final class CsePushdown {
+
+    private static final DateTimeFormatter CSE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd", Locale.ROOT);
+
+    private static final Map<String, String> FILE_TYPES = Map.ofEntries(
+            Map.entry("application/pdf", "pdf"),
+            Map.entry("application/postscript", "ps"),
+            Map.entry("application/msword", "doc"),
+            Map.entry("application/vnd.openxmlformats-officedocument.wordprocessingml.document", "docx"),
+            Map.entry("application/vnd.ms-excel", "xls"),
+            Map.entry("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+            Map.entry("application/vnd.ms-powerpoint", "ppt"),
+            Map.entry("application/vnd.openxmlformats-officedocument.presentationml.presentation", "pptx"),
+            Map.entry("application/rtf", "rtf"),
+            Map.entry("text/plain", "txt"),
+            Map.entry("application/vnd.google-earth.kml+xml", "kml"),
+            Map.entry("application/x-shockwave-flash", "swf"));
+
+    // Languages accepted by the CSE "lr" parameter, keyed by the ISO code users type
+    private static final Map<String, String> LANGUAGES = Map.ofEntries(
+            Map.entry("ar", "lang_ar"), Map.entry("bg", "lang_bg"), Map.entry("ca", "lang_ca"),
+            Map.entry("cs", "lang_cs"), Map.entry("da", "lang_da"), Map.entry("de", "lang_de"),
+            Map.entry("el", "lang_el"), Map.entry("en", "lang_en"), Map.entry("es", "lang_es"),
+            Map.entry("et", "lang_et"), Map.entry("fi", "lang_fi"), Map.entry("fr", "lang_fr"),
+            Map.entry("hr", "lang_hr"), Map.entry("hu", "lang_hu"), Map.entry("id", "lang_id"),
+            Map.entry("is", "lang_is"), Map.entry("it", "lang_it"), Map.entry("he", "lang_iw"),
+            Map.entry("iw", "lang_iw"), Map.entry("ja", "lang_ja"), Map.entry("ko", "lang_ko"),
+            Map.entry("lt", "lang_lt"), Map.entry("lv", "lang_lv"), Map.entry("nl", "lang_nl"),
+            Map.entry("no", "lang_no"), Map.entry("nb", "lang_no"), Map.entry("pl", "lang_pl"),
+            Map.entry("pt", "lang_pt"), Map.entry("ro", "lang_ro"), Map.entry("ru", "lang_ru"),
+            Map.entry("sk", "lang_sk"), Map.entry("sl", "lang_sl"), Map.entry("sr", "lang_sr"),
+            Map.entry("sv", "lang_sv"), Map.entry("tr", "lang_tr"), Map.entry("zh-cn", "lang_zh-CN"),
+            Map.entry("zh_cn", "lang_zh-CN"), Map.entry("zh-tw", "lang_zh-TW"), Map.entry("zh_tw", "lang_zh-TW"));
+
+    private final QueryParameters parameters;
+    private final FilterCriteria residual;
+
+    private CsePushdown(QueryParameters parameters, FilterCriteria residual) {
+        this.parameters = parameters;
+        this.residual = residual;
+    }
+
+    /**
+     * Pushes nothing: every criterion is evaluated locally.
+     */
+    public static CsePushdown none(FilterCriteria criteria) {
+        return new CsePushdown(QueryParameters.EMPTY, criteria);
+    }
+
+    public static CsePushdown of(FilterCriteria criteria) {
+        return of(criteria, Clock.systemUTC());
+    }
+
+    static CsePushdown of(FilterCriteria criteria, Clock clock) {
+        QueryParameters params = QueryParameters.EMPTY;
+        FilterCriteria residual = criteria.copy();
+
+        Set<String> whitelist = criteria.getDomainWhitelist();
+        Set<String> blacklist = criteria.getDomainBlacklist();
+        if (whitelist.size() == 1 && criteria.getDomainAllowlistFiles().isEmpty()) {
+            params = params.with("siteSearch", whitelist.iterator().next()).with("siteSearchFilter", "i");
+        } else if (whitelist.isEmpty() && blacklist.size() == 1) {
+            params = params.with("siteSearch", blacklist.iterator().next()).with("siteSearchFilter", "e");
+        }
+
+        OffsetDateTime from = criteria.getFromDate();
+        OffsetDateTime to = criteria.getToDate();
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        if (from != null && to != null && !to.isBefore(from)) {
+            params = params.with("sort", "date:r:" + CSE_DATE.format(from.withOffsetSameInstant(ZoneOffset.UTC))
+                    + ":" + CSE_DATE.format(to.withOffsetSameInstant(ZoneOffset.UTC)));
+        } else if (from != null && to == null && from.isBefore(now)) {
+            // whole days, rounded up so the window never starts after the requested from-date
+            long days = Math.max(1, (Duration.between(from, now).toHours() + 23) / 24);
+            params = params.with("dateRestrict", "d" + days);
+        }
+
+        if (criteria.getMimeTypes().size() == 1) {
+            String fileType = FILE_TYPES.get(criteria.getMimeTypes().iterator().next().toLowerCase(Locale.ROOT));
+            if (fileType != null) {
+                params = params.with("fileType", fileType);
+            }
+        }
+
+        if (!criteria.getLanguageCodes().isEmpty()) {
+            List<String> lr = new ArrayList<>();
+            for (String code : criteria.getLanguageCodes()) {
+                String lang = LANGUAGES.get(code.toLowerCase(Locale.ROOT));
+                if (lang == null) {
+                    lr = null; // one code CSE cannot express: leave the whole language filter local
+                    break;
+                }
+                if (!lr.contains(lang)) {
+                    lr.add(lang);
+                }
+            }
+            if (lr != null) {
+                lr.sort(null);
+                params = params.with("lr", String.join("|", lr));
+                residual.getLanguageCodes().clear();
+            }
+        }
+
+        if (criteria.isSafeOnly()) {
+            params = params.with("safe", "active");
+        }
+
+        return new CsePushdown(params, residual);
+    }
+
+    public QueryParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the criteria left to evaluate locally on returned rows
+     */
+    public FilterCriteria getResidual() {
+        return residual;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: CseResponseParser.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.mobinyousefi.googlesearchfilter.metrics.SearchMetrics;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.util.DateParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-streaming parser for Google Custom Search JSON responses.
+ *
+ * Only the handful of fields we map into {@link SearchResult} are materialized; every other subtree (most of
+ * {@code pagemap}, {@code queries}, {@code context}, ...) is skipped at the token level without building a tree.
+ * Metadata dates go through a {@link DateParser}, so offset-less, date-only and RFC 1123 values are kept as well.
+ * Instances are thread-safe and meant to be shared.
+ */
+public final class CseResponseParser {
+
+    /**
+     * CSE partial-response projection ({@code fields=} parameter) covering exactly what this parser reads; keep the
+     * two in sync. Requests carrying it skip most of each item on the server instead of on our side.
+     */
+    public static final String FIELDS = "items(title,link,displayLink,snippet,mime,fileFormat,pagemap/metatags)";
+
+    private final JsonFactory jsonFactory;
+    private final DateParser dateParser = new DateParser();
+
+    public CseResponseParser() {
+        this(new JsonFactory());
+    }
+
+    public CseResponseParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public List<SearchResult> parse(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            return parse(parser);
+        }
+    }
+
+    public List<SearchResult> parse(byte[] json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return parse(parser);
+        }
+    }
+
+    private List<SearchResult> parse(JsonParser parser) throws IOException {
+        List<SearchResult> results = new ArrayList<>();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return results;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        results.add(parseItem(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return results;
+    }
+
+    private SearchResult parseItem(JsonParser parser) throws IOException {
+        SearchResult.Builder builder = SearchResult.builder();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "title" -> builder.title(textOrNull(parser));
+                case "link" -> builder.link(textOrNull(parser));
+                case "displayLink" -> builder.displayLink(textOrNull(parser));
+                case "snippet" -> builder.snippet(textOrNull(parser));
+                case "mime" -> builder.mimeType(scalarText(parser));
+                case "fileFormat" -> builder.fileFormat(scalarText(parser));
+                case "pagemap" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        parsePagemap(parser, builder);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        // CSE does not expose a direct "safe" flag here; we assume safe search is configured in the engine.
+        builder.safe(true);
+        return builder.build();
+    }
+
+    private void parsePagemap(JsonParser parser, SearchResult.Builder builder) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("metatags".equals(field) && value == JsonToken.START_ARRAY) {
+                // only the first metatags entry is consulted; the rest are skipped unread
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parseMetatags(parser, builder);
+                } else {
+                    parser.skipChildren();
+                }
+                while (parser.currentToken() != JsonToken.END_ARRAY && parser.nextToken() != JsonToken.END_ARRAY) {
+                    parser.skipChildren();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseMetatags(JsonParser parser, SearchResult.Builder builder) throws IOException {
+        String publishedTime = null;
+        String updatedTime = null;
+        String date = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "article:published_time" -> publishedTime = textOrNull(parser);
+                case "og:updated_time" -> updatedTime = textOrNull(parser);
+                case "date" -> date = textOrNull(parser);
+                case "og:locale" -> {
+                    String lang = textOrNull(parser);
+                    if (lang != null) {
+                        builder.languageCode(lang);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        // try to infer date, keys in order of preference
+        if (publishedTime != null || updatedTime != null || date != null) {
+            long start = System.nanoTime();
+            builder.indexedTime(dateParser.parseFirst(publishedTime, updatedTime, date));
+            SearchMetrics.PARSE_DATE.recordSince(start);
+        }
+    }
+
+    private static String textOrNull(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Mirrors {@code JsonNode.asText()}: scalars are rendered as text, containers yield an empty string.
+     */
+    private static String scalarText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return "null";
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return "";
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DiskCachingSearchClient.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PagedSearchClient} decorator that serves pages from a {@link DiskResultStore} and writes through every page
+ * fetched from the delegate. The store is a cache: if it fails, the page is simply fetched (or not stored) and a
+ * warning is printed, the search itself never fails because of it.
+ */
+public class DiskCachingSearchClient implements PagedSearchClient {
+
+    private final PagedSearchClient delegate;
+    private final DiskResultStore store;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DiskCachingSearchClient(PagedSearchClient delegate, DiskResultStore store) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.store = Objects.requireNonNull(store, "store must not be null");
+    }
+
+    @Override
+    public int getMaxConcurrentPages() {
+        return delegate.getMaxConcurrentPages();
+    }
+
+    @Override
+    public boolean supportsPushdown() {
+        return delegate.supportsPushdown();
+    }
+
+    @Override
+    public CompletableFuture<List<SearchResult>> fetchPage(String query, QueryParameters parameters, int start,
+                                                           int num) {
+        PageKey key = PageKey.of(query, parameters, start);
+        try {
+            List<SearchResult> cached = store.get(key, num);
+            if (cached != null) {
+                hits.increment();
+                return CompletableFuture.completedFuture(cached);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[WARN] Result store read failed for " + key + ": " + e.getMessage());
+        }
+        misses.increment();
+
+        CompletableFuture<List<SearchResult>> page = delegate.fetchPage(query, parameters, start, num);
+        page.whenComplete((results, error) -> {
+            if (error != null) {
+                return;
+            }
+            try {
+                store.put(key, num, results);
+            } catch (IOException e) {
+                System.err.println("[WARN] Result store write failed for " + key + ": " + e.getMessage());
+            }
+        });
+        return page;
+    }
+
+    public PagedSearchClient getDelegate() {
+        return delegate;
+    }
+
+    public DiskResultStore getStore() {
+        return store;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "disk cache hits=" + getHitCount() + ", misses=" + getMissCount() + ", entries=" + store.size()
+                + ", segments=" + store.segmentCount();
+    }
+}
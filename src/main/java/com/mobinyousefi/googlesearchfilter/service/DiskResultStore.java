@@ -0,0 +1,603 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DiskResultStore.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent store for pages of {@link SearchResult}, so that cached queries survive JVM restarts.
+ *
+ * Layout: a directory of append-only segment files ({@code segment-<id>.log}). Each record is
+ * {@code [int length][int crc32][payload]}, the payload being a compact binary encoding of one page. An in-memory
+ * index maps every page key to the location of its newest record and is rebuilt by scanning the segments on open
+ * (a torn tail left by a crash is truncated). Reads go through read-only memory mappings of the segments, so a warm
+ * start decodes pages straight from the page cache without any JSON parsing.
+ *
+ * Records carry an absolute expiry. Expired and superseded records are dropped by compaction, which runs in the
+ * background and rewrites sealed segments whose live ratio has fallen below one half. It copies their live records
+ * without holding the store's monitor, so reads and writes go on meanwhile; only the switch to the copies is locked.
+ *
+ * One process at a time: a lock file keeps other processes from opening the same directory.
+ */
+public final class DiskResultStore implements Closeable {
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 8; // length + crc
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMPACTION_SUFFIX = ".compact";
+
+    private static final byte FLAG_SAFE = 1;
+    private static final byte FLAG_HAS_TIME = 2;
+
+    private final Path directory;
+    private final long ttlMillis;
+    private final long segmentBytes;
+    private final FileChannel lockChannel;
+    private final ScheduledExecutorService compactor;
+    private final Object compactionLock = new Object(); // one compaction at a time
+
+    // all state below guarded by "this"
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<PageKey, Location> index = new HashMap<>();
+    private Segment active;
+    private boolean closed;
+
+    private DiskResultStore(Path directory, Duration ttl, long segmentBytes, Duration compactionInterval,
+                            FileChannel lockChannel) throws IOException {
+        this.directory = directory;
+        this.ttlMillis = ttl.toMillis();
+        this.segmentBytes = segmentBytes;
+        this.lockChannel = lockChannel;
+
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, "*" + COMPACTION_SUFFIX)) {
+            for (Path file : leftovers) {
+                Files.delete(file); // an interrupted compaction; the segments it was copying are still there
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(id, new Segment(id, file));
+            }
+        }
+        for (Segment segment : segments.values()) {
+            recover(segment);
+        }
+        active = segments.isEmpty() ? newSegment(1) : segments.lastEntry().getValue();
+
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disk-result-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                System.err.println("[WARN] Result store compaction failed: " + e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static DiskResultStore open(Path directory, Duration ttl, long segmentBytes, Duration compactionInterval)
+            throws IOException {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        if (segmentBytes <= HEADER_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentBytes out of range: " + segmentBytes);
+        }
+        if (compactionInterval.isNegative() || compactionInterval.isZero()) {
+            throw new IllegalArgumentException("compactionInterval must be positive");
+        }
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve("store.lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException("Result store " + directory + " is already open");
+            }
+            return new DiskResultStore(directory, ttl, segmentBytes, compactionInterval, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the cached page covering {@code [start, start + num)}, or null if absent or expired
+     */
+    List<SearchResult> get(PageKey key, int num) throws IOException {
+        ByteBuffer record;
+        synchronized (this) {
+            ensureOpen();
+            Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            if (location.expiresAt <= System.currentTimeMillis()) {
+                drop(key, location);
+                return null;
+            }
+            // a page shorter than what was asked for means the provider ran out, so it answers any larger window too
+            if (location.num < num && location.count >= location.num) {
+                return null;
+            }
+            record = location.segment.slice(location.offset, location.length);
+        }
+        List<SearchResult> results = decode(record).results;
+        return results.size() > num ? results.subList(0, num) : results;
+    }
+
+    void put(PageKey key, int num, List<SearchResult> results) throws IOException {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        byte[] payload = encode(key, num, results, expiresAt);
+        synchronized (this) {
+            ensureOpen();
+            Location previous = index.get(key);
+            if (previous != null && previous.num > num && previous.expiresAt > System.currentTimeMillis()) {
+                return; // keep the wider window
+            }
+            Location location = append(payload, num, results.size(), expiresAt);
+            if (previous != null) {
+                previous.segment.liveBytes -= previous.length;
+            }
+            index.put(key, location);
+        }
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Drops expired entries and rewrites every sealed segment that is less than half live. Consecutive victims are
+     * packed into one new segment of up to {@code segmentBytes}, which takes the place of the newest of them: records
+     * are replayed in segment order on open, so the copies still come before anything written later.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            List<Segment> victims = new ArrayList<>();
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                for (Iterator<Map.Entry<PageKey, Location>> it = index.entrySet().iterator(); it.hasNext(); ) {
+                    Location location = it.next().getValue();
+                    if (location.expiresAt <= now) {
+                        location.segment.liveBytes -= location.length;
+                        it.remove();
+                    }
+                }
+                for (Segment segment : segments.values()) {
+                    if (segment != active && segment.liveBytes * 2 < segment.size) {
+                        victims.add(segment);
+                    }
+                }
+            }
+
+            List<Segment> group = new ArrayList<>();
+            long groupBytes = 0;
+            for (Segment victim : victims) {
+                long live;
+                synchronized (this) {
+                    live = victim.liveBytes;
+                }
+                if (!group.isEmpty() && groupBytes + live > segmentBytes) {
+                    rewrite(group);
+                    group.clear();
+                    groupBytes = 0;
+                }
+                group.add(victim);
+                groupBytes += live;
+            }
+            if (!group.isEmpty()) {
+                rewrite(group);
+            }
+        }
+    }
+
+    /**
+     * Copies the live records of sealed segments into one new segment and switches the index over to it. Records
+     * superseded or expired while copying are left behind as dead bytes of the new segment.
+     */
+    private void rewrite(List<Segment> victims) throws IOException {
+        List<Map.Entry<PageKey, Location>> live = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            for (Map.Entry<PageKey, Location> entry : index.entrySet()) {
+                if (victims.contains(entry.getValue().segment)) {
+                    live.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+            if (live.isEmpty()) {
+                for (Segment victim : victims) {
+                    segments.remove(victim.id);
+                    victim.close();
+                    Files.deleteIfExists(victim.file);
+                }
+                return;
+            }
+        }
+
+        // victims are sealed, so their contents no longer change: copy without the monitor
+        Segment newest = victims.get(victims.size() - 1);
+        Path target = segmentFile(newest.id);
+        Path temporary = directory.resolve(target.getFileName() + COMPACTION_SUFFIX);
+        long[] offsets = new long[live.size()];
+        long size = 0;
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            Map<Segment, ByteBuffer> mappings = new HashMap<>();
+            for (int i = 0; i < live.size(); i++) {
+                Location location = live.get(i).getValue();
+                ByteBuffer mapping = mappings.get(location.segment);
+                if (mapping == null) {
+                    mapping = location.segment.channel.map(FileChannel.MapMode.READ_ONLY, 0, location.segment.size);
+                    mappings.put(location.segment, mapping);
+                }
+                ByteBuffer record = mapping.duplicate().position((int) location.offset)
+                        .limit((int) location.offset + location.length);
+                offsets[i] = size;
+                while (record.hasRemaining()) {
+                    size += out.write(record, size);
+                }
+            }
+            out.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                Files.deleteIfExists(temporary);
+                return;
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Segment victim : victims) {
+                segments.remove(victim.id);
+                victim.close();
+                if (victim != newest) {
+                    Files.deleteIfExists(victim.file);
+                }
+            }
+            Segment replacement = new Segment(newest.id, target);
+            replacement.size = size;
+            segments.put(replacement.id, replacement);
+            for (int i = 0; i < live.size(); i++) {
+                Map.Entry<PageKey, Location> entry = live.get(i);
+                Location old = entry.getValue();
+                if (index.get(entry.getKey()) == old) {
+                    index.put(entry.getKey(), new Location(replacement, offsets[i], old.length, old.num, old.count,
+                            old.expiresAt));
+                    replacement.liveBytes += old.length;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdownNow();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            lockChannel.close(); // releases the lock
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------
+    // segment management (callers hold the monitor)
+
+    private Location append(byte[] payload, int num, int count, long expiresAt) throws IOException {
+        int length = HEADER_BYTES + payload.length;
+        if (active.size > 0 && active.size + length > segmentBytes) {
+            active = newSegment(active.id + 1);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(length).putInt((int) crc.getValue()).put(payload).flip();
+
+        long offset = active.size;
+        while (buffer.hasRemaining()) {
+            active.channel.write(buffer, active.size + buffer.position());
+        }
+        active.size += length;
+        active.liveBytes += length;
+        return new Location(active, offset, length, num, count, expiresAt);
+    }
+
+    private Segment newSegment(long id) throws IOException {
+        Segment segment = new Segment(id, segmentFile(id));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private Path segmentFile(long id) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private void recover(Segment segment) throws IOException {
+        long fileSize = segment.channel.size();
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (offset + HEADER_BYTES <= fileSize) {
+            header.clear();
+            segment.channel.read(header, offset);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length <= HEADER_BYTES || offset + length > fileSize) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length - HEADER_BYTES);
+            segment.channel.read(payload, offset + HEADER_BYTES);
+            CRC32 actual = new CRC32();
+            actual.update(payload.array());
+            if ((int) actual.getValue() != crc) {
+                break;
+            }
+
+            if (payload.get(0) != FORMAT_VERSION) {
+                offset += length; // written by an older release; never indexed, reclaimed by compaction
+                continue;
+            }
+            Decoded decoded = decodeHeader(payload.flip());
+            Location location = new Location(segment, offset, length, decoded.num, decoded.count, decoded.expiresAt);
+            Location previous = index.put(decoded.key, location);
+            if (previous != null) {
+                previous.segment.liveBytes -= previous.length;
+            }
+            segment.liveBytes += length;
+            offset += length;
+        }
+        if (offset < fileSize) {
+            segment.channel.truncate(offset); // torn or corrupt tail from an interrupted write
+        }
+        segment.size = offset;
+    }
+
+    private void drop(PageKey key, Location location) {
+        index.remove(key);
+        location.segment.liveBytes -= location.length;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Result store is closed: " + directory);
+        }
+    }
+
+    private static final class Segment {
+        final long id;
+        final Path file;
+        final FileChannel channel;
+        long size;
+        long liveBytes;
+        private MappedByteBuffer mapping;
+
+        Segment(long id, Path file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+
+        /**
+         * Returns an independent view of one record, remapping when the segment has grown past the current mapping.
+         */
+        ByteBuffer slice(long offset, int length) throws IOException {
+            if (mapping == null || mapping.capacity() < offset + length) {
+                mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            return mapping.duplicate().position((int) offset).limit((int) offset + length).slice();
+        }
+
+        void close() throws IOException {
+            mapping = null;
+            channel.close();
+        }
+    }
+
+    private static final class Location {
+        final Segment segment;
+        final long offset;
+        final int length;
+        final int num;
+        final int count;
+        final long expiresAt;
+
+        Location(Segment segment, long offset, int length, int num, int count, long expiresAt) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.num = num;
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------------------
+    // record codec
+
+    private static byte[] encode(PageKey key, int num, List<SearchResult> results, long expiresAt) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + results.size() * 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(FORMAT_VERSION);
+        out.writeLong(expiresAt);
+        writeString(out, key.getQuery());
+        writeString(out, key.getParameters().toQueryString());
+        out.writeInt(key.getStart());
+        out.writeInt(num);
+        out.writeInt(results.size());
+        for (SearchResult r : results) {
+            out.writeByte((r.isSafe() ? FLAG_SAFE : 0) | (r.hasIndexedTime() ? FLAG_HAS_TIME : 0));
+            writeString(out, r.getTitle());
+            writeString(out, r.getLink());
+            writeString(out, r.getDisplayLink());
+            writeString(out, r.getSnippet());
+            writeString(out, r.getMimeType());
+            writeString(out, r.getFileFormat());
+            writeString(out, r.getLanguageCode());
+            if (r.hasIndexedTime()) {
+                out.writeLong(r.getIndexedEpochSecond());
+                out.writeInt(r.getIndexedNano());
+                out.writeInt(r.getIndexedOffsetSeconds());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Nullable UTF-8 string: varint of (byte length + 1), 0 meaning null, followed by the bytes.
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeByte(0);
+            return;
+        }
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        int v = utf8.length + 1;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+        out.write(utf8);
+    }
+
+    private static final class Decoded {
+        PageKey key;
+        int num;
+        int count;
+        long expiresAt;
+        ByteBuffer body;
+        List<SearchResult> results;
+    }
+
+    private static Decoded decode(ByteBuffer record) throws IOException {
+        Decoded decoded = decodeHeader(record.position(HEADER_BYTES).slice());
+        ByteBuffer in = decoded.body;
+        List<SearchResult> results = new ArrayList<>(decoded.count);
+        for (int i = 0; i < decoded.count; i++) {
+            byte flags = in.get();
+            SearchResult.Builder builder = SearchResult.builder()
+                    .title(readString(in))
+                    .link(readString(in))
+                    .displayLink(readString(in))
+                    .snippet(readString(in))
+                    .mimeType(readString(in))
+                    .fileFormat(readString(in))
+                    .languageCode(readString(in))
+                    .safe((flags & FLAG_SAFE) != 0);
+            if ((flags & FLAG_HAS_TIME) != 0) {
+                long epochSecond = in.getLong();
+                int nano = in.getInt();
+                builder.indexedTime(epochSecond, nano, in.getInt());
+            }
+            results.add(builder.build());
+        }
+        decoded.results = List.copyOf(results);
+        return decoded;
+    }
+
+    private static Decoded decodeHeader(ByteBuffer payload) throws IOException {
+        // reads the fixed record prefix only; the position is left at the first result
+        if (payload.get() != FORMAT_VERSION) {
+            throw new IOException("Unsupported result store record version");
+        }
+        Decoded decoded = new Decoded();
+        decoded.expiresAt = payload.getLong();
+        String query = readString(payload);
+        QueryParameters parameters = QueryParameters.parse(readString(payload));
+        decoded.key = new PageKey(query, parameters, payload.getInt());
+        decoded.num = payload.getInt();
+        decoded.count = payload.getInt();
+        decoded.body = payload;
+        return decoded;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            v |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        if (v == 0) {
+            return null;
+        }
+        int length = v - 1;
+        String s;
+        if (in.hasArray()) {
+            s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] utf8 = new byte[length];
+            in.get(utf8);
+            s = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,605 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DomainList.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.IDN;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A large domain block or allow list, compiled from a text file into a memory-mapped sorted array, so that millions of
+ * entries load instantly, cost little more than their text, and are shared through the page cache.
+ *
+ * Entries are stored as reversed labels with a trailing dot ({@code www.example.com} becomes
+ * {@code com.example.www.}), where a domain and all its sub-domains share a byte prefix. Entries covered by a shorter
+ * one are dropped while compiling, which leaves no entry between a match and the host it matches: a host is listed
+ * exactly when the greatest entry not above its reversed form is a prefix of it, found with one binary search. The
+ * sorted entries are front-coded in blocks of {@value #BLOCK_SIZE} (each stores only what differs from its
+ * predecessor), with the first entry of each block written out in full. The binary search runs over the first eight
+ * bytes of those entries, copied to the heap on opening (half a byte per entry) so that it stays in the CPU caches,
+ * and only reads full entries when prefixes tie.
+ *
+ * Source files may be plain domain lists, hosts files ({@code 0.0.0.0 evil.example}), adblock-style domain rules
+ * ({@code ||evil.example^}) or URL lists; {@code #} and {@code !} start comments. Unparseable lines are skipped and
+ * counted. With a {@link PublicSuffixList}, entries that are public suffixes can be skipped, so that listing
+ * {@code blogspot.com} cannot block every blog, and entries can be widened to their registrable domain, so that
+ * {@code login.evil.co.uk} covers {@code evil.co.uk} but never {@code co.uk}.
+ *
+ * Compiled lists are immutable and thread-safe; lookups allocate nothing.
+ */
+public final class DomainList {
+
+    static final int BLOCK_SIZE = 16;
+    private static final int MAGIC = 0x4753444c; // "GSDL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAX_HOST_LENGTH = 253;
+    private static final ThreadLocal<byte[]> KEYS = ThreadLocal.withInitial(() -> new byte[MAX_HOST_LENGTH + 2]);
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int blockCount;
+    private final int blocksStart;
+    private final long[] prefixes; // of the blocks' first entries
+    private final long skipped;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final long options;
+
+    private DomainList(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a compiled domain list of a supported version: " + file);
+        }
+        this.count = buffer.getInt(8);
+        this.blockCount = buffer.getInt(12);
+        this.blocksStart = buffer.getInt(16);
+        this.skipped = buffer.getLong(24);
+        this.sourceSize = buffer.getLong(32);
+        this.sourceModified = buffer.getLong(40);
+        this.options = buffer.getLong(48);
+        if (blocksStart < HEADER_BYTES
+                || (long) blocksStart + (long) blockCount * (Integer.BYTES + Long.BYTES) != buffer.capacity()
+                || blockCount != (count + BLOCK_SIZE - 1) / BLOCK_SIZE) {
+            throw new IOException("Corrupt compiled domain list: " + file);
+        }
+        this.prefixes = new long[blockCount];
+        buffer.slice(blocksStart + blockCount * Integer.BYTES, blockCount * Long.BYTES).asLongBuffer().get(prefixes);
+    }
+
+    /**
+     * Compiles {@code source} into {@code target}, replacing it atomically, and opens the result.
+     *
+     * @param suffixes            public suffix rules for the two options below
+     * @param skipPublicSuffixes  drop entries that are public suffixes, which would cover unrelated owners
+     * @param registrableDomains  widen every entry to its registrable domain, so it covers the whole site
+     * @param options             stored with the list, for the caller to tell whether it was compiled the same way
+     */
+    public static DomainList compile(Path source, Path target, PublicSuffixList suffixes, boolean skipPublicSuffixes,
+                                     boolean registrableDomains, long options) throws IOException {
+        long sourceSize = Files.size(source);
+        long sourceModified = Files.getLastModifiedTime(source).toMillis();
+
+        // reversed entries, packed into one array: no two-objects-per-entry heap cost for multi-million lists
+        byte[] pool = new byte[(int) Math.min(Integer.MAX_VALUE - 16, sourceSize + MAX_HOST_LENGTH + 2)];
+        int[] starts = new int[1024];
+        int entries = 0;
+        int used = 0;
+        long skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String domain = parseLine(line);
+                if (domain == null) {
+                    if (!isComment(line)) {
+                        skipped++;
+                    }
+                    continue;
+                }
+                if (skipPublicSuffixes && suffixes.isPublicSuffix(domain)) {
+                    skipped++;
+                    continue;
+                }
+                if (registrableDomains) {
+                    String site = suffixes.registrableDomain(domain);
+                    domain = site != null ? site : domain;
+                }
+                if (entries + 1 == starts.length) {
+                    starts = Arrays.copyOf(starts, starts.length * 2);
+                }
+                if (pool.length - used < domain.length() + 1) {
+                    pool = Arrays.copyOf(pool, (int) Math.min(Integer.MAX_VALUE - 16, pool.length * 2L));
+                    if (pool.length - used < domain.length() + 1) {
+                        throw new IOException("Domain list too large to compile: " + source);
+                    }
+                }
+                starts[entries++] = used;
+                used = reverse(domain, pool, used);
+            }
+        }
+        starts[entries] = used;
+
+        int[] order = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            order[i] = i;
+        }
+        sort(order, 0, entries, 0, pool, starts);
+
+        Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            int kept = 0;
+            int[] blocks = new int[16];
+            long[] prefixes = new long[16];
+            long position = HEADER_BYTES;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp),
+                    1 << 16))) {
+                out.write(new byte[HEADER_BYTES]);
+                int previous = -1;
+                for (int id : order) {
+                    int start = starts[id];
+                    int length = starts[id + 1] - start;
+                    int shared = 0;
+                    if (previous >= 0) {
+                        int previousStart = starts[previous];
+                        int previousLength = starts[previous + 1] - previousStart;
+                        shared = Arrays.mismatch(pool, previousStart, previousStart + previousLength,
+                                pool, start, start + length);
+                        if (shared < 0 || shared == previousLength) {
+                            continue; // a repeat, or a sub-domain of the previous entry
+                        }
+                    }
+                    if (kept % BLOCK_SIZE == 0) {
+                        if (position > Integer.MAX_VALUE - 1024) {
+                            throw new IOException("Domain list too large to compile: " + source);
+                        }
+                        if (kept / BLOCK_SIZE == blocks.length) {
+                            blocks = Arrays.copyOf(blocks, blocks.length * 2);
+                            prefixes = Arrays.copyOf(prefixes, prefixes.length * 2);
+                        }
+                        blocks[kept / BLOCK_SIZE] = (int) position;
+                        prefixes[kept / BLOCK_SIZE] = prefix(pool, start, length);
+                        shared = 0;
+                    }
+                    position += writeVarint(out, shared) + writeVarint(out, length - shared) + length - shared;
+                    out.write(pool, start + shared, length - shared);
+                    previous = id;
+                    kept++;
+                }
+                int blockCount = (kept + BLOCK_SIZE - 1) / BLOCK_SIZE;
+                for (int b = 0; b < blockCount; b++) {
+                    out.writeInt(blocks[b]);
+                }
+                for (int b = 0; b < blockCount; b++) {
+                    out.writeLong(prefixes[b]);
+                }
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(8, kept);
+                header.putInt(12, blockCount);
+                header.putInt(16, (int) position);
+                header.putLong(24, skipped);
+                header.putLong(32, sourceSize);
+                header.putLong(40, sourceModified);
+                header.putLong(48, options);
+                out.flush();
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    channel.write(header, 0);
+                    channel.force(true);
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return open(target);
+    }
+
+    public static DomainList open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt compiled domain list: " + file);
+            }
+            return new DomainList(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return true if {@code host} equals, or is a sub-domain of, an entry
+     */
+    public boolean matches(String host) {
+        if (count == 0 || host == null) {
+            return false;
+        }
+        byte[] key = KEYS.get();
+        int keyLength = key(host, key);
+        if (keyLength < 0) {
+            return false;
+        }
+
+        // the last block whose first entry is not above the key holds the predecessor, if any
+        long keyPrefix = prefix(key, 0, keyLength);
+        int block = lastBlockWithPrefixAtMost(keyPrefix, blockCount - 1);
+        if (block >= 0 && prefixAt(block) == keyPrefix) {
+            // tied prefixes: among the blocks sharing it, compare the full first entries
+            int lo = lastBlockWithPrefixAtMost(keyPrefix - 1, block) + 1;
+            int hi = block;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compareFirst(mid, key, keyLength) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            block = hi;
+        }
+        if (block < 0) {
+            return false;
+        }
+
+        // scan the block, tracking how much of the key the current entry shares (lcp), without decoding entries
+        int position = buffer.getInt(blocksStart + block * Integer.BYTES);
+        int n = Math.min(BLOCK_SIZE, count - block * BLOCK_SIZE);
+        int lcp = 0;
+        int predecessorLength = -1;
+        int predecessorLcp = 0;
+        for (int e = 0; e < n; e++) {
+            int shared = readVarint(position);
+            position += varintSize(shared);
+            int suffixLength = readVarint(position);
+            position += varintSize(suffixLength);
+            if (e > 0 && shared != lcp) {
+                if (shared < lcp) {
+                    break; // differs from the key where the previous entry still matched it, upwards
+                }
+                // agrees with the previous entry beyond where that one left the key: also below the key
+                predecessorLength = shared + suffixLength;
+                predecessorLcp = lcp;
+                position += suffixLength;
+                continue;
+            }
+            int m = lcp;
+            int i = 0;
+            while (i < suffixLength && m < keyLength && buffer.get(position + i) == key[m]) {
+                i++;
+                m++;
+            }
+            if (i < suffixLength && (m == keyLength || (buffer.get(position + i) & 0xff) > (key[m] & 0xff))) {
+                break; // above the key
+            }
+            lcp = m;
+            predecessorLength = shared + suffixLength;
+            predecessorLcp = m;
+            position += suffixLength;
+        }
+        return predecessorLength > 0 && predecessorLcp == predecessorLength;
+    }
+
+    /**
+     * @return entries after dropping repeats and sub-domains of other entries
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return source lines that were neither entries nor comments, or were public suffixes when those are skipped
+     */
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    public long sizeInBytes() {
+        return buffer.capacity();
+    }
+
+    long getSourceSize() {
+        return sourceSize;
+    }
+
+    long getSourceModified() {
+        return sourceModified;
+    }
+
+    long getOptions() {
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return "domain list " + file.getFileName() + ": " + count + " entries, " + skipped + " skipped, "
+                + sizeInBytes() / 1024 + " KiB";
+    }
+
+    /**
+     * @return the normalized domain of a source line, or null if it holds none
+     */
+    static String parseLine(String line) {
+        if (isHostName(line)) {
+            return line; // already a plain, normalized domain: the bulk of large feeds
+        }
+        String s = line.strip();
+        int comment = s.indexOf('#');
+        if (comment >= 0) {
+            s = s.substring(0, comment).strip();
+        }
+        if (s.isEmpty() || s.startsWith("!") || s.startsWith("[")) {
+            return null;
+        }
+        String[] words = s.split("\\s+");
+        s = words.length > 1 && isAddress(words[0]) ? words[1] : words[0]; // hosts file: address, then name
+        if (s.startsWith("||")) {
+            s = s.substring(2);
+        }
+        int scheme = s.indexOf("://");
+        if (scheme >= 0) {
+            s = s.substring(scheme + 3);
+        }
+        int end = s.length();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '/' || c == ':' || c == '^' || c == '$' || c == '?') {
+                end = i;
+                break;
+            }
+        }
+        s = s.substring(0, end);
+        if (s.startsWith("*.")) {
+            s = s.substring(2);
+        } else if (s.startsWith(".")) {
+            s = s.substring(1);
+        }
+        if (s.endsWith(".")) {
+            s = s.substring(0, s.length() - 1);
+        }
+        s = CaseInsensitiveTable.lower(s);
+        if (!isAscii(s)) {
+            try {
+                s = IDN.toASCII(s, IDN.ALLOW_UNASSIGNED);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return isHostName(s) ? s : null;
+    }
+
+    private static boolean isComment(String line) {
+        String s = line.strip();
+        return s.isEmpty() || s.startsWith("#") || s.startsWith("!") || s.startsWith("[");
+    }
+
+    private static boolean isAddress(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (!(c >= '0' && c <= '9') && c != '.' && c != ':' && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return word.indexOf('.') >= 0 || word.indexOf(':') >= 0;
+    }
+
+    private static boolean isHostName(String s) {
+        if (s.isEmpty() || s.length() > MAX_HOST_LENGTH || s.startsWith(".") || s.contains("..")) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '-' && c != '_' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the reversed labels of a normalized domain, with a trailing dot, at {@code at}.
+     *
+     * @return the end of what was written
+     */
+    private static int reverse(String domain, byte[] out, int at) {
+        int end = domain.length();
+        while (end > 0) {
+            int dot = domain.lastIndexOf('.', end - 1);
+            for (int i = dot + 1; i < end; i++) {
+                out[at++] = (byte) domain.charAt(i);
+            }
+            out[at++] = '.';
+            end = dot;
+        }
+        return at;
+    }
+
+    /**
+     * Builds the lookup key of a host in {@code key}: lower-cased reversed labels with a trailing dot.
+     *
+     * @return its length, or -1 if the host cannot be listed
+     */
+    private static int key(String host, byte[] key) {
+        int length = host.length();
+        if (length > 0 && host.charAt(length - 1) == '.') {
+            length--; // fully qualified form
+        }
+        if (length == 0 || length > MAX_HOST_LENGTH) {
+            return -1;
+        }
+        int at = 0;
+        int end = length;
+        while (end > 0) {
+            int dot = host.lastIndexOf('.', end - 1);
+            for (int i = dot + 1; i < end; i++) {
+                char c = host.charAt(i);
+                if (c >= 0x80) {
+                    return idnKey(host, key);
+                }
+                key[at++] = (byte) (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+            }
+            key[at++] = '.';
+            end = dot;
+        }
+        return at;
+    }
+
+    private static int idnKey(String host, byte[] key) {
+        String ascii;
+        try {
+            ascii = IDN.toASCII(host, IDN.ALLOW_UNASSIGNED);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        return isAscii(ascii) ? key(ascii, key) : -1;
+    }
+
+    /**
+     * @return the last block up to {@code last} whose first-entry prefix is at most {@code prefix}, unsigned, or -1
+     */
+    private int lastBlockWithPrefixAtMost(long prefix, int last) {
+        int lo = 0;
+        int hi = last;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(prefixAt(mid), prefix) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    private long prefixAt(int block) {
+        return prefixes[block];
+    }
+
+    /**
+     * @return the first eight bytes of an entry as an unsigned big-endian number, zero-padded, so that prefixes order
+     *         like the entries
+     */
+    private static long prefix(byte[] bytes, int start, int length) {
+        long prefix = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            prefix = (prefix << 8) | (i < length ? bytes[start + i] & 0xff : 0);
+        }
+        return prefix;
+    }
+
+    private int compareFirst(int block, byte[] key, int keyLength) {
+        int position = buffer.getInt(blocksStart + block * Integer.BYTES) + 1; // skip the shared length, always 0
+        int length = readVarint(position);
+        position += varintSize(length);
+        int n = Math.min(length, keyLength);
+        for (int i = 0; i < n; i++) {
+            int diff = (buffer.get(position + i) & 0xff) - (key[i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - keyLength;
+    }
+
+    private int readVarint(int position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get(position++);
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static int varintSize(int value) {
+        return value < 0x80 ? 1 : value < 0x4000 ? 2 : 3;
+    }
+
+    private static int writeVarint(DataOutputStream out, int value) throws IOException {
+        int size = 1;
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+            size++;
+        }
+        out.writeByte(value);
+        return size;
+    }
+
+    /**
+     * Multi-key quicksort of entry ids by their bytes from {@code depth} on: three-way partitioning on one byte, so
+     * the long shared prefixes of reversed domains ({@code com.}) are compared once per partition, not per pair.
+     */
+    private static void sort(int[] ids, int lo, int hi, int depth, byte[] pool, int[] starts) {
+        while (hi - lo > 12) {
+            int pivot = byteAt(ids[(lo + hi) >>> 1], depth, pool, starts);
+            int lt = lo;
+            int gt = hi - 1;
+            int i = lo;
+            while (i <= gt) {
+                int c = byteAt(ids[i], depth, pool, starts);
+                if (c < pivot) {
+                    swap(ids, lt++, i++);
+                } else if (c > pivot) {
+                    swap(ids, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            sort(ids, lo, lt, depth, pool, starts);
+            if (pivot >= 0) {
+                sort(ids, lt, gt + 1, depth + 1, pool, starts);
+            }
+            lo = gt + 1;
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && compare(ids[j - 1], ids[j], depth, pool, starts) > 0; j--) {
+                swap(ids, j - 1, j);
+            }
+        }
+    }
+
+    private static int byteAt(int id, int depth, byte[] pool, int[] starts) {
+        int at = starts[id] + depth;
+        return at < starts[id + 1] ? pool[at] & 0xff : -1;
+    }
+
+    private static int compare(int a, int b, int depth, byte[] pool, int[] starts) {
+        return Arrays.compareUnsigned(pool, starts[a] + depth, starts[a + 1], pool, starts[b] + depth, starts[b + 1]);
+    }
+
+    private static void swap(int[] ids, int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+}
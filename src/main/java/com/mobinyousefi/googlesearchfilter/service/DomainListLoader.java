@@ -0,0 +1,147 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DomainListLoader.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the block and allow list files named in filter criteria to compiled {@link DomainList}s, shared by every
+ * {@link FilterPlan} of the process.
+ *
+ * A list is compiled once into {@code cacheDirectory} and memory-mapped from there on, in later runs too; it is
+ * compiled again when its source file changes size or modification time, or the options below change. Block lists skip
+ * entries that are public suffixes and, with {@code blockWholeSites}, cover the registrable domain of each entry;
+ * allow lists are taken as written. {@link #global()} is configured once at startup and may also hold block lists
+ * applied to every search. Thread-safe.
+ */
+public final class DomainListLoader {
+
+    private static final DomainList[] NONE = new DomainList[0];
+    private static final DomainListLoader GLOBAL = new DomainListLoader(); // after NONE, which its fields use
+
+    private final Map<String, DomainList> loaded = new ConcurrentHashMap<>();
+    private volatile Path cacheDirectory = Path.of(System.getProperty("user.home"), ".google-search-filter",
+            "domain-lists");
+    private volatile PublicSuffixList suffixes = PublicSuffixList.DEFAULT;
+    private volatile boolean blockWholeSites;
+    private volatile DomainList[] defaultBlocklists = NONE;
+
+    public static DomainListLoader global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @param defaultFiles block list files applied to every search, on top of those the criteria name
+     */
+    public synchronized void configure(Path cacheDirectory, PublicSuffixList suffixes, boolean blockWholeSites,
+                                       Collection<String> defaultFiles) {
+        this.cacheDirectory = cacheDirectory;
+        this.suffixes = suffixes;
+        this.blockWholeSites = blockWholeSites;
+        this.loaded.clear();
+        this.defaultBlocklists = NONE;
+        this.defaultBlocklists = blocklists(defaultFiles);
+    }
+
+    DomainList[] getDefaultBlocklists() {
+        return defaultBlocklists;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a file cannot be read or compiled
+     */
+    public DomainList[] blocklists(Collection<String> files) {
+        return resolve(files, true);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a file cannot be read or compiled
+     */
+    public DomainList[] allowlists(Collection<String> files) {
+        return resolve(files, false);
+    }
+
+    /**
+     * @return the lists loaded so far, e.g. for a startup summary
+     */
+    public List<DomainList> getLoaded() {
+        return List.copyOf(loaded.values());
+    }
+
+    private DomainList[] resolve(Collection<String> files, boolean block) {
+        if (files.isEmpty()) {
+            return NONE;
+        }
+        DomainList[] lists = new DomainList[files.size()];
+        int i = 0;
+        for (String file : files) {
+            lists[i++] = load(Path.of(file).toAbsolutePath().normalize(), block);
+        }
+        return lists;
+    }
+
+    private DomainList load(Path source, boolean block) {
+        long options = block ? (blockWholeSites ? 3 : 1) + 31 * suffixes.fingerprint() : 0;
+        long size;
+        long modified;
+        try {
+            size = Files.size(source);
+            modified = Files.getLastModifiedTime(source).toMillis();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read domain list " + source + ": " + e.getMessage(), e);
+        }
+        String key = (block ? "block:" : "allow:") + source;
+        DomainList current = loaded.get(key);
+        if (current != null && isCompiledFrom(current, size, modified, options)) {
+            return current;
+        }
+        return loaded.compute(key, (k, list) -> {
+            if (list != null && isCompiledFrom(list, size, modified, options)) {
+                return list;
+            }
+            try {
+                Files.createDirectories(cacheDirectory);
+                Path compiled = cacheDirectory.resolve((block ? "block-" : "allow-") + source.getFileName() + "-"
+                        + Integer.toHexString(source.toString().hashCode()) + ".dlist");
+                if (Files.exists(compiled)) {
+                    try {
+                        DomainList cached = DomainList.open(compiled);
+                        if (isCompiledFrom(cached, size, modified, options)) {
+                            return cached;
+                        }
+                    } catch (IOException e) {
+                        // unreadable: compile it again
+                    }
+                }
+                long start = System.nanoTime();
+                DomainList compiledList = DomainList.compile(source, compiled, suffixes, block,
+                        block && blockWholeSites, options);
+                System.err.printf("[INFO] Compiled %s %s in %d ms%n", block ? "block list" : "allow list",
+                        source, (System.nanoTime() - start) / 1_000_000);
+                return compiledList;
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot compile domain list " + source + ": " + e.getMessage(),
+                        e);
+            }
+        });
+    }
+
+    private static boolean isCompiledFrom(DomainList list, long size, long modified, long options) {
+        return list.getSourceSize() == size && list.getSourceModified() == modified && list.getOptions() == options;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DomainTrie.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable trie of domains keyed by reversed host labels ({@code com -> example -> www}).
+ *
+ * A host matches when it equals an entry or is a sub-domain of one, i.e. the same rule as
+ * {@code host.equalsIgnoreCase(d) || host.endsWith("." + d)}, but evaluated in O(host labels) regardless of how many
+ * domains were added, and without allocating.
+ */
+final class DomainTrie {
+
+    private static final DomainTrie EMPTY = new DomainTrie(new Node(CaseInsensitiveTable.of(List.of()), null, false));
+
+    private final Node root;
+
+    private DomainTrie(Node root) {
+        this.root = root;
+    }
+
+    static DomainTrie of(Collection<String> domains) {
+        if (domains.isEmpty()) {
+            return EMPTY;
+        }
+        Builder root = new Builder();
+        for (String domain : domains) {
+            Builder node = root;
+            String lower = CaseInsensitiveTable.lower(domain);
+            int end = lower.length();
+            while (end >= 0) {
+                int dot = lower.lastIndexOf('.', end - 1);
+                node = node.children.computeIfAbsent(lower.substring(dot + 1, end), k -> new Builder());
+                end = dot;
+            }
+            node.terminal = true;
+        }
+        return new DomainTrie(root.freeze());
+    }
+
+    boolean isEmpty() {
+        return root.children == null;
+    }
+
+    /**
+     * @return true if {@code host} equals, or is a sub-domain of, any entry in this trie
+     */
+    boolean matches(String host) {
+        Node node = root;
+        int end = host.length();
+        while (node.children != null) {
+            int dot = host.lastIndexOf('.', end - 1);
+            int slot = node.labels.indexOf(host, dot + 1, end);
+            if (slot < 0) {
+                return false;
+            }
+            node = node.children[slot];
+            if (node.terminal) {
+                return true;
+            }
+            if (dot < 0) {
+                return false;
+            }
+            end = dot;
+        }
+        return false;
+    }
+
+    private static final class Node {
+        final CaseInsensitiveTable labels;
+        final Node[] children; // indexed by label slot, null for leaves
+        final boolean terminal;
+
+        Node(CaseInsensitiveTable labels, Node[] children, boolean terminal) {
+            this.labels = labels;
+            this.children = children;
+            this.terminal = terminal;
+        }
+    }
+
+    private static final class Builder {
+        final Map<String, Builder> children = new LinkedHashMap<>();
+        boolean terminal;
+
+        Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(null, null, terminal);
+            }
+            List<String> labels = new ArrayList<>(children.keySet());
+            CaseInsensitiveTable table = CaseInsensitiveTable.of(labels);
+            Node[] frozen = new Node[table.capacity()];
+            for (String label : labels) {
+                frozen[table.indexOf(label, 0, label.length())] = children.get(label).freeze();
+            }
+            return new Node(table, frozen, terminal);
+        }
+    }
+}
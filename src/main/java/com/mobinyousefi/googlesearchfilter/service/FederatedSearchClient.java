@@ -0,0 +1,443 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: FederatedSearchClient.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.exception.SearchTimeoutException;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.util.Threads;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SearchClient} fanning every query out to several providers in parallel and merging their answers.
+ *
+ * Results are merged in rank order: each provider's first result, in provider order, then each provider's second,
+ * and so on. A result whose link was already emitted ({@link SearchResult#equals}) is dropped, so a page found by
+ * several providers keeps its best rank, ties going to the earlier provider. The merge is incremental: a result is
+ * handed out as soon as every provider ahead of it in that order has delivered or dropped out.
+ *
+ * Each provider has a timeout, counted from the start of the query; a provider still running by then is cancelled
+ * and contributes what it delivered so far. A provider may have a backup: if the primary has not produced a result
+ * after the hedge delay, or fails before that, the query is also sent to the backup, whichever answers first serves
+ * that provider's slot and the other is cancelled. Failed providers are skipped; a query fails only if all of them
+ * fail without results.
+ */
+public final class FederatedSearchClient implements SearchClient, AutoCloseable {
+
+    private static final int PRIMARY = 0;
+    private static final int BACKUP = 1;
+
+    private final List<Provider> providers;
+    private final ExecutorService executor = Threads.newTaskExecutor("federated-search");
+
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private FederatedSearchClient(Builder builder) {
+        this.providers = List.copyOf(builder.providers);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public List<SearchResult> search(String query, int maxResults) throws IOException, SearchException {
+        return stream(query, maxResults).toList();
+    }
+
+    @Override
+    public SearchCursor stream(String query, int maxResults) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be null or blank");
+        }
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be positive");
+        }
+        long start = System.nanoTime();
+        List<Lane> lanes = new ArrayList<>(providers.size());
+        for (Provider provider : providers) {
+            Lane lane = new Lane(provider, query, maxResults, start);
+            lanes.add(lane);
+            lane.start();
+        }
+        return new MergeCursor(lanes, maxResults);
+    }
+
+    /**
+     * @return the provider names, in merge order
+     */
+    public List<String> getProviderNames() {
+        List<String> names = new ArrayList<>(providers.size());
+        for (Provider provider : providers) {
+            names.add(provider.name);
+        }
+        return names;
+    }
+
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * @return hedged requests whose backup answered before the primary
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Cancels all running provider requests; the client cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "federated " + getProviderNames() + " hedges=" + getHedgeCount() + ", hedgeWins=" + getHedgeWinCount()
+                + ", timeouts=" + getTimeoutCount() + ", failures=" + getFailureCount();
+    }
+
+    private static SearchException failure(Exception e) throws IOException {
+        if (e instanceof IOException io) {
+            throw io;
+        }
+        if (e instanceof SearchException se) {
+            return se;
+        }
+        return new SearchException("Search request failed", e);
+    }
+
+    private static final class Provider {
+        final String name;
+        final SearchClient client;
+        final Duration timeout;
+        final SearchClient backup;
+        final Duration hedgeAfter;
+
+        Provider(String name, SearchClient client, Duration timeout, SearchClient backup, Duration hedgeAfter) {
+            this.name = Objects.requireNonNull(name, "name must not be null");
+            this.client = Objects.requireNonNull(client, "client must not be null");
+            this.timeout = Objects.requireNonNull(timeout, "timeout must not be null");
+            this.backup = backup;
+            this.hedgeAfter = hedgeAfter;
+            if (timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("timeout must be positive");
+            }
+            if (backup != null && (hedgeAfter == null || hedgeAfter.isNegative())) {
+                throw new IllegalArgumentException("hedgeAfter must not be negative");
+            }
+        }
+    }
+
+    /**
+     * One provider's part of a query: its primary request, possibly a hedged backup request, and the results of
+     * whichever of the two answered first. Requests run on the client's executor and push into {@link #buffer}; the
+     * merging cursor pulls. All state is guarded by the lane's monitor.
+     */
+    private final class Lane {
+        final Provider provider;
+        final String query;
+        final int maxResults;
+        final long deadlineNanos;
+        final Deque<SearchResult> buffer = new ArrayDeque<>();
+        final Future<?>[] requests = new Future<?>[2];
+        int running;
+        int winner = -1; // PRIMARY or BACKUP once one of them delivered or completed
+        boolean hedged;
+        boolean finished; // no more results will arrive
+        Exception failure;
+
+        Lane(Provider provider, String query, int maxResults, long startNanos) {
+            this.provider = provider;
+            this.query = query;
+            this.maxResults = maxResults;
+            this.deadlineNanos = startNanos + provider.timeout.toNanos();
+        }
+
+        void start() {
+            synchronized (this) {
+                launch(PRIMARY);
+            }
+            if (provider.backup != null) {
+                CompletableFuture.delayedExecutor(provider.hedgeAfter.toNanos(), TimeUnit.NANOSECONDS, executor)
+                        .execute(this::hedge);
+            }
+        }
+
+        /**
+         * @return the next result, or null once the provider is exhausted, failed or timed out
+         */
+        synchronized SearchResult poll() throws SearchException {
+            while (buffer.isEmpty() && !finished) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    timeouts.increment();
+                    end(new SearchTimeoutException(provider.name + " did not finish within "
+                            + provider.timeout.toMillis() + " ms"), -1);
+                    break;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SearchException("Search request interrupted", e);
+                }
+            }
+            return buffer.poll();
+        }
+
+        synchronized void close() {
+            if (!finished) {
+                end(null, -1);
+            }
+        }
+
+        private void request(int source) {
+            SearchClient client = source == PRIMARY ? provider.client : provider.backup;
+            Exception error = null;
+            try (SearchCursor cursor = client.stream(query, maxResults)) {
+                SearchResult r;
+                while ((r = cursor.next()) != null && offer(source, r)) {
+                    // offer() returns false once this request lost the race or the lane is over
+                }
+            } catch (IOException | SearchException | RuntimeException e) {
+                error = e;
+            }
+            finish(source, error);
+        }
+
+        private synchronized void hedge() {
+            if (!finished && winner < 0 && !hedged) {
+                launch(BACKUP);
+            }
+        }
+
+        private synchronized boolean offer(int source, SearchResult r) {
+            if (finished || (winner >= 0 && winner != source)) {
+                return false;
+            }
+            if (winner < 0) {
+                win(source);
+            }
+            buffer.add(r);
+            notifyAll();
+            return true;
+        }
+
+        private synchronized void finish(int source, Exception error) {
+            running--;
+            if (finished || (winner >= 0 && winner != source)) {
+                return;
+            }
+            if (error == null || winner == source) {
+                // complete (possibly empty), or failed after delivering some results
+                if (winner < 0) {
+                    win(source);
+                }
+                if (error != null) {
+                    failures.increment();
+                }
+                end(error, source);
+                return;
+            }
+            // failed before delivering anything: fall back to the backup right away, or give up
+            if (failure == null) {
+                failure = error;
+            }
+            if (provider.backup != null && !hedged) {
+                launch(BACKUP);
+            } else if (running == 0) {
+                failures.increment();
+                end(failure, source);
+            }
+        }
+
+        private void launch(int source) {
+            if (source == BACKUP) {
+                hedged = true;
+                hedges.increment();
+            }
+            try {
+                requests[source] = executor.submit(() -> request(source));
+                running++;
+            } catch (RejectedExecutionException e) {
+                if (running == 0) {
+                    end(new SearchException("Federated search client is closed"), -1);
+                }
+            }
+        }
+
+        private void win(int source) {
+            winner = source;
+            if (source == BACKUP) {
+                hedgeWins.increment();
+            }
+            cancel(1 - source);
+        }
+
+        /**
+         * @param self the request ending the lane, which is done with its cursor and must not interrupt itself; -1
+         *             when the consumer ends it
+         */
+        private void end(Exception error, int self) {
+            finished = true;
+            failure = error;
+            if (self != PRIMARY) {
+                cancel(PRIMARY);
+            }
+            if (self != BACKUP) {
+                cancel(BACKUP);
+            }
+            notifyAll();
+        }
+
+        private void cancel(int source) {
+            Future<?> request = requests[source];
+            if (request != null) {
+                request.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Round-robin over the lanes still delivering, skipping links already emitted.
+     */
+    private static final class MergeCursor implements SearchCursor {
+        private final List<Lane> lanes;
+        private final List<Lane> active;
+        private final Set<SearchResult> seen = new HashSet<>();
+        private final int maxResults;
+        private int turn;
+        private int emitted;
+        private boolean closed;
+
+        MergeCursor(List<Lane> lanes, int maxResults) {
+            this.lanes = lanes;
+            this.active = new ArrayList<>(lanes);
+            this.maxResults = maxResults;
+        }
+
+        @Override
+        public SearchResult next() throws IOException, SearchException {
+            while (!closed && emitted < maxResults && !active.isEmpty()) {
+                if (turn >= active.size()) {
+                    turn = 0;
+                }
+                Lane lane = active.get(turn);
+                SearchResult r = lane.poll();
+                if (r == null) {
+                    active.remove(turn);
+                    continue;
+                }
+                turn++;
+                if (seen.add(r)) {
+                    if (++emitted >= maxResults) {
+                        close();
+                    }
+                    return r;
+                }
+            }
+            boolean wasOpen = !closed;
+            close();
+            if (wasOpen && emitted == 0) {
+                Exception first = null;
+                for (Lane lane : lanes) {
+                    Exception error;
+                    synchronized (lane) {
+                        error = lane.failure;
+                    }
+                    if (error == null) {
+                        return null; // a provider answered, just with nothing
+                    }
+                    first = first == null ? error : first;
+                }
+                throw failure(first);
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                for (Lane lane : lanes) {
+                    lane.close();
+                }
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final List<Provider> providers = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a provider; providers are merged in the order they are added.
+         *
+         * @param timeout time the provider gets per query, after which it is cancelled
+         */
+        public Builder provider(String name, SearchClient client, Duration timeout) {
+            providers.add(new Provider(name, client, timeout, null, null));
+            return this;
+        }
+
+        /**
+         * Adds a provider with a hedged backup.
+         *
+         * @param backup     client answering the same query when the primary is slow or failing
+         * @param hedgeAfter how long the primary may go without a result before the backup is asked as well
+         */
+        public Builder provider(String name, SearchClient client, Duration timeout, SearchClient backup,
+                                Duration hedgeAfter) {
+            providers.add(new Provider(name, client, timeout, Objects.requireNonNull(backup, "backup"),
+                    hedgeAfter));
+            return this;
+        }
+
+        public FederatedSearchClient build() {
+            if (providers.isEmpty()) {
+                throw new IllegalStateException("At least one provider is required");
+            }
+            return new FederatedSearchClient(this);
+        }
+    }
+}
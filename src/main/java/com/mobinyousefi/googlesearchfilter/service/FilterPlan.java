@@ -0,0 +1,199 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: FilterPlan.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, pre-compiled form of a {@link FilterCriteria}.
+ *
+ * All normalization (lower-casing, domain splitting) happens once in {@link #compile}; evaluating a row afterwards
+ * costs O(host labels) and allocates nothing, regardless of how large the domain or MIME lists are. The plan is a
+ * snapshot: later changes to the criteria object are not reflected.
+ *
+ * Near-duplicate collapsing depends on the results seen before, so it is not part of {@link #test}; the stages that
+ * count towards {@link #getMaxResults} apply it through {@link #newNearDuplicateFilter} after the predicate.
+ */
+public final class FilterPlan implements Predicate<SearchResult> {
+
+    // date window bounds as instants, compared against the rows' primitive indexed time
+    private final boolean hasFrom;
+    private final long fromSecond;
+    private final int fromNano;
+    private final boolean hasTo;
+    private final long toSecond;
+    private final int toNano;
+    private final DomainTrie whitelist;
+    private final DomainTrie blacklist;
+    private final DomainList[] allowlists;
+    private final DomainList[] blocklists;
+    private final CaseInsensitiveTable mimeTypes;
+    private final boolean restrictMimeTypes;
+    private final String[] languagePrefixes;
+    private final boolean safeOnly;
+    private final int maxResults;
+    private final int nearDuplicateDistance;
+
+    private FilterPlan(FilterCriteria criteria) {
+        OffsetDateTime from = criteria.getFromDate();
+        OffsetDateTime to = criteria.getToDate();
+        this.hasFrom = from != null;
+        this.fromSecond = from == null ? 0 : from.toEpochSecond();
+        this.fromNano = from == null ? 0 : from.getNano();
+        this.hasTo = to != null;
+        this.toSecond = to == null ? 0 : to.toEpochSecond();
+        this.toNano = to == null ? 0 : to.getNano();
+        this.whitelist = DomainTrie.of(criteria.getDomainWhitelist());
+        this.blacklist = DomainTrie.of(criteria.getDomainBlacklist());
+        DomainListLoader lists = DomainListLoader.global();
+        this.allowlists = lists.allowlists(criteria.getDomainAllowlistFiles());
+        DomainList[] blocklists = lists.blocklists(criteria.getDomainBlocklistFiles());
+        DomainList[] defaults = lists.getDefaultBlocklists();
+        if (defaults.length > 0) {
+            blocklists = Arrays.copyOf(blocklists, blocklists.length + defaults.length);
+            System.arraycopy(defaults, 0, blocklists, blocklists.length - defaults.length, defaults.length);
+        }
+        this.blocklists = blocklists;
+        this.mimeTypes = CaseInsensitiveTable.of(criteria.getMimeTypes());
+        this.restrictMimeTypes = !criteria.getMimeTypes().isEmpty();
+        this.languagePrefixes = criteria.getLanguageCodes().stream()
+                .map(CaseInsensitiveTable::lower)
+                .distinct()
+                .sorted(Comparator.comparingInt(String::length)) // shortest prefixes match most, try them first
+                .toArray(String[]::new);
+        this.safeOnly = criteria.isSafeOnly();
+        this.maxResults = criteria.getMaxResults();
+        this.nearDuplicateDistance = criteria.getNearDuplicateDistance();
+    }
+
+    /**
+     * @throws IllegalArgumentException if a domain list file of the criteria cannot be loaded
+     */
+    public static FilterPlan compile(FilterCriteria criteria) {
+        return new FilterPlan(criteria);
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public int getNearDuplicateDistance() {
+        return nearDuplicateDistance;
+    }
+
+    /**
+     * @return a fresh near-duplicate stage for one result list or stream, or null if the criteria keep duplicates
+     */
+    NearDuplicateFilter newNearDuplicateFilter() {
+        return nearDuplicateDistance < 0 ? null : new NearDuplicateFilter(nearDuplicateDistance);
+    }
+
+    @Override
+    public boolean test(SearchResult r) {
+        if (r == null) {
+            return false;
+        }
+        return (!r.hasIndexedTime() || inWindow(r.getIndexedEpochSecond(), r.getIndexedNano()))
+                && acceptsHost(r.getDisplayLink())
+                && acceptsMimeType(r.getMimeType())
+                && acceptsLanguage(r.getLanguageCode())
+                && (!safeOnly || r.isSafe());
+    }
+
+    // Per-attribute predicates, shared with the columnar evaluation in ResultBatch. The restricts* methods tell
+    // whether a predicate can reject anything at all, so callers can skip it entirely.
+
+    boolean restrictsTime() {
+        return hasFrom || hasTo;
+    }
+
+    /**
+     * Date window; rows without an indexed time are not subject to it.
+     */
+    boolean inWindow(long second, int nano) {
+        return (!hasFrom || compareInstants(second, nano, fromSecond, fromNano) >= 0)
+                && (!hasTo || compareInstants(second, nano, toSecond, toNano) <= 0);
+    }
+
+    boolean restrictsHost() {
+        return !whitelist.isEmpty() || !blacklist.isEmpty() || allowlists.length > 0 || blocklists.length > 0;
+    }
+
+    /**
+     * Domain filters; rows without a display link pass. A host must be on the whitelist or an allow list when there
+     * is any, and on neither the blacklist nor a block list.
+     */
+    boolean acceptsHost(String domain) {
+        if (domain == null) {
+            return true;
+        }
+        if ((!whitelist.isEmpty() || allowlists.length > 0)
+                && !(!whitelist.isEmpty() && whitelist.matches(domain)) && !anyMatches(allowlists, domain)) {
+            return false;
+        }
+        return (blacklist.isEmpty() || !blacklist.matches(domain)) && !anyMatches(blocklists, domain);
+    }
+
+    private static boolean anyMatches(DomainList[] lists, String domain) {
+        for (DomainList list : lists) {
+            if (list.matches(domain)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean restrictsMimeType() {
+        return restrictMimeTypes;
+    }
+
+    boolean acceptsMimeType(String mime) {
+        return !restrictMimeTypes || (mime != null && mimeTypes.contains(mime));
+    }
+
+    boolean restrictsLanguage() {
+        return languagePrefixes.length > 0;
+    }
+
+    /**
+     * Languages (best-effort; languageCode is optional).
+     */
+    boolean acceptsLanguage(String lang) {
+        if (languagePrefixes.length == 0) {
+            return true;
+        }
+        if (lang == null) {
+            return false;
+        }
+        for (String prefix : languagePrefixes) {
+            if (lang.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return true; // matches "en" with "en-US"
+            }
+        }
+        return false;
+    }
+
+    boolean isSafeOnly() {
+        return safeOnly;
+    }
+
+    private static int compareInstants(long second, int nano, long otherSecond, int otherNano) {
+        int bySecond = Long.compare(second, otherSecond);
+        return bySecond != 0 ? bySecond : Integer.compare(nano, otherNano);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: FilteredSearchService.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.exception.SearchTimeoutException;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Runs a query and returns up to {@code criteria.getMaxResults()} results that pass the criteria.
+ *
+ * Against a {@link PagedSearchClient}, whatever the provider can enforce is pushed into the request
+ * ({@link CsePushdown}) and pages are fetched until enough rows survive the residual local filter, the provider runs
+ * out, or the page budget is spent, with the prefetch window following the observed selectivity (see
+ * {@link PageCursor}).
+ * Other {@link SearchClient}s get the plain fetch-then-filter treatment.
+ *
+ * When the {@link SearchFilter} has a {@link ResultRanker}, up to {@link ResultRanker#getCandidates()} matching rows
+ * are collected and the best {@code maxResults} of them are returned, best first. The first row then only arrives
+ * once all candidates are in.
+ */
+public class FilteredSearchService {
+
+    public static final int DEFAULT_PAGE_BUDGET = 10; // Google CSE serves at most 100 results per query
+
+    private final SearchClient searchClient;
+    private final SearchFilter searchFilter;
+    private final int pageBudget;
+
+    public FilteredSearchService(SearchClient searchClient, SearchFilter searchFilter) {
+        this(searchClient, searchFilter, DEFAULT_PAGE_BUDGET);
+    }
+
+    public FilteredSearchService(SearchClient searchClient, SearchFilter searchFilter, int pageBudget) {
+        this.searchClient = Objects.requireNonNull(searchClient, "searchClient must not be null");
+        this.searchFilter = Objects.requireNonNull(searchFilter, "searchFilter must not be null");
+        if (pageBudget <= 0) {
+            throw new IllegalArgumentException("pageBudget must be positive");
+        }
+        this.pageBudget = pageBudget;
+    }
+
+    public SearchClient getSearchClient() {
+        return searchClient;
+    }
+
+    public SearchFilter getSearchFilter() {
+        return searchFilter;
+    }
+
+    public List<SearchResult> search(String query, FilterCriteria criteria) throws IOException, SearchException {
+        return stream(query, criteria).toList();
+    }
+
+    /**
+     * Streaming form of {@link #search}: matching rows are handed out as their pages arrive, and fetching stops
+     * once {@code maxResults} rows have matched or the cursor is closed.
+     */
+    public SearchCursor stream(String query, FilterCriteria criteria) throws IOException, SearchException {
+        return open(query, criteria, null);
+    }
+
+    /**
+     * {@link #stream(String, FilterCriteria)} with a time limit: once {@code timeout} has elapsed, pages still in
+     * flight are cancelled and the cursor throws {@link SearchTimeoutException}. Plain {@link SearchClient}s fetch
+     * everything up front, so for them the limit is only checked between rows.
+     */
+    public SearchCursor stream(String query, FilterCriteria criteria, Duration timeout)
+            throws IOException, SearchException {
+        return open(query, criteria, Objects.requireNonNull(timeout, "timeout must not be null"));
+    }
+
+    private SearchCursor open(String query, FilterCriteria criteria, Duration timeout)
+            throws IOException, SearchException {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be null or blank");
+        }
+        Objects.requireNonNull(criteria, "criteria must not be null");
+        ResultRanker ranker = searchFilter.getRanker();
+        if (ranker != null) {
+            FilterCriteria candidates = criteria.copy();
+            candidates.setMaxResults(Math.max(criteria.getMaxResults(), ranker.getCandidates()));
+            // near-duplicates are collapsed after scoring, so that the best-scored copy is the one kept
+            candidates.setNearDuplicateDistance(-1);
+            return searchFilter.rank(filtered(query, candidates, timeout), query, criteria.getMaxResults(),
+                    criteria.getNearDuplicateDistance());
+        }
+        return filtered(query, criteria, timeout);
+    }
+
+    private SearchCursor filtered(String query, FilterCriteria criteria, Duration timeout)
+            throws IOException, SearchException {
+        long deadlineNanos = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+        if (!(searchClient instanceof PagedSearchClient paged)) {
+            SearchCursor filtered = searchFilter.filter(searchClient.stream(query, criteria.getMaxResults()),
+                    criteria);
+            return timeout == null ? filtered : withDeadline(filtered, deadlineNanos);
+        }
+
+        CsePushdown pushdown = paged.supportsPushdown() ? CsePushdown.of(criteria) : CsePushdown.none(criteria);
+        PageCursor cursor = PageCursor.open(paged, query, pushdown.getParameters(),
+                FilterPlan.compile(pushdown.getResidual()), pageBudget);
+        return timeout == null ? cursor : cursor.withDeadline(deadlineNanos);
+    }
+
+    private static SearchCursor withDeadline(SearchCursor upstream, long deadlineNanos) {
+        return new SearchCursor() {
+            @Override
+            public SearchResult next() throws IOException, SearchException {
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    upstream.close();
+                    throw new SearchTimeoutException("Search deadline exceeded");
+                }
+                return upstream.next();
+            }
+
+            @Override
+            public void close() {
+                upstream.close();
+            }
+        };
+    }
+}
@@ -4,30 +4,39 @@
  * File: GoogleSearchClient.java
  * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
  * Created: 2025-11-19
- * Updated: 2025-11-19
+ * Updated: 2026-10-16
  * License: MIT License (see LICENSE file for details)
  * =====================================================================================================================
  */
 
 package com.mobinyousefi.googlesearchfilter.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.metrics.SearchMetrics;
 import com.mobinyousefi.googlesearchfilter.model.SearchResult;
 import com.mobinyousefi.googlesearchfilter.util.Config;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
 import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
-import java.time.OffsetDateTime;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Search client backed by Google Custom Search JSON API.
@@ -35,143 +44,257 @@ import java.util.List;
  * You must configure an API key and search engine id (cx) in config.properties:
  *   google.apiKey=YOUR_KEY
  *   google.searchEngineId=YOUR_CX
+ *
+ * google.endpoint overrides the API URL, e.g. to point at a local stand-in for benchmarks and load tests.
+ *
+ * Optionally, google.maxConcurrentPages (default 4) caps how many result pages are requested in parallel.
+ * A value of 1 restores strictly sequential pagination.
+ *
+ * Requests are shaped by a {@link QuotaLimiter} shared by every client using the same API key
+ * (google.requestsPerSecond, google.dailyQuota). 429/5xx responses and connection failures are retried up to
+ * google.maxRetries times with exponential full-jitter backoff (at most google.retryMaxDelayMillis), never sooner
+ * than a Retry-After header asks for. A Retry-After beyond google.retryAfterMaxMillis (default 5 minutes) fails the
+ * page instead of holding it that long. 429 and 503 additionally make the limiter back off its rate and page
+ * concurrency.
+ *
+ * Connections, HTTP version, timeouts and compression come from the shared {@link HttpTransport} (http.* keys).
+ * Every request carries a {@code fields=} partial-response projection, {@link CseResponseParser#FIELDS} by default;
+ * google.fields overrides it, and an empty value requests full responses.
  */
-public class GoogleSearchClient implements SearchClient {
+public class GoogleSearchClient implements PagedSearchClient {
 
     private static final String GOOGLE_CSE_ENDPOINT = "https://www.googleapis.com/customsearch/v1";
+    private static final int DEFAULT_MAX_CONCURRENT_PAGES = 4;
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 500, 502, 503, 504);
+    private static final Set<Integer> THROTTLE_STATUSES = Set.of(429, 503);
 
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final HttpTransport transport;
+    private final Executor executor;
+    private final CseResponseParser responseParser;
+    private final String endpoint;
     private final String apiKey;
     private final String searchEngineId;
+    private final String fields;
+    private final int maxConcurrentPages;
+    private final QuotaLimiter quotaLimiter;
+    private final int maxRetries;
+    private final long retryBaseDelayMillis;
+    private final long retryMaxDelayMillis;
+    private final long retryAfterMaxMillis;
 
-    public GoogleSearchClient(Config config) throws SearchException {
-        this.httpClient = HttpClient.newHttpClient();
-        this.objectMapper = new ObjectMapper();
+    public GoogleSearchClient(Config config) throws IOException, SearchException {
+        this.transport = HttpTransport.shared(config);
+        this.executor = transport.getExecutor();
+        this.responseParser = new CseResponseParser();
+        this.endpoint = config.getOrDefault("google.endpoint", GOOGLE_CSE_ENDPOINT).trim();
         this.apiKey = config.getRequired("google.apiKey");
         this.searchEngineId = config.getRequired("google.searchEngineId");
+        this.fields = config.getOrDefault("google.fields", CseResponseParser.FIELDS).trim();
+        this.maxConcurrentPages = config.getInt("google.maxConcurrentPages", DEFAULT_MAX_CONCURRENT_PAGES);
+        if (maxConcurrentPages <= 0) {
+            throw new SearchException("google.maxConcurrentPages must be positive");
+        }
+        this.quotaLimiter = QuotaLimiter.shared(apiKey,
+                config.getDouble("google.requestsPerSecond", 10),
+                config.getLong("google.dailyQuota", 10_000));
+        this.maxRetries = config.getInt("google.maxRetries", 3);
+        this.retryBaseDelayMillis = config.getLong("google.retryBaseDelayMillis", 500);
+        this.retryMaxDelayMillis = config.getLong("google.retryMaxDelayMillis", 30_000);
+        this.retryAfterMaxMillis = config.getLong("google.retryAfterMaxMillis", 300_000);
     }
 
+    /**
+     * Shrinks with the limiter's throttle factor, so a throttled client also keeps fewer pages in flight.
+     */
     @Override
-    public List<SearchResult> search(String query, int maxResults) throws IOException, SearchException {
-        if (query == null || query.isBlank()) {
-            throw new IllegalArgumentException("query must not be null or blank");
-        }
-        if (maxResults <= 0) {
-            throw new IllegalArgumentException("maxResults must be positive");
-        }
-
-        int pageSize = Math.min(maxResults, 10); // Google CSE max results per request
-        int start = 1;
-        List<SearchResult> all = new ArrayList<>();
-
-        while (all.size() < maxResults) {
-            int remaining = maxResults - all.size();
-            int num = Math.min(pageSize, remaining);
-
-            String url = buildUrl(query, start, num);
-            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
-
-            HttpResponse<String> response;
-            try {
-                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new SearchException("Search request interrupted", e);
-            }
-
-            if (response.statusCode() != 200) {
-                throw new SearchException("Non-200 response from Google: " + response.statusCode());
-            }
+    public int getMaxConcurrentPages() {
+        return Math.max(1, (int) Math.round(maxConcurrentPages * quotaLimiter.getThrottleFactor()));
+    }
 
-            List<SearchResult> page = parseResults(response.body());
-            if (page.isEmpty()) {
-                break; // no more results
-            }
+    public QuotaLimiter getQuotaLimiter() {
+        return quotaLimiter;
+    }
 
-            all.addAll(page);
-            start += pageSize;
-        }
+    public HttpTransport getTransport() {
+        return transport;
+    }
 
-        return all.size() > maxResults ? all.subList(0, maxResults) : all;
+    @Override
+    public boolean supportsPushdown() {
+        return true;
     }
 
-    private String buildUrl(String query, int start, int num) {
-        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
-        return GOOGLE_CSE_ENDPOINT +
-                "?key=" + apiKey +
-                "&cx=" + searchEngineId +
-                "&q=" + encodedQuery +
-                "&start=" + start +
-                "&num=" + num;
+    @Override
+    public CompletableFuture<List<SearchResult>> fetchPage(String query, QueryParameters parameters, int start,
+                                                           int num) {
+        String url = buildUrl(query, parameters, start, num);
+        HttpRequest request = transport.newRequest(URI.create(url)).build();
+
+        CompletableFuture<List<SearchResult>> page = new CompletableFuture<>();
+        attempt(request, 0, page);
+        return page;
     }
 
-    private List<SearchResult> parseResults(String jsonBody) throws IOException {
-        List<SearchResult> results = new ArrayList<>();
-        JsonNode root = objectMapper.readTree(jsonBody);
-        JsonNode items = root.get("items");
-        if (items == null || !items.isArray()) {
-            return results;
+    private void attempt(HttpRequest request, int attempt, CompletableFuture<List<SearchResult>> page) {
+        if (page.isDone()) {
+            return; // cancelled while waiting
         }
+        long waitNanos;
+        try {
+            waitNanos = quotaLimiter.reserve();
+        } catch (SearchException e) {
+            page.completeExceptionally(e);
+            return;
+        }
+        Executor sendExecutor = waitNanos > 0
+                ? CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, executor)
+                : executor;
 
-        for (JsonNode item : items) {
-            SearchResult.Builder builder = SearchResult.builder()
-                    .title(textOrNull(item.get("title")))
-                    .link(textOrNull(item.get("link")))
-                    .displayLink(textOrNull(item.get("displayLink")))
-                    .snippet(textOrNull(item.get("snippet")));
-
-            JsonNode mimeTypeNode = item.get("mime");
-            if (mimeTypeNode != null) {
-                builder.mimeType(mimeTypeNode.asText());
+        // whichever comes first, the send or the page ending (cancelled, timed out) while waiting, claims the slot;
+        // a slot never used for a send goes back to the limiter at once
+        AtomicBoolean claimed = new AtomicBoolean();
+        page.whenComplete((results, error) -> {
+            if (claimed.compareAndSet(false, true)) {
+                quotaLimiter.release();
             }
-
-            JsonNode fileFormatNode = item.get("fileFormat");
-            if (fileFormatNode != null) {
-                builder.fileFormat(fileFormatNode.asText());
+        });
+        sendExecutor.execute(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
             }
-
-            JsonNode pagemap = item.get("pagemap");
-            if (pagemap != null && pagemap.has("metatags")) {
-                JsonNode metatagsArray = pagemap.get("metatags");
-                if (metatagsArray.isArray() && !metatagsArray.isEmpty()) {
-                    JsonNode meta = metatagsArray.get(0);
-
-                    // try to infer date
-                    OffsetDateTime indexedTime = parseDate(meta, "article:published_time", "og:updated_time", "date");
-                    builder.indexedTime(indexedTime);
-
-                    // try to infer language
-                    String lang = textOrNull(meta.get("og:locale"));
-                    if (lang != null) {
-                        builder.languageCode(lang);
+            if (page.isDone()) { // completed, its callback not yet run
+                quotaLimiter.release();
+                return;
+            }
+            SearchMetrics.REQUESTS.increment();
+            long sentNanos = System.nanoTime();
+            CompletableFuture<HttpResponse<InputStream>> exchange =
+                    transport.getHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+            // cancelling the page does not reach the exchange on its own, so abort it explicitly
+            page.whenComplete((results, error) -> {
+                if (page.isCancelled()) {
+                    exchange.cancel(true);
+                }
+            });
+            exchange.whenCompleteAsync((response, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (!page.isCancelled()) {
+                        SearchMetrics.errors(cause instanceof HttpTimeoutException ? "timeout"
+                                : cause instanceof ConnectException ? "connect" : "io").increment();
+                    }
+                    if (attempt < maxRetries && (cause instanceof HttpTimeoutException
+                            || cause instanceof ConnectException)) {
+                        retry(request, attempt, page, 0);
+                    } else {
+                        page.completeExceptionally(cause);
                     }
+                    return;
                 }
+                SearchMetrics.HTTP_WAIT.recordSince(sentNanos);
+                handleResponse(request, attempt, page, response);
+            }, executor);
+        });
+    }
+
+    private void handleResponse(HttpRequest request, int attempt, CompletableFuture<List<SearchResult>> page,
+                                HttpResponse<InputStream> response) {
+        int status = response.statusCode();
+        try (InputStream body = response.body()) {
+            if (status == 200) {
+                quotaLimiter.onSuccess();
+                page.complete(parse(response, body));
+                return;
             }
+        } catch (IOException e) {
+            SearchMetrics.errors("io").increment();
+            page.completeExceptionally(e);
+            return;
+        }
 
-            // CSE does not expose a direct "safe" flag here; we assume safe search is configured in the engine.
-            builder.safe(true);
+        SearchMetrics.errors(status).increment();
 
-            results.add(builder.build());
+        if (THROTTLE_STATUSES.contains(status)) {
+            quotaLimiter.onThrottle();
         }
+        if (attempt < maxRetries && RETRYABLE_STATUSES.contains(status)) {
+            long retryAfter = retryAfterMillis(response);
+            if (retryAfter > retryAfterMaxMillis) {
+                page.completeExceptionally(new SearchException("Google answered " + status + " asking to retry after "
+                        + TimeUnit.MILLISECONDS.toSeconds(retryAfter) + " s, more than google.retryAfterMaxMillis"));
+                return;
+            }
+            retry(request, attempt, page, retryAfter);
+        } else {
+            page.completeExceptionally(new SearchException("Non-200 response from Google: " + status));
+        }
+    }
+
+    /**
+     * Parses a page straight off the wire, splitting the elapsed time into body reads and parsing proper
+     * (decompression included). Bytes are counted as received, before decompression.
+     */
+    private List<SearchResult> parse(HttpResponse<?> response, InputStream body) throws IOException {
+        MeteredInputStream metered = new MeteredInputStream(body);
+        long start = System.nanoTime();
+        List<SearchResult> results = responseParser.parse(HttpTransport.decode(response, metered));
+        long elapsed = System.nanoTime() - start;
+        SearchMetrics.BODY_READ.record(metered.getReadNanos());
+        SearchMetrics.PARSE.record(elapsed - metered.getReadNanos());
+        SearchMetrics.BYTES.add(metered.getBytes());
+        SearchMetrics.PAGES.increment();
         return results;
     }
 
-    private OffsetDateTime parseDate(JsonNode meta, String... keys) {
-        for (String key : keys) {
-            JsonNode node = meta.get(key);
-            if (node != null && node.isTextual()) {
-                try {
-                    return OffsetDateTime.parse(node.asText());
-                } catch (DateTimeParseException ignored) {
-                    // best-effort only
-                }
+    private void retry(HttpRequest request, int attempt, CompletableFuture<List<SearchResult>> page,
+                       long retryAfterMillis) {
+        long delay = Math.max(retryAfterMillis, backoffMillis(attempt));
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor)
+                .execute(() -> attempt(request, attempt + 1, page));
+    }
+
+    /**
+     * Exponential backoff with full jitter: uniform in [0, min(max, base * 2^attempt)].
+     */
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(retryMaxDelayMillis, retryBaseDelayMillis << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * @return the Retry-After delay (delta-seconds or HTTP-date); 0 if absent, invalid or in the past
+     */
+    private long retryAfterMillis(HttpResponse<?> response) {
+        String value = response.headers().firstValue("Retry-After").orElse(null);
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        long millis;
+        try {
+            millis = TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                millis = Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis();
+            } catch (DateTimeParseException ignored) {
+                return 0;
             }
         }
-        return null;
+        return Math.max(0, millis);
     }
 
-    private String textOrNull(JsonNode node) {
-        return node != null && node.isTextual() ? node.asText() : null;
+    private String buildUrl(String query, QueryParameters parameters, int start, int num) {
+        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        String url = endpoint +
+                "?key=" + apiKey +
+                "&cx=" + searchEngineId +
+                "&q=" + encodedQuery +
+                "&start=" + start +
+                "&num=" + num;
+        if (!fields.isEmpty()) {
+            url += "&fields=" + URLEncoder.encode(fields, StandardCharsets.UTF_8);
+        }
+        return parameters.isEmpty() ? url : url + "&" + parameters.toQueryString();
     }
 }
@@ -0,0 +1,166 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: HttpTransport.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.util.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The HTTP plumbing behind {@link GoogleSearchClient}: one {@link HttpClient} (and so one connection pool) plus the
+ * executor its callbacks and response parsing run on.
+ *
+ * Tunable through config.properties:
+ * <ul>
+ *   <li>http.version: HTTP_2 (default; negotiated via ALPN, falls back to HTTP/1.1) or HTTP_1_1</li>
+ *   <li>http.connectTimeoutMillis (default 5000) and http.requestTimeoutMillis (default 30000, until the response
+ *       headers arrive)</li>
+ *   <li>http.threads: 0 (default) for a cached pool, otherwise a fixed pool of that size</li>
+ *   <li>http.compression (default true): ask for gzip and inflate bodies while they stream in</li>
+ * </ul>
+ * Clients built from the same settings share a transport through {@link #shared}, so every search in the JVM reuses
+ * the same connections.
+ */
+public final class HttpTransport {
+
+    // Google APIs only gzip responses for clients whose user agent says so
+    private static final String USER_AGENT = "google-search-engine-filter/1.0 (gzip)";
+
+    private static final Map<String, HttpTransport> SHARED = new ConcurrentHashMap<>();
+
+    private final HttpClient.Version version;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final int threads;
+    private final boolean compression;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    private HttpTransport(HttpClient.Version version, Duration connectTimeout, Duration requestTimeout, int threads,
+                          boolean compression) {
+        this.version = version;
+        this.connectTimeout = connectTimeout;
+        this.requestTimeout = requestTimeout;
+        this.threads = threads;
+        this.compression = compression;
+        // response bodies are parsed straight off the wire, which blocks; a dedicated pool keeps that off shared pools
+        ThreadFactory threadFactory = daemonThreads("http-transport");
+        this.executor = threads > 0
+                ? Executors.newFixedThreadPool(threads, threadFactory)
+                : Executors.newCachedThreadPool(threadFactory);
+        this.httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Returns the transport for the http.* settings in {@code config}, creating it on first use.
+     */
+    public static HttpTransport shared(Config config) throws SearchException {
+        HttpClient.Version version;
+        try {
+            version = HttpClient.Version.valueOf(
+                    config.getOrDefault("http.version", "HTTP_2").trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new SearchException("http.version must be HTTP_2 or HTTP_1_1");
+        }
+        long connectMillis = config.getLong("http.connectTimeoutMillis", 5_000);
+        long requestMillis = config.getLong("http.requestTimeoutMillis", 30_000);
+        int threads = config.getInt("http.threads", 0);
+        if (connectMillis <= 0 || requestMillis <= 0) {
+            throw new SearchException("http.connectTimeoutMillis and http.requestTimeoutMillis must be positive");
+        }
+        if (threads < 0) {
+            throw new SearchException("http.threads must not be negative");
+        }
+        boolean compression = config.getBoolean("http.compression", true);
+
+        String key = version + "/" + connectMillis + "/" + requestMillis + "/" + threads + "/" + compression;
+        return SHARED.computeIfAbsent(key, k -> new HttpTransport(version, Duration.ofMillis(connectMillis),
+                Duration.ofMillis(requestMillis), threads, compression));
+    }
+
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    /**
+     * Starts a GET request with the transport's timeout and content negotiation headers.
+     */
+    public HttpRequest.Builder newRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .GET()
+                .timeout(requestTimeout)
+                .header("User-Agent", USER_AGENT);
+        if (compression) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        return builder;
+    }
+
+    /**
+     * Wraps {@code body} (the raw bytes of {@code response}) in a decoder matching its Content-Encoding. Decoding
+     * streams along with the parser's reads, so a page is never held compressed and inflated at the same time.
+     */
+    public static InputStream decode(HttpResponse<?> response, InputStream body) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity").trim();
+        if (encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("x-gzip")) {
+            return new GZIPInputStream(body, 8192);
+        }
+        if (encoding.isEmpty() || encoding.equalsIgnoreCase("identity")) {
+            return body;
+        }
+        throw new IOException("Unsupported Content-Encoding: " + encoding);
+    }
+
+    @Override
+    public String toString() {
+        return "http transport " + version + ", connectTimeout=" + connectTimeout.toMillis() + "ms, requestTimeout="
+                + requestTimeout.toMillis() + "ms, threads=" + (threads == 0 ? "cached" : threads) + ", compression="
+                + compression;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
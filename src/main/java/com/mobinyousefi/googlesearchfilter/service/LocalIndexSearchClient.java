@@ -0,0 +1,52 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: LocalIndexSearchClient.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.index.LocalIndex;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Offline {@link SearchClient} answering from a {@link LocalIndex} of previously collected results, ranked by BM25.
+ * It needs no API key or network and costs no quota, so it can serve alone or next to Google in a
+ * {@link FederatedSearchClient}.
+ */
+public final class LocalIndexSearchClient implements SearchClient {
+
+    private final LocalIndex index;
+
+    public LocalIndexSearchClient(LocalIndex index) {
+        this.index = Objects.requireNonNull(index, "index must not be null");
+    }
+
+    @Override
+    public List<SearchResult> search(String query, int maxResults) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be null or blank");
+        }
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be positive");
+        }
+        return index.search(query, maxResults);
+    }
+
+    public LocalIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return index.toString();
+    }
+}
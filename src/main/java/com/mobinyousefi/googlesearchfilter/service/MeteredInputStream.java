@@ -0,0 +1,60 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: MeteredInputStream.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read through it and the time spent blocked in reads, so a streaming parse can be split into
+ * body-read and parse time. Single-reader, like the parser that consumes it.
+ */
+final class MeteredInputStream extends FilterInputStream {
+
+    private long bytes;
+    private long readNanos;
+
+    MeteredInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        int b = super.read();
+        readNanos += System.nanoTime() - start;
+        if (b >= 0) {
+            bytes++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        long start = System.nanoTime();
+        int n = super.read(buffer, offset, length);
+        readNanos += System.nanoTime() - start;
+        if (n > 0) {
+            bytes += n;
+        }
+        return n;
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    long getReadNanos() {
+        return readNanos;
+    }
+}
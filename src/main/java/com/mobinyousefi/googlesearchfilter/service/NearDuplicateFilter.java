@@ -0,0 +1,279 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: NearDuplicateFilter.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.util.Hashing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Drops near-duplicate results: mirrors, syndicated copies and URL variants of one page, which differ in link and so
+ * are distinct to {@link SearchResult#equals}.
+ *
+ * Every result gets a 64-bit SimHash of its title and snippet. The text is normalized to lower-cased runs of letters
+ * and digits, without the site name a title may end with ({@code "... - Site"}, {@code "... | Site"}) and the date
+ * CSE puts in front of some snippets ({@code "Mar 3, 2024 ... "}). It is shingled into overlapping word pairs, and
+ * each fingerprint bit is the majority vote of that bit over the shingle hashes, so texts sharing most shingles
+ * differ in few bits. Results are offered best-ranked first; one
+ * within {@code maxDistance} differing bits (Hamming distance) of a result already kept is a duplicate, so the
+ * best-ranked copy is the one that survives. Results without any title or snippet words are always kept.
+ *
+ * Candidates come from banded hash tables rather than a scan of everything kept: the fingerprint is cut into
+ * {@code maxDistance + 1} bands, and two fingerprints within the distance agree exactly on at least one band, so only
+ * results sharing a band value are compared. Narrower bands match more often, so lookups get slower as the distance
+ * grows. Not thread-safe; use one instance per result list or stream.
+ */
+public final class NearDuplicateFilter {
+
+    private static final String[] TITLE_SEPARATORS = {" - ", " | ", " \u2013 ", " \u2014 ", " :: "};
+    private static final int MAX_SITE_NAME_LENGTH = 40;
+    private static final int MAX_DATE_PREFIX_LENGTH = 20;
+
+    private final int maxDistance;
+    private final int[] bandShifts;
+    private final long[] bandMasks;
+    private final BandTable[] tables;
+    private final int[] votes = new int[Long.SIZE];
+    private int shingles; // of the last fingerprint
+    private long duplicates;
+
+    /**
+     * @param maxDistance differing fingerprint bits up to which two results are duplicates, from 0 to
+     *                    {@value FilterCriteria#MAX_NEAR_DUPLICATE_DISTANCE}. Copies differing only in a site name
+     *                    appended to the title are mostly within 6; unrelated snippets are about 32 apart
+     */
+    public NearDuplicateFilter(int maxDistance) {
+        if (maxDistance < 0 || maxDistance > FilterCriteria.MAX_NEAR_DUPLICATE_DISTANCE) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and "
+                    + FilterCriteria.MAX_NEAR_DUPLICATE_DISTANCE);
+        }
+        this.maxDistance = maxDistance;
+        int bands = maxDistance + 1;
+        this.bandShifts = new int[bands];
+        this.bandMasks = new long[bands];
+        this.tables = new BandTable[bands];
+        int shift = 0;
+        for (int b = 0; b < bands; b++) {
+            int width = Long.SIZE / bands + (b < Long.SIZE % bands ? 1 : 0);
+            bandShifts[b] = shift;
+            bandMasks[b] = width == Long.SIZE ? -1L : (1L << width) - 1;
+            tables[b] = new BandTable();
+            shift += width;
+        }
+    }
+
+    /**
+     * @return the results that are not near-duplicates of a better-ranked one, in their original order
+     */
+    public static List<SearchResult> collapse(List<SearchResult> results, int maxDistance) {
+        NearDuplicateFilter filter = new NearDuplicateFilter(maxDistance);
+        List<SearchResult> kept = new ArrayList<>();
+        for (SearchResult r : results) {
+            if (filter.add(r)) {
+                kept.add(r);
+            }
+        }
+        return kept;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Offers the next result in rank order.
+     *
+     * @return true if it was kept, false if it is a near-duplicate of a result kept earlier
+     */
+    public boolean add(SearchResult r) {
+        long fingerprint = fingerprint(r);
+        if (shingles == 0) {
+            return true;
+        }
+        for (int b = 0; b < tables.length; b++) {
+            if (tables[b].containsWithin(band(fingerprint, b), fingerprint, maxDistance)) {
+                duplicates++;
+                return false;
+            }
+        }
+        for (int b = 0; b < tables.length; b++) {
+            tables[b].add(band(fingerprint, b), fingerprint);
+        }
+        return true;
+    }
+
+    /**
+     * @return results dropped as near-duplicates so far
+     */
+    public long getDuplicateCount() {
+        return duplicates;
+    }
+
+    private long band(long fingerprint, int b) {
+        return (fingerprint >>> bandShifts[b]) & bandMasks[b];
+    }
+
+    private long fingerprint(SearchResult r) {
+        shingles = 0;
+        String title = r.getTitle();
+        String snippet = r.getSnippet();
+        if (title != null) {
+            vote(title, 0, titleEnd(title));
+        }
+        if (snippet != null) {
+            vote(snippet, snippetStart(snippet), snippet.length());
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+            votes[bit] = 0;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @return where the title ends once a trailing site name is cut off
+     */
+    private static int titleEnd(String title) {
+        int end = title.length();
+        for (String separator : TITLE_SEPARATORS) {
+            int at = title.lastIndexOf(separator);
+            if (at > 0 && title.length() - at - separator.length() <= MAX_SITE_NAME_LENGTH) {
+                end = Math.min(end, at);
+            }
+        }
+        return end;
+    }
+
+    /**
+     * @return where the snippet starts once a leading date ("Mar 3, 2024 ...", "2 days ago ...") is skipped
+     */
+    private static int snippetStart(String snippet) {
+        int at = snippet.indexOf(" ... ");
+        if (at < 0 || at > MAX_DATE_PREFIX_LENGTH) {
+            return 0;
+        }
+        for (int i = 0; i < at; i++) {
+            if (Character.isDigit(snippet.charAt(i))) {
+                return at + 5;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds the word-pair shingles of {@code text[start, end)}; a single word is a shingle of its own. Shingles do not
+     * span fields.
+     */
+    private void vote(String text, int start, int end) {
+        int n = end;
+        int words = 0;
+        long previous = 0;
+        int i = start;
+        while (i < n) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            long word = Hashing.FNV_OFFSET;
+            char c;
+            while (i < n && Character.isLetterOrDigit(c = text.charAt(i))) {
+                word = (word ^ Character.toLowerCase(c)) * Hashing.FNV_PRIME;
+                i++;
+            }
+            if (words++ > 0) {
+                vote(Hashing.mix(previous * 31 + word)); // mixed: the majority vote needs even high bits
+            }
+            previous = word;
+        }
+        if (words == 1) {
+            vote(Hashing.mix(previous));
+        }
+    }
+
+    private void vote(long shingle) {
+        shingles++;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            votes[bit] += (int) ((shingle >>> bit) & 1) * 2 - 1;
+        }
+    }
+
+    /**
+     * Open-addressing map from one band value to the kept fingerprints having it, stored contiguously so that a
+     * lookup scans memory sequentially.
+     */
+    private static final class BandTable {
+        private long[] keys = new long[64];
+        private long[][] buckets = new long[64][]; // null marks a free slot
+        private int[] sizes = new int[64];
+        private int used;
+
+        boolean containsWithin(long key, long fingerprint, int maxDistance) {
+            int slot = slot(key, keys, buckets);
+            long[] bucket = buckets[slot];
+            for (int i = 0, n = sizes[slot]; i < n; i++) {
+                if (Long.bitCount(fingerprint ^ bucket[i]) <= maxDistance) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(long key, long fingerprint) {
+            int slot = slot(key, keys, buckets);
+            long[] bucket = buckets[slot];
+            if (bucket == null) {
+                keys[slot] = key;
+                bucket = buckets[slot] = new long[4];
+                used++;
+            } else if (sizes[slot] == bucket.length) {
+                bucket = buckets[slot] = Arrays.copyOf(bucket, bucket.length * 2);
+            }
+            bucket[sizes[slot]++] = fingerprint;
+            if (used * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[][] oldBuckets = buckets;
+            int[] oldSizes = sizes;
+            keys = new long[oldKeys.length * 2];
+            buckets = new long[oldBuckets.length * 2][];
+            sizes = new int[oldSizes.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldBuckets[i] != null) {
+                    int slot = slot(oldKeys[i], keys, buckets);
+                    keys[slot] = oldKeys[i];
+                    buckets[slot] = oldBuckets[i];
+                    sizes[slot] = oldSizes[i];
+                }
+            }
+        }
+
+        private static int slot(long key, long[] keys, long[][] buckets) {
+            int mask = keys.length - 1;
+            int slot = (int) Hashing.mix(key) & mask;
+            while (buckets[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
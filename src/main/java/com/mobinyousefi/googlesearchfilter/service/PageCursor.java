@@ -0,0 +1,197 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: PageCursor.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.exception.SearchTimeoutException;
+import com.mobinyousefi.googlesearchfilter.metrics.SearchMetrics;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link SearchCursor} over the pages of a {@link PagedSearchClient}.
+ *
+ * Page offsets are known up front, so pages are requested ahead of the one being consumed, up to
+ * {@code getMaxConcurrentPages()} at a time. Results are handed out strictly in page order; once an empty page is
+ * seen, or enough results have been emitted, every page requested past it is cancelled.
+ *
+ * With a {@link FilterPlan}, only matching rows are emitted and the prefetch window follows the selectivity observed
+ * so far: a filter that keeps one row in five keeps five times as many pages in flight as one that keeps everything.
+ * Rows dropped as near-duplicates of earlier ones count as filtered out.
+ */
+final class PageCursor implements SearchCursor {
+
+    private final PagedSearchClient client;
+    private final String query;
+    private final QueryParameters parameters;
+    private final int pageSize;
+    private final int maxPages;
+    private final int maxResults;
+    private final FilterPlan plan;
+    private final NearDuplicateFilter duplicates;
+    private final int maxInFlight;
+
+    private final Deque<CompletableFuture<List<SearchResult>>> inFlight = new ArrayDeque<>();
+    private Iterator<SearchResult> current = Collections.emptyIterator();
+    private int requested;
+    private int seen;
+    private int emitted;
+    private boolean done;
+    private boolean hasDeadline;
+    private long deadlineNanos;
+
+    private PageCursor(PagedSearchClient client, String query, QueryParameters parameters, int pageSize,
+                       int maxPages, int maxResults, FilterPlan plan) {
+        this.client = client;
+        this.query = query;
+        this.parameters = parameters;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.maxResults = maxResults;
+        this.plan = plan;
+        this.duplicates = plan == null ? null : plan.newNearDuplicateFilter();
+        this.maxInFlight = Math.max(1, client.getMaxConcurrentPages());
+    }
+
+    /**
+     * Plain pagination: exactly enough pages for {@code maxResults} rows, all of them emitted.
+     */
+    static PageCursor open(PagedSearchClient client, String query, int maxResults) {
+        validate(query, maxResults);
+        int pageSize = Math.min(maxResults, PagedSearchClient.MAX_PAGE_SIZE);
+        int pageCount = (maxResults + pageSize - 1) / pageSize;
+        return new PageCursor(client, query, QueryParameters.EMPTY, pageSize, pageCount, maxResults, null);
+    }
+
+    /**
+     * Filtered pagination: full pages, up to {@code pageBudget} of them, until {@code plan.getMaxResults()} rows
+     * have matched.
+     */
+    static PageCursor open(PagedSearchClient client, String query, QueryParameters parameters, FilterPlan plan,
+                           int pageBudget) {
+        validate(query, plan.getMaxResults());
+        return new PageCursor(client, query, parameters, PagedSearchClient.MAX_PAGE_SIZE, pageBudget,
+                plan.getMaxResults(), plan);
+    }
+
+    /**
+     * Bounds the total time spent waiting for pages: once {@code deadlineNanos} ({@link System#nanoTime()} scale)
+     * has passed, {@link #next()} cancels whatever is in flight and throws {@link SearchTimeoutException}.
+     */
+    PageCursor withDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadlineNanos = deadlineNanos;
+        return this;
+    }
+
+    private static void validate(String query, int maxResults) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be null or blank");
+        }
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("maxResults must be positive");
+        }
+    }
+
+    @Override
+    public SearchResult next() throws IOException, SearchException {
+        while (!done) {
+            while (current.hasNext()) {
+                SearchResult r = current.next();
+                if (++emitted >= maxResults) {
+                    close();
+                }
+                return r;
+            }
+
+            topUp();
+            if (inFlight.isEmpty()) {
+                close(); // page budget spent
+                break;
+            }
+            List<SearchResult> page;
+            try {
+                CompletableFuture<List<SearchResult>> next = inFlight.poll();
+                page = hasDeadline ? Pagination.await(next, deadlineNanos) : Pagination.await(next);
+            } catch (IOException | SearchException | RuntimeException e) {
+                close();
+                throw e;
+            }
+            if (page.isEmpty()) {
+                close(); // no more results
+                break;
+            }
+            seen += page.size();
+            current = plan == null ? page.iterator() : matching(page).iterator();
+        }
+        return null;
+    }
+
+    private List<SearchResult> matching(List<SearchResult> page) {
+        long start = System.nanoTime();
+        List<SearchResult> kept = new ArrayList<>(page.size());
+        long duplicatesBefore = duplicates == null ? 0 : duplicates.getDuplicateCount();
+        for (SearchResult r : page) {
+            if (plan.test(r) && (duplicates == null || duplicates.add(r))) {
+                kept.add(r);
+            }
+        }
+        SearchMetrics.FILTER.recordSince(start);
+        SearchMetrics.RESULTS_IN.add(page.size());
+        SearchMetrics.RESULTS_OUT.add(kept.size());
+        if (duplicates != null) {
+            SearchMetrics.NEAR_DUPLICATES.add(duplicates.getDuplicateCount() - duplicatesBefore);
+        }
+        return kept;
+    }
+
+    private void topUp() {
+        int window = maxInFlight;
+        if (plan != null) {
+            window = Math.min(window, estimatePagesNeeded(maxResults - emitted, emitted, seen, pageSize));
+        }
+        while (inFlight.size() < window && requested < maxPages) {
+            int offset = requested * pageSize;
+            // filtered cursors always ask for full pages: same quota per request, more candidates
+            int num = plan == null ? Math.min(pageSize, maxResults - offset) : pageSize;
+            inFlight.add(client.fetchPage(query, parameters, offset + 1, num));
+            requested++;
+        }
+    }
+
+    /**
+     * Pages still needed at the observed selectivity. The estimate is smoothed towards "everything matches", so the
+     * first round requests exactly as many pages as an unfiltered search would.
+     */
+    static int estimatePagesNeeded(int missing, int matched, int seen, int pageSize) {
+        double selectivity = (matched + 0.5) / (seen + 0.5);
+        return Math.max(1, (int) Math.ceil(missing / (selectivity * pageSize)));
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        current = Collections.emptyIterator();
+        CompletableFuture<List<SearchResult>> future;
+        while ((future = inFlight.poll()) != null) {
+            future.cancel(true); // no-op for pages that already completed
+        }
+    }
+}
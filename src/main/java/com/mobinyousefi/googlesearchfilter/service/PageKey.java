@@ -0,0 +1,71 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: PageKey.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import java.util.Locale;
+
+/**
+ * Identity of a cached result page: the normalized query, any pushed-down provider parameters, and the 1-based offset
+ * of the page's first result.
+ */
+final class PageKey {
+
+    private final String query;
+    private final QueryParameters parameters;
+    private final int start;
+
+    PageKey(String query, QueryParameters parameters, int start) {
+        this.query = query;
+        this.parameters = parameters;
+        this.start = start;
+    }
+
+    static PageKey of(String rawQuery, QueryParameters parameters, int start) {
+        return new PageKey(normalize(rawQuery), parameters, start);
+    }
+
+    /**
+     * Trims, collapses internal whitespace and lower-cases, so trivially different spellings share cache entries.
+     */
+    static String normalize(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    QueryParameters getParameters() {
+        return parameters;
+    }
+
+    int getStart() {
+        return start;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PageKey that)) return false;
+        return start == that.start && query.equals(that.query) && parameters.equals(that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * query.hashCode() + parameters.hashCode()) + start;
+    }
+
+    @Override
+    public String toString() {
+        return parameters.isEmpty() ? query + "@" + start : query + "[" + parameters + "]@" + start;
+    }
+}
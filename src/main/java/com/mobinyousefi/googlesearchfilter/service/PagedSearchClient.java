@@ -0,0 +1,75 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: PagedSearchClient.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Search provider that serves results in fixed offset pages, the way Google CSE does.
+ *
+ * Page fetches are asynchronous so that pages can be requested ahead of consumption and so that decorators (caching,
+ * coalescing, ...) can be stacked on the page level. {@link #search} and {@link #stream} are derived from
+ * {@link #fetchPage}.
+ */
+public interface PagedSearchClient extends SearchClient {
+
+    /**
+     * Largest page a provider is asked for (Google CSE max results per request).
+     */
+    int MAX_PAGE_SIZE = 10;
+
+    /**
+     * Fetches a single page of results.
+     *
+     * @param query      free-text search query
+     * @param parameters extra provider parameters, see {@link #supportsPushdown()}
+     * @param start      1-based offset of the first result
+     * @param num        number of results requested, at most {@link #MAX_PAGE_SIZE}
+     * @return future completing with the page (empty once past the last result); failures complete it exceptionally
+     * with an {@link IOException} or {@link SearchException}
+     */
+    CompletableFuture<List<SearchResult>> fetchPage(String query, QueryParameters parameters, int start, int num);
+
+    default CompletableFuture<List<SearchResult>> fetchPage(String query, int start, int num) {
+        return fetchPage(query, QueryParameters.EMPTY, start, num);
+    }
+
+    /**
+     * @return true if the provider understands Google CSE request parameters, so that parts of a
+     * {@code FilterCriteria} can be pushed into the request (see {@link CsePushdown})
+     */
+    default boolean supportsPushdown() {
+        return false;
+    }
+
+    /**
+     * @return how many pages {@link #search} may have in flight at once
+     */
+    default int getMaxConcurrentPages() {
+        return 1;
+    }
+
+    @Override
+    default List<SearchResult> search(String query, int maxResults) throws IOException, SearchException {
+        return Pagination.collect(this, query, maxResults);
+    }
+
+    @Override
+    default SearchCursor stream(String query, int maxResults) {
+        return PageCursor.open(this, query, maxResults);
+    }
+}
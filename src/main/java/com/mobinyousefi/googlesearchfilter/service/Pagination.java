@@ -0,0 +1,83 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: Pagination.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.exception.SearchTimeoutException;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Helpers shared by the page-level search clients.
+ */
+final class Pagination {
+
+    private Pagination() {
+    }
+
+    static List<SearchResult> collect(PagedSearchClient client, String query, int maxResults)
+            throws IOException, SearchException {
+        return PageCursor.open(client, query, maxResults).toList();
+    }
+
+    static <T> T await(CompletableFuture<T> future) throws IOException, SearchException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Like {@link #await(CompletableFuture)}, but gives up at {@code deadlineNanos} ({@link System#nanoTime()}
+     * scale) and cancels the future.
+     */
+    static <T> T await(CompletableFuture<T> future, long deadlineNanos) throws IOException, SearchException {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new SearchTimeoutException("Search deadline exceeded");
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        }
+    }
+
+    private static SearchException interrupted(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new SearchException("Search request interrupted", e);
+    }
+
+    /**
+     * @return the failure as a SearchException, unless it is an IOException, which is thrown as-is
+     */
+    private static SearchException failure(ExecutionException e) throws IOException {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException io) {
+            throw io;
+        }
+        if (cause instanceof SearchException se) {
+            return se;
+        }
+        return new SearchException("Search request failed", cause);
+    }
+}
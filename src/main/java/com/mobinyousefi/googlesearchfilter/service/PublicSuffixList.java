@@ -0,0 +1,182 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: PublicSuffixList.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.IDN;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The rules of the Public Suffix List (https://publicsuffix.org/list/): the suffixes under which anyone can register
+ * names, such as {@code com}, {@code co.uk} or {@code github.io}. A domain list uses them to tell a site
+ * ({@code evil.co.uk}) from a whole namespace of unrelated owners ({@code co.uk}).
+ *
+ * Rules are the usual three kinds: plain ({@code co.uk}), wildcard ({@code *.ck}) and exception ({@code !www.ck}),
+ * with the implicit rule {@code *}, so an unlisted top-level domain is a public suffix of its own. Hosts are expected
+ * lower-case and in ASCII (Punycode) form; Unicode rules are converted on loading. Immutable and thread-safe.
+ */
+public final class PublicSuffixList {
+
+    /** No rules but the implicit {@code *}: every top-level domain is a public suffix, nothing else is. */
+    public static final PublicSuffixList DEFAULT = new PublicSuffixList(Set.of(), Set.of(), Set.of());
+
+    private final Set<String> rules;
+    private final Set<String> wildcards; // the parent of each wildcard rule: "ck" for "*.ck"
+    private final Set<String> exceptions;
+
+    private PublicSuffixList(Set<String> rules, Set<String> wildcards, Set<String> exceptions) {
+        this.rules = rules;
+        this.wildcards = wildcards;
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * Reads a list in the publicsuffix.org format: one rule per line, {@code //} comments.
+     */
+    public static PublicSuffixList load(Path file) throws IOException {
+        Set<String> rules = new HashSet<>();
+        Set<String> wildcards = new HashSet<>();
+        Set<String> exceptions = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String rule = line.strip();
+                int space = indexOfWhitespace(rule);
+                if (space >= 0) {
+                    rule = rule.substring(0, space); // only the first word of a line is the rule
+                }
+                if (rule.isEmpty() || rule.startsWith("//")) {
+                    continue;
+                }
+                if (rule.startsWith("!")) {
+                    exceptions.add(toAscii(rule.substring(1)));
+                } else if (rule.startsWith("*.")) {
+                    wildcards.add(toAscii(rule.substring(2)));
+                } else {
+                    rules.add(toAscii(rule));
+                }
+            }
+        }
+        return new PublicSuffixList(rules, wildcards, exceptions);
+    }
+
+    /**
+     * @return the number of explicit rules
+     */
+    public int size() {
+        return rules.size() + wildcards.size() + exceptions.size();
+    }
+
+    /**
+     * @return the public suffix {@code host} ends with: {@code co.uk} for {@code www.evil.co.uk}
+     */
+    public String publicSuffix(String host) {
+        return host.substring(publicSuffixStart(host));
+    }
+
+    /**
+     * @return true if {@code host} is itself a public suffix, so that no single owner controls its sub-domains
+     */
+    public boolean isPublicSuffix(String host) {
+        if (exceptions.contains(host)) {
+            return false;
+        }
+        int next = nextLabel(host, 0);
+        return next < 0 || rules.contains(host) || wildcards.contains(host.substring(next));
+    }
+
+    /**
+     * @return the registrable domain of {@code host}, its public suffix plus one label ({@code evil.co.uk} for
+     *         {@code www.evil.co.uk}), or null if {@code host} is a public suffix
+     */
+    public String registrableDomain(String host) {
+        int start = publicSuffixStart(host);
+        if (start == 0) {
+            return null;
+        }
+        return host.substring(host.lastIndexOf('.', start - 2) + 1);
+    }
+
+    /**
+     * @return a stable hash of the rules, so that anything derived from them can tell when they change
+     */
+    public long fingerprint() {
+        long hash = rules.size() * 31L + wildcards.size() * 17L + exceptions.size();
+        for (String rule : rules) {
+            hash += rule.hashCode();
+        }
+        for (String rule : wildcards) {
+            hash += rule.hashCode() * 7L;
+        }
+        for (String rule : exceptions) {
+            hash += rule.hashCode() * 13L;
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "public suffix list, " + size() + " rules";
+    }
+
+    /**
+     * @return where the public suffix of {@code host} starts
+     */
+    private int publicSuffixStart(String host) {
+        // an exception rule wins over every other rule; its suffix is the rule without its first label
+        for (int start = 0; start >= 0; start = nextLabel(host, start)) {
+            if (exceptions.contains(host.substring(start))) {
+                int next = nextLabel(host, start);
+                return next >= 0 ? next : start;
+            }
+        }
+        // otherwise the longest matching rule, i.e. the leftmost start; "*" matches the last label
+        for (int start = 0; start >= 0; start = nextLabel(host, start)) {
+            int next = nextLabel(host, start);
+            if (rules.contains(host.substring(start)) || (next >= 0 && wildcards.contains(host.substring(next)))) {
+                return start;
+            }
+            if (next < 0) {
+                return start;
+            }
+        }
+        return 0;
+    }
+
+    private static int nextLabel(String host, int start) {
+        int dot = host.indexOf('.', start);
+        return dot < 0 ? -1 : dot + 1;
+    }
+
+    private static int indexOfWhitespace(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isWhitespace(s.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String toAscii(String rule) {
+        String lower = CaseInsensitiveTable.lower(rule);
+        try {
+            return IDN.toASCII(lower, IDN.ALLOW_UNASSIGNED);
+        } catch (IllegalArgumentException e) {
+            return lower;
+        }
+    }
+}
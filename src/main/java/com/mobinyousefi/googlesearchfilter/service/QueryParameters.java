@@ -0,0 +1,112 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: QueryParameters.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable set of extra provider request parameters (e.g. CSE {@code lr}, {@code fileType}) sent along with a query.
+ *
+ * Parameters are kept sorted by name, so equal sets have one canonical query-string form; that form is what
+ * identifies them in cache keys.
+ */
+public final class QueryParameters {
+
+    public static final QueryParameters EMPTY = new QueryParameters(new TreeMap<>());
+
+    private final SortedMap<String, String> values;
+    private final String queryString;
+
+    private QueryParameters(TreeMap<String, String> values) {
+        this.values = Collections.unmodifiableSortedMap(values);
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append('&');
+            }
+            sb.append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
+        }
+        this.queryString = sb.toString();
+    }
+
+    /**
+     * @return a copy with {@code name} set to {@code value}, replacing any previous value
+     */
+    public QueryParameters with(String name, String value) {
+        TreeMap<String, String> copy = new TreeMap<>(values);
+        copy.put(name, value);
+        return new QueryParameters(copy);
+    }
+
+    /**
+     * Inverse of {@link #toQueryString()}.
+     */
+    public static QueryParameters parse(String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return EMPTY;
+        }
+        TreeMap<String, String> values = new TreeMap<>();
+        for (String pair : queryString.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Malformed query parameter: " + pair);
+            }
+            values.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return new QueryParameters(values);
+    }
+
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @return URL-encoded {@code name=value} pairs joined by {@code &}, sorted by name; empty if there are none
+     */
+    public String toQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof QueryParameters that)) return false;
+        return queryString.equals(that.queryString);
+    }
+
+    @Override
+    public int hashCode() {
+        return queryString.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return queryString;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: QuotaLimiter.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request shaping against a provider quota: a token bucket for the per-second rate plus a daily request cap.
+ *
+ * Callers {@link #reserve()} a slot before each request and wait the returned delay, so bursts queue up instead of
+ * being rejected; a caller that gives up before sending hands the slot back with {@link #release()}. When the
+ * provider signals throttling ({@link #onThrottle()}), the effective rate and the page concurrency hint are halved;
+ * every success wins back a little (additive increase, multiplicative decrease).
+ *
+ * Quotas are per API key, not per client object, so limiters are shared JVM-wide through {@link #shared}.
+ */
+public final class QuotaLimiter {
+
+    // Google resets CSE daily quotas at midnight Pacific time
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("America/Los_Angeles");
+    private static final double MIN_THROTTLE_FACTOR = 0.1;
+    private static final double RECOVERY_STEP = 0.02;
+
+    private static final Map<String, QuotaLimiter> SHARED = new ConcurrentHashMap<>();
+
+    private final double ratePerSecond;
+    private final long dailyQuota;
+    private final Clock clock;
+
+    // guarded by "this"
+    private double tokens;
+    private long lastRefillNanos;
+    private LocalDate quotaDay;
+    private long usedToday;
+    private double throttleFactor = 1.0;
+
+    QuotaLimiter(double ratePerSecond, long dailyQuota, Clock clock) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.dailyQuota = dailyQuota;
+        this.clock = clock;
+        this.tokens = burst();
+        this.lastRefillNanos = System.nanoTime();
+        this.quotaDay = LocalDate.now(clock.withZone(QUOTA_ZONE));
+    }
+
+    /**
+     * Returns the limiter for {@code key}, creating it with the given limits on first use.
+     *
+     * @param dailyQuota maximum requests per quota day; 0 or less for no cap
+     */
+    public static QuotaLimiter shared(String key, double ratePerSecond, long dailyQuota) {
+        return SHARED.computeIfAbsent(key, k -> new QuotaLimiter(ratePerSecond, dailyQuota, Clock.systemUTC()));
+    }
+
+    /**
+     * Takes one request slot.
+     *
+     * @return nanoseconds the caller has to wait before sending
+     * @throws SearchException if the daily quota is used up
+     */
+    public synchronized long reserve() throws SearchException {
+        LocalDate today = LocalDate.now(clock.withZone(QUOTA_ZONE));
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            usedToday = 0;
+        }
+        if (dailyQuota > 0 && usedToday >= dailyQuota) {
+            throw new SearchException("Daily quota of " + dailyQuota + " requests exhausted");
+        }
+        usedToday++;
+
+        double rate = effectiveRate();
+        long now = System.nanoTime();
+        tokens = Math.min(burst(), tokens + (now - lastRefillNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+        tokens -= 1; // may go negative: the debt is the queue of callers waiting ahead of us
+        return tokens >= 0 ? 0 : (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Returns a slot taken by {@link #reserve()} whose request was never sent, e.g. because its page was cancelled
+     * while waiting: it no longer counts against the daily quota, and its rate token shortens the wait of later
+     * callers.
+     */
+    public synchronized void release() {
+        if (usedToday > 0 && quotaDay.equals(LocalDate.now(clock.withZone(QUOTA_ZONE)))) {
+            usedToday--;
+        }
+        tokens = Math.min(burst(), tokens + 1);
+    }
+
+    public synchronized void onThrottle() {
+        throttleFactor = Math.max(MIN_THROTTLE_FACTOR, throttleFactor / 2);
+    }
+
+    public synchronized void onSuccess() {
+        throttleFactor = Math.min(1.0, throttleFactor + RECOVERY_STEP);
+    }
+
+    /**
+     * @return 1.0 when unthrottled, down to 0.1 after repeated throttling
+     */
+    public synchronized double getThrottleFactor() {
+        return throttleFactor;
+    }
+
+    public synchronized long getUsedToday() {
+        return usedToday;
+    }
+
+    private double effectiveRate() {
+        return ratePerSecond * throttleFactor;
+    }
+
+    private double burst() {
+        return Math.max(1.0, ratePerSecond);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: ResultBatch.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.model.StringDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, column-oriented batch of search results, for filtering many rows against the same plan at once, e.g.
+ * when reprocessing stored results offline.
+ *
+ * Every attribute a {@link FilterPlan} looks at is held as a primitive column: indexed times as epoch seconds and
+ * nanos, hosts, MIME types and languages as ids into per-batch {@link StringDictionary dictionaries}, and the
+ * has-time and safe flags as bitsets. {@link #select} evaluates each restricting predicate as one tight loop over its
+ * column into a {@code long[]} bitset (bit {@code i} of word {@code i / 64} stands for row {@code i}) and ANDs the
+ * bitsets together. String predicates such as the domain lists run once per distinct value, not once per row.
+ * Batches of more than a few ten thousand rows are split across the common fork-join pool.
+ */
+public final class ResultBatch {
+
+    // rows per fork-join leaf; a multiple of 64, so tasks never share a bitset word
+    private static final int LEAF_ROWS = 1 << 14;
+    private static final int LEAF_WORDS = LEAF_ROWS >>> 6;
+    private static final int PARALLEL_THRESHOLD = 2 * LEAF_ROWS;
+
+    private final SearchResult[] rows;
+    private final long[] epochSeconds;
+    private final int[] nanos;
+    private final long[] timed; // bitset: row has an indexed time
+    private final long[] safe;  // bitset: row is safe
+    private final Column hosts;
+    private final Column mimeTypes;
+    private final Column languages;
+
+    private ResultBatch(SearchResult[] rows) {
+        int size = rows.length;
+        this.rows = rows;
+        this.epochSeconds = new long[size];
+        this.nanos = new int[size];
+        this.timed = new long[words(size)];
+        this.safe = new long[words(size)];
+        this.hosts = new Column(size);
+        this.mimeTypes = new Column(size);
+        this.languages = new Column(size);
+        for (int i = 0; i < size; i++) {
+            SearchResult r = Objects.requireNonNull(rows[i], "results must not contain null");
+            if (r.hasIndexedTime()) {
+                epochSeconds[i] = r.getIndexedEpochSecond();
+                nanos[i] = r.getIndexedNano();
+                timed[i >>> 6] |= 1L << i;
+            }
+            if (r.isSafe()) {
+                safe[i >>> 6] |= 1L << i;
+            }
+            hosts.set(i, r.getDisplayLink());
+            mimeTypes.set(i, r.getMimeType());
+            languages.set(i, r.getLanguageCode());
+        }
+    }
+
+    /**
+     * Copies {@code results} into columns; the batch keeps the row objects themselves for {@link #collect}.
+     */
+    public static ResultBatch of(List<SearchResult> results) {
+        return new ResultBatch(results.toArray(new SearchResult[0]));
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public SearchResult get(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Evaluates {@code plan} over every row, ignoring its {@code maxResults}.
+     *
+     * @return the matching rows as a bitset of {@code ceil(size / 64)} words
+     */
+    public long[] select(FilterPlan plan) {
+        Evaluation evaluation = new Evaluation(plan);
+        long[] selection = new long[words(rows.length)];
+        if (rows.length >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new SelectTask(evaluation, selection, 0, selection.length));
+        } else {
+            evaluation.evaluate(selection, 0, selection.length);
+        }
+        return selection;
+    }
+
+    /**
+     * @return the rows of a {@link #select} bitset in batch order, at most {@code limit} of them
+     */
+    public List<SearchResult> collect(long[] selection, int limit) {
+        return collect(selection, limit, null);
+    }
+
+    /**
+     * {@link #collect(long[], int)} skipping the rows {@code duplicates} rejects; null keeps every row.
+     */
+    public List<SearchResult> collect(long[] selection, int limit, NearDuplicateFilter duplicates) {
+        List<SearchResult> out = new ArrayList<>(Math.min(limit, cardinality(selection)));
+        for (int w = 0; w < selection.length && out.size() < limit; w++) {
+            long word = selection[w];
+            while (word != 0 && out.size() < limit) {
+                SearchResult row = rows[(w << 6) + Long.numberOfTrailingZeros(word)];
+                if (duplicates == null || duplicates.add(row)) {
+                    out.add(row);
+                }
+                word &= word - 1;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return the number of rows set in a {@link #select} bitset
+     */
+    public static int cardinality(long[] selection) {
+        int count = 0;
+        for (long word : selection) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * A dictionary-encoded string column. Codes are dictionary id + 1, so that 0 stands for null and every code
+     * indexes an acceptance bitset directly.
+     */
+    private static final class Column {
+        final StringDictionary dictionary;
+        final int[] codes;
+
+        Column(int size) {
+            this.dictionary = new StringDictionary(Math.max(1, size)); // one value per row at most, never overflows
+            this.codes = new int[size];
+        }
+
+        void set(int row, String value) {
+            codes[row] = dictionary.encode(value) + 1;
+        }
+
+        /**
+         * @return bitset over codes of the values {@code predicate} accepts, null included
+         */
+        long[] accepted(Predicate<String> predicate) {
+            int values = dictionary.size() + 1;
+            long[] accept = new long[words(values)];
+            for (int code = 0; code < values; code++) {
+                if (predicate.test(dictionary.decode(code - 1))) {
+                    accept[code >>> 6] |= 1L << code;
+                }
+            }
+            return accept;
+        }
+    }
+
+    /**
+     * One plan bound to this batch: the acceptance bitsets of the string columns are computed once, then shared by
+     * all fork-join leaves.
+     */
+    private final class Evaluation {
+        final FilterPlan plan;
+        final long[] acceptedHosts;
+        final long[] acceptedMimeTypes;
+        final long[] acceptedLanguages;
+
+        Evaluation(FilterPlan plan) {
+            this.plan = Objects.requireNonNull(plan, "plan");
+            this.acceptedHosts = plan.restrictsHost() ? hosts.accepted(plan::acceptsHost) : null;
+            this.acceptedMimeTypes = plan.restrictsMimeType() ? mimeTypes.accepted(plan::acceptsMimeType) : null;
+            this.acceptedLanguages = plan.restrictsLanguage() ? languages.accepted(plan::acceptsLanguage) : null;
+        }
+
+        /**
+         * Fills {@code selection[fromWord, toWord)}. Each predicate skips words that earlier ones already emptied.
+         */
+        void evaluate(long[] selection, int fromWord, int toWord) {
+            for (int w = fromWord; w < toWord; w++) {
+                int live = Math.min(64, rows.length - (w << 6));
+                selection[w] = live == 64 ? -1L : (1L << live) - 1;
+            }
+            if (plan.isSafeOnly()) {
+                for (int w = fromWord; w < toWord; w++) {
+                    selection[w] &= safe[w];
+                }
+            }
+            long[] bits = new long[toWord - fromWord];
+            if (plan.restrictsTime()) {
+                timeBits(selection, bits, fromWord, toWord);
+                and(selection, bits, fromWord, toWord);
+            }
+            if (acceptedHosts != null) {
+                codeBits(hosts.codes, acceptedHosts, selection, bits, fromWord, toWord);
+                and(selection, bits, fromWord, toWord);
+            }
+            if (acceptedMimeTypes != null) {
+                codeBits(mimeTypes.codes, acceptedMimeTypes, selection, bits, fromWord, toWord);
+                and(selection, bits, fromWord, toWord);
+            }
+            if (acceptedLanguages != null) {
+                codeBits(languages.codes, acceptedLanguages, selection, bits, fromWord, toWord);
+                and(selection, bits, fromWord, toWord);
+            }
+        }
+
+        private void timeBits(long[] selection, long[] bits, int fromWord, int toWord) {
+            for (int w = fromWord; w < toWord; w++) {
+                if (selection[w] == 0) {
+                    continue; // and() keeps it empty whatever bits holds
+                }
+                int base = w << 6;
+                int end = Math.min(64, rows.length - base);
+                long word = ~timed[w]; // rows without an indexed time pass
+                for (int b = 0; b < end; b++) {
+                    word |= (plan.inWindow(epochSeconds[base + b], nanos[base + b]) ? 1L : 0L) << b;
+                }
+                bits[w - fromWord] = word;
+            }
+        }
+
+        private void codeBits(int[] codes, long[] accept, long[] selection, long[] bits, int fromWord, int toWord) {
+            for (int w = fromWord; w < toWord; w++) {
+                if (selection[w] == 0) {
+                    continue;
+                }
+                int base = w << 6;
+                int end = Math.min(64, rows.length - base);
+                long word = 0;
+                for (int b = 0; b < end; b++) {
+                    int code = codes[base + b];
+                    word |= ((accept[code >>> 6] >>> code) & 1L) << b;
+                }
+                bits[w - fromWord] = word;
+            }
+        }
+
+        private void and(long[] selection, long[] bits, int fromWord, int toWord) {
+            for (int w = fromWord; w < toWord; w++) {
+                selection[w] &= bits[w - fromWord];
+            }
+        }
+    }
+
+    private static final class SelectTask extends RecursiveAction {
+        private final Evaluation evaluation;
+        private final long[] selection;
+        private final int fromWord;
+        private final int toWord;
+
+        SelectTask(Evaluation evaluation, long[] selection, int fromWord, int toWord) {
+            this.evaluation = evaluation;
+            this.selection = selection;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+        }
+
+        @Override
+        protected void compute() {
+            if (toWord - fromWord <= LEAF_WORDS) {
+                evaluation.evaluate(selection, fromWord, toWord);
+                return;
+            }
+            int mid = (fromWord + toWord) >>> 1;
+            invokeAll(new SelectTask(evaluation, selection, fromWord, mid),
+                    new SelectTask(evaluation, selection, mid, toWord));
+        }
+    }
+}
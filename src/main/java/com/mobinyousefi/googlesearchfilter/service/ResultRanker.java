@@ -0,0 +1,284 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: ResultRanker.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Scores filtered results for a query, so that {@link SearchFilter} can keep the best {@code maxResults} of a larger
+ * candidate pool ({@link TopK}) instead of the first ones to arrive.
+ *
+ * The score is the sum of configurable signals:
+ * <ul>
+ *   <li>title hits: {@code titleWeight} times the share of query terms found as words in the title</li>
+ *   <li>snippet hits: the same for the snippet, with {@code snippetWeight}</li>
+ *   <li>recency: {@code recencyWeight} halved every {@code halfLife} of age, from the indexed time; results without
+ *       one score nothing here</li>
+ *   <li>domain boost: added for a result on a boosted domain or one of its sub-domains, the most specific entry
+ *       winning; negative boosts demote</li>
+ * </ul>
+ * Query terms are the lower-cased runs of letters and digits of the query, matched case-insensitively on whole words.
+ * Results scoring the same keep the provider's order. Immutable and thread-safe.
+ */
+public final class ResultRanker {
+
+    public static final int DEFAULT_CANDIDATES = 100; // all Google CSE serves for one query
+
+    private final double titleWeight;
+    private final double snippetWeight;
+    private final double recencyWeight;
+    private final double halfLifeSeconds;
+    private final CaseInsensitiveTable boostedDomains;
+    private final double[] boosts; // by boostedDomains slot
+    private final int boostedCount;
+    private final int candidates;
+
+    private ResultRanker(Builder builder) {
+        this.titleWeight = builder.titleWeight;
+        this.snippetWeight = builder.snippetWeight;
+        this.recencyWeight = builder.recencyWeight;
+        this.halfLifeSeconds = builder.halfLife.toMillis() / 1000.0;
+        this.boostedDomains = CaseInsensitiveTable.of(builder.domainBoosts.keySet());
+        this.boosts = new double[boostedDomains.capacity()];
+        for (Map.Entry<String, Double> boost : builder.domainBoosts.entrySet()) {
+            String domain = boost.getKey();
+            boosts[boostedDomains.indexOf(domain, 0, domain.length())] = boost.getValue();
+        }
+        this.boostedCount = builder.domainBoosts.size();
+        this.candidates = builder.candidates;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return how many filtered results a ranked search considers before keeping the best {@code maxResults}
+     */
+    public int getCandidates() {
+        return candidates;
+    }
+
+    public Scorer forQuery(String query) {
+        return forQuery(query, Instant.now());
+    }
+
+    /**
+     * @param now reference time for the age of results
+     */
+    public Scorer forQuery(String query, Instant now) {
+        return new Scorer(terms(query), now.getEpochSecond());
+    }
+
+    /**
+     * @return the best {@code k} of {@code results} for {@code query}, best first
+     */
+    public List<SearchResult> rank(String query, Iterable<SearchResult> results, int k) {
+        Scorer scorer = forQuery(query);
+        TopK top = new TopK(k);
+        for (SearchResult r : results) {
+            top.offer(r, scorer.score(r));
+        }
+        return top.toList();
+    }
+
+    /**
+     * @return the boost of {@code host} or of its most specific boosted parent domain, or 0
+     */
+    double domainBoost(String host) {
+        if (host == null || boostedCount == 0) {
+            return 0;
+        }
+        int start = 0;
+        while (true) {
+            int slot = boostedDomains.indexOf(host, start, host.length());
+            if (slot >= 0) {
+                return boosts[slot];
+            }
+            int dot = host.indexOf('.', start);
+            if (dot < 0) {
+                return 0;
+            }
+            start = dot + 1;
+        }
+    }
+
+    private static String[] terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query != null) {
+            int n = query.length();
+            int i = 0;
+            while (i < n) {
+                while (i < n && !Character.isLetterOrDigit(query.charAt(i))) {
+                    i++;
+                }
+                int start = i;
+                while (i < n && Character.isLetterOrDigit(query.charAt(i))) {
+                    i++;
+                }
+                if (i > start) {
+                    terms.add(CaseInsensitiveTable.lower(query.substring(start, i)));
+                }
+            }
+        }
+        return terms.toArray(new String[0]);
+    }
+
+    /**
+     * @return true if {@code term} occurs in {@code text} as a whole word, ignoring case
+     */
+    static boolean containsWord(String text, String term) {
+        int last = text.length() - term.length();
+        for (int i = 0; i <= last; i++) {
+            if ((i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))
+                    && text.regionMatches(true, i, term, 0, term.length())
+                    && (i == last || !Character.isLetterOrDigit(text.charAt(i + term.length())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ranking title=" + titleWeight + ", snippet=" + snippetWeight + ", recency=" + recencyWeight
+                + " (half-life " + Duration.ofMillis(Math.round(halfLifeSeconds * 1000)) + "), boosted domains="
+                + boostedCount + ", candidates=" + candidates;
+    }
+
+    /**
+     * The scoring of one query: its terms and reference time. Thread-safe.
+     */
+    public final class Scorer {
+        private final String[] terms;
+        private final long nowSecond;
+
+        private Scorer(String[] terms, long nowSecond) {
+            this.terms = terms;
+            this.nowSecond = nowSecond;
+        }
+
+        public double score(SearchResult r) {
+            double score = 0;
+            if (terms.length > 0) {
+                score += titleWeight * hitShare(r.getTitle()) + snippetWeight * hitShare(r.getSnippet());
+            }
+            if (recencyWeight != 0 && r.hasIndexedTime()) {
+                double age = Math.max(0, nowSecond - r.getIndexedEpochSecond());
+                score += recencyWeight * Math.pow(0.5, age / halfLifeSeconds);
+            }
+            return score + domainBoost(r.getDisplayLink());
+        }
+
+        private double hitShare(String text) {
+            if (text == null) {
+                return 0;
+            }
+            int hits = 0;
+            for (String term : terms) {
+                if (containsWord(text, term)) {
+                    hits++;
+                }
+            }
+            return (double) hits / terms.length;
+        }
+    }
+
+    public static final class Builder {
+        private double titleWeight = 2;
+        private double snippetWeight = 1;
+        private double recencyWeight = 1;
+        private Duration halfLife = Duration.ofDays(30);
+        private final Map<String, Double> domainBoosts = new LinkedHashMap<>();
+        private int candidates = DEFAULT_CANDIDATES;
+
+        private Builder() {
+        }
+
+        public Builder titleWeight(double titleWeight) {
+            this.titleWeight = titleWeight;
+            return this;
+        }
+
+        public Builder snippetWeight(double snippetWeight) {
+            this.snippetWeight = snippetWeight;
+            return this;
+        }
+
+        /**
+         * @param halfLife age at which the recency signal has dropped to half of {@code weight}
+         */
+        public Builder recency(double weight, Duration halfLife) {
+            if (halfLife.isNegative() || halfLife.isZero()) {
+                throw new IllegalArgumentException("halfLife must be positive");
+            }
+            this.recencyWeight = weight;
+            this.halfLife = halfLife;
+            return this;
+        }
+
+        /**
+         * @param boost added to the score of results on {@code domain} or its sub-domains; negative to demote
+         */
+        public Builder domainBoost(String domain, double boost) {
+            Objects.requireNonNull(domain, "domain must not be null");
+            domainBoosts.put(CaseInsensitiveTable.lower(domain.trim()), boost);
+            return this;
+        }
+
+        /**
+         * Domain boosts as {@code domain:boost} pairs separated by commas, e.g. {@code arxiv.org:1.5,pinterest.com:-2}.
+         */
+        public Builder domainBoosts(String spec) {
+            for (String entry : spec.split(",")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                int colon = entry.lastIndexOf(':');
+                if (colon <= 0) {
+                    throw new IllegalArgumentException("Expected domain:boost, got: " + entry.trim());
+                }
+                try {
+                    domainBoost(entry.substring(0, colon), Double.parseDouble(entry.substring(colon + 1).trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid boost in: " + entry.trim(), e);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * @param candidates filtered results a ranked search considers; fewer than {@code maxResults} means
+         *                   {@code maxResults}
+         */
+        public Builder candidates(int candidates) {
+            if (candidates <= 0) {
+                throw new IllegalArgumentException("candidates must be positive");
+            }
+            this.candidates = candidates;
+            return this;
+        }
+
+        public ResultRanker build() {
+            return new ResultRanker(this);
+        }
+    }
+}
@@ -4,7 +4,7 @@
  * File: SearchClient.java
  * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
  * Created: 2025-11-19
- * Updated: 2025-11-19
+ * Updated: 2026-10-16
  * License: MIT License (see LICENSE file for details)
  * =====================================================================================================================
  */
@@ -19,6 +19,7 @@ import java.util.List;
 
 /**
  * Abstraction over any search provider (Google, Bing, offline index, etc.).
+ * {@link FederatedSearchClient} combines several of them into one.
  */
 public interface SearchClient {
 
@@ -30,4 +31,16 @@ public interface SearchClient {
      * @return list of search results (can be empty, never null)
      */
     List<SearchResult> search(String query, int maxResults) throws IOException, SearchException;
+
+    /**
+     * Streaming companion to {@link #search}: results are handed out as soon as the provider has them, and closing
+     * the cursor early stops further fetching. The default simply materializes {@link #search}.
+     *
+     * @param query      free-text search query
+     * @param maxResults maximum number of results desired
+     * @return cursor over the results; the caller must close it
+     */
+    default SearchCursor stream(String query, int maxResults) throws IOException, SearchException {
+        return SearchCursor.of(search(query, maxResults));
+    }
 }
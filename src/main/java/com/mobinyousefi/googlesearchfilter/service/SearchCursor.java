@@ -0,0 +1,69 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SearchCursor.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pull-based stream of search results.
+ *
+ * Consumers pull one result at a time, which is the backpressure: implementations only fetch as far ahead as their
+ * prefetch window allows. Closing the cursor cancels whatever is still in flight and must be done when a consumer
+ * stops early (use try-with-resources).
+ */
+public interface SearchCursor extends AutoCloseable {
+
+    /**
+     * @return the next result, or null once the stream is exhausted
+     */
+    SearchResult next() throws IOException, SearchException;
+
+    /**
+     * Releases the cursor and cancels outstanding fetches. Idempotent.
+     */
+    @Override
+    void close();
+
+    /**
+     * Drains the remaining results and closes the cursor.
+     */
+    default List<SearchResult> toList() throws IOException, SearchException {
+        try (this) {
+            List<SearchResult> all = new ArrayList<>();
+            SearchResult r;
+            while ((r = next()) != null) {
+                all.add(r);
+            }
+            return all;
+        }
+    }
+
+    static SearchCursor of(List<SearchResult> results) {
+        Iterator<SearchResult> it = results.iterator();
+        return new SearchCursor() {
+            @Override
+            public SearchResult next() {
+                return it.hasNext() ? it.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
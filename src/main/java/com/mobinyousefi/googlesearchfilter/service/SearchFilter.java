@@ -4,26 +4,56 @@
  * File: SearchFilter.java
  * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
  * Created: 2025-11-19
- * Updated: 2025-11-19
+ * Updated: 2026-10-16
  * License: MIT License (see LICENSE file for details)
  * =====================================================================================================================
  */
 
 package com.mobinyousefi.googlesearchfilter.service;
 
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.metrics.SearchMetrics;
 import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
 import com.mobinyousefi.googlesearchfilter.model.SearchResult;
 
-import java.time.OffsetDateTime;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Pure in-memory filtering layer.
+ *
+ * When the criteria set a near-duplicate distance, results passing the predicate also go through a
+ * {@link NearDuplicateFilter}, so mirrors of a result already kept do not count towards {@code maxResults}.
+ *
+ * With a {@link ResultRanker}, the ranking stage ({@link #rank}) keeps the best-scored results of everything that
+ * passed instead of the first to arrive. Near-duplicates are then collapsed after scoring rather than on arrival, so
+ * of each group of copies the best-scored one survives.
  */
 public class SearchFilter {
 
+    private final ResultRanker ranker;
+
+    public SearchFilter() {
+        this(null);
+    }
+
+    /**
+     * @param ranker scoring for the ranking stage, or null to keep results in arrival order
+     */
+    public SearchFilter(ResultRanker ranker) {
+        this.ranker = ranker;
+    }
+
+    /**
+     * @return the ranking stage's scoring, or null if results stay in arrival order
+     */
+    public ResultRanker getRanker() {
+        return ranker;
+    }
+
     public List<SearchResult> apply(List<SearchResult> input, FilterCriteria criteria) {
         if (input == null || input.isEmpty()) {
             return List.of();
@@ -32,81 +62,234 @@ public class SearchFilter {
             return List.copyOf(input);
         }
 
+        return apply(input, FilterPlan.compile(criteria));
+    }
+
+    /**
+     * Applies an already compiled plan, for callers filtering many result lists against the same criteria.
+     */
+    public List<SearchResult> apply(List<SearchResult> input, FilterPlan plan) {
+        if (input == null || input.isEmpty()) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        int evaluated = 0;
+        NearDuplicateFilter duplicates = plan.newNearDuplicateFilter();
         List<SearchResult> tmp = new ArrayList<>();
         for (SearchResult result : input) {
-            if (!matches(result, criteria)) {
+            evaluated++;
+            if (!plan.test(result) || (duplicates != null && !duplicates.add(result))) {
                 continue;
             }
             tmp.add(result);
-            if (tmp.size() >= criteria.getMaxResults()) {
+            if (tmp.size() >= plan.getMaxResults()) {
                 break;
             }
         }
+        SearchMetrics.FILTER.recordSince(start);
+        SearchMetrics.RESULTS_IN.add(evaluated);
+        SearchMetrics.RESULTS_OUT.add(tmp.size());
+        if (duplicates != null) {
+            SearchMetrics.NEAR_DUPLICATES.add(duplicates.getDuplicateCount());
+        }
         return tmp;
     }
 
-    private boolean matches(SearchResult r, FilterCriteria c) {
-        if (r == null) {
-            return false;
+    /**
+     * Columnar form of {@link #apply(List, FilterPlan)} for large inputs: evaluates the plan over the whole batch
+     * with {@link ResultBatch#select} and returns the first {@code maxResults} matches in batch order. Near-duplicate
+     * collapsing runs over the selected rows only.
+     */
+    public List<SearchResult> apply(ResultBatch batch, FilterPlan plan) {
+        if (batch == null || batch.size() == 0) {
+            return List.of();
         }
 
-        // Date window
-        OffsetDateTime indexed = r.getIndexedTime();
-        if (indexed != null) {
-            if (c.getFromDate() != null && indexed.isBefore(c.getFromDate())) {
-                return false;
-            }
-            if (c.getToDate() != null && indexed.isAfter(c.getToDate())) {
-                return false;
-            }
+        long start = System.nanoTime();
+        NearDuplicateFilter duplicates = plan.newNearDuplicateFilter();
+        List<SearchResult> tmp = batch.collect(batch.select(plan), plan.getMaxResults(), duplicates);
+        SearchMetrics.FILTER.recordSince(start);
+        SearchMetrics.RESULTS_IN.add(batch.size());
+        SearchMetrics.RESULTS_OUT.add(tmp.size());
+        if (duplicates != null) {
+            SearchMetrics.NEAR_DUPLICATES.add(duplicates.getDuplicateCount());
         }
+        return tmp;
+    }
 
-        // Domain filters
-        String domain = r.getDisplayLink();
-        if (!c.getDomainWhitelist().isEmpty() && domain != null) {
-            boolean matchesWhitelist = c.getDomainWhitelist().stream()
-                    .anyMatch(d -> domain.equalsIgnoreCase(d) || domain.toLowerCase(Locale.ROOT).endsWith("." + d.toLowerCase(Locale.ROOT)));
-            if (!matchesWhitelist) {
-                return false;
-            }
+    /**
+     * Filters {@code input} and, with a ranker, keeps the best {@code maxResults} matches for {@code query} rather
+     * than the first ones; without a ranker this is {@link #apply(List, FilterCriteria)}.
+     */
+    public List<SearchResult> apply(String query, List<SearchResult> input, FilterCriteria criteria) {
+        if (ranker == null || criteria == null) {
+            return apply(input, criteria);
+        }
+        if (input == null || input.isEmpty()) {
+            return List.of();
         }
+        FilterCriteria candidates = criteria.copy();
+        candidates.setMaxResults(Integer.MAX_VALUE);
+        candidates.setNearDuplicateDistance(-1); // collapsed by rank, in score order
+        return rank(apply(input, FilterPlan.compile(candidates)), query, criteria.getMaxResults(),
+                criteria.getNearDuplicateDistance());
+    }
 
-        if (!c.getDomainBlacklist().isEmpty() && domain != null) {
-            boolean inBlacklist = c.getDomainBlacklist().stream()
-                    .anyMatch(d -> domain.equalsIgnoreCase(d) || domain.toLowerCase(Locale.ROOT).endsWith("." + d.toLowerCase(Locale.ROOT)));
-            if (inBlacklist) {
-                return false;
-            }
+    /**
+     * Ranking stage: the best {@code k} of {@code results} for {@code query}, best first.
+     *
+     * @throws IllegalStateException if this filter has no ranker
+     */
+    public List<SearchResult> rank(List<SearchResult> results, String query, int k) {
+        return rank(results, query, k, -1);
+    }
+
+    /**
+     * Ranking stage with near-duplicate collapsing: keeps the best-scored candidate pool of {@code results} in a
+     * {@link TopK} ({@link ResultRanker#getCandidates()}, or {@code k} if larger), then offers it to a
+     * {@link NearDuplicateFilter} best first and keeps the first {@code k} that are not copies of a better-scored one.
+     *
+     * @param nearDuplicateDistance as {@link FilterCriteria#getNearDuplicateDistance()}; -1 keeps near-duplicates
+     * @throws IllegalStateException if this filter has no ranker
+     */
+    public List<SearchResult> rank(List<SearchResult> results, String query, int k, int nearDuplicateDistance) {
+        long start = System.nanoTime();
+        List<SearchResult> top = requireRanker().rank(query, results, poolSize(k, nearDuplicateDistance));
+        if (nearDuplicateDistance >= 0) {
+            top = collapse(top, k, nearDuplicateDistance);
         }
+        SearchMetrics.RANK.recordSince(start);
+        return top;
+    }
+
+    /**
+     * Streaming ranking stage: on the first {@link SearchCursor#next()}, drains {@code upstream} through a
+     * {@link TopK} of size {@code k}, then hands out the kept results best first. Memory stays O(k) however many
+     * results the upstream produces.
+     *
+     * @throws IllegalStateException if this filter has no ranker
+     */
+    public SearchCursor rank(SearchCursor upstream, String query, int k) {
+        return rank(upstream, query, k, -1);
+    }
+
+    /**
+     * Streaming ranking stage with near-duplicate collapsing. Copies can only be told apart once scored, so the
+     * {@link TopK} keeps the whole candidate pool ({@link ResultRanker#getCandidates()}, or {@code k} if larger;
+     * the upstream is expected to stop there) and collapses it best first.
+     *
+     * @param nearDuplicateDistance as {@link FilterCriteria#getNearDuplicateDistance()}; -1 keeps near-duplicates
+     * @throws IllegalStateException if this filter has no ranker
+     */
+    public SearchCursor rank(SearchCursor upstream, String query, int k, int nearDuplicateDistance) {
+        ResultRanker.Scorer scorer = requireRanker().forQuery(query);
+        int kept = poolSize(k, nearDuplicateDistance);
+        return new SearchCursor() {
+            private Iterator<SearchResult> ranked;
 
-        // Mime types
-        if (!c.getMimeTypes().isEmpty()) {
-            String mime = r.getMimeType();
-            if (mime == null || c.getMimeTypes().stream().noneMatch(m -> m.equalsIgnoreCase(mime))) {
-                return false;
+            @Override
+            public SearchResult next() throws IOException, SearchException {
+                if (ranked == null) {
+                    TopK top = new TopK(kept);
+                    long scoringNanos = 0;
+                    try (upstream) {
+                        SearchResult r;
+                        while ((r = upstream.next()) != null) {
+                            long start = System.nanoTime();
+                            top.offer(r, scorer.score(r));
+                            scoringNanos += System.nanoTime() - start;
+                        }
+                    }
+                    long start = System.nanoTime();
+                    List<SearchResult> best = top.toList();
+                    ranked = (nearDuplicateDistance < 0 ? best : collapse(best, k, nearDuplicateDistance)).iterator();
+                    SearchMetrics.RANK.record(scoringNanos + System.nanoTime() - start);
+                }
+                return ranked.hasNext() ? ranked.next() : null;
             }
-        }
 
-        // Languages (best-effort; languageCode is optional)
-        if (!c.getLanguageCodes().isEmpty()) {
-            String lang = r.getLanguageCode();
-            if (lang == null) {
-                return false;
+            @Override
+            public void close() {
+                upstream.close();
+                ranked = Collections.emptyIterator();
             }
-            String norm = lang.toLowerCase(Locale.ROOT);
-            boolean match = c.getLanguageCodes().stream()
-                    .map(l -> l.toLowerCase(Locale.ROOT))
-                    .anyMatch(norm::startsWith); // matches "en" with "en-US"
-            if (!match) {
-                return false;
+        };
+    }
+
+    /**
+     * @return how many scored results to keep for {@code k}: with near-duplicate collapsing, the candidate pool, since
+     *         copies can only be dropped once the better-scored ones are known
+     */
+    private int poolSize(int k, int nearDuplicateDistance) {
+        return nearDuplicateDistance < 0 ? k : Math.max(k, ranker.getCandidates());
+    }
+
+    /**
+     * @return the first {@code k} of {@code ranked} (best first) that are not near-duplicates of an earlier one
+     */
+    private static List<SearchResult> collapse(List<SearchResult> ranked, int k, int maxDistance) {
+        NearDuplicateFilter duplicates = new NearDuplicateFilter(maxDistance);
+        List<SearchResult> kept = new ArrayList<>(Math.min(k, ranked.size()));
+        for (SearchResult r : ranked) {
+            if (kept.size() >= k) {
+                break;
+            }
+            if (duplicates.add(r)) {
+                kept.add(r);
             }
         }
+        SearchMetrics.NEAR_DUPLICATES.add(duplicates.getDuplicateCount());
+        return kept;
+    }
 
-        // Safe content
-        if (c.isSafeOnly() && !r.isSafe()) {
-            return false;
+    private ResultRanker requireRanker() {
+        if (ranker == null) {
+            throw new IllegalStateException("No ranker configured");
         }
+        return ranker;
+    }
 
-        return true;
+    /**
+     * Streaming form of {@link #apply}: pulls from {@code upstream} only as far as needed and closes it once
+     * {@code maxResults} rows have matched.
+     */
+    public SearchCursor filter(SearchCursor upstream, FilterCriteria criteria) {
+        return criteria == null ? upstream : filter(upstream, FilterPlan.compile(criteria));
+    }
+
+    public SearchCursor filter(SearchCursor upstream, FilterPlan plan) {
+        NearDuplicateFilter duplicates = plan.newNearDuplicateFilter();
+        return new SearchCursor() {
+            private int matched;
+
+            @Override
+            public SearchResult next() throws IOException, SearchException {
+                if (matched >= plan.getMaxResults()) {
+                    return null;
+                }
+                SearchResult r;
+                while ((r = upstream.next()) != null) {
+                    SearchMetrics.RESULTS_IN.increment();
+                    if (plan.test(r)) {
+                        if (duplicates != null && !duplicates.add(r)) {
+                            SearchMetrics.NEAR_DUPLICATES.increment();
+                            continue;
+                        }
+                        SearchMetrics.RESULTS_OUT.increment();
+                        if (++matched >= plan.getMaxResults()) {
+                            upstream.close();
+                        }
+                        return r;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void close() {
+                upstream.close();
+            }
+        };
     }
 }
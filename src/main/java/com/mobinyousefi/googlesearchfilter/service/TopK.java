@@ -0,0 +1,151 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: TopK.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code k} best-scored results of a stream of any length, without keeping or sorting the rest.
+ *
+ * A binary min-heap holds the best {@code k} seen so far with the weakest at the root; a new result only enters by
+ * beating the root, so offering {@code n} results costs O(n log k) time and O(k) memory. Equal scores keep arrival
+ * order: the earlier result ranks first. Not thread-safe.
+ */
+public final class TopK {
+
+    private final int k;
+    private SearchResult[] results;
+    private double[] scores;
+    private long[] arrivals;
+    private int size;
+    private long offered;
+
+    public TopK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        int capacity = Math.min(k, 1024); // grows on demand, so a large k costs nothing up front
+        this.results = new SearchResult[capacity];
+        this.scores = new double[capacity];
+        this.arrivals = new long[capacity];
+    }
+
+    /**
+     * @return true if {@code r} is among the best {@code k} so far (it may still be displaced later)
+     */
+    public boolean offer(SearchResult r, double score) {
+        long arrival = offered++;
+        if (size < k) {
+            if (size == results.length) {
+                grow();
+            }
+            int i = size++;
+            set(i, r, score, arrival);
+            siftUp(i);
+            return true;
+        }
+        if (score <= scores[0]) {
+            return false; // not better than the weakest kept, which also arrived earlier
+        }
+        set(0, r, score, arrival);
+        siftDown(0);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return results offered so far, kept or not
+     */
+    public long getOfferedCount() {
+        return offered;
+    }
+
+    /**
+     * @return the kept results, best first; the selection itself is left unchanged
+     */
+    public List<SearchResult> toList() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> weaker(b, a) ? -1 : weaker(a, b) ? 1 : 0);
+        List<SearchResult> sorted = new ArrayList<>(size);
+        for (int i : order) {
+            sorted.add(results[i]);
+        }
+        return sorted;
+    }
+
+    private boolean weaker(int a, int b) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        return byScore < 0 || (byScore == 0 && arrivals[a] > arrivals[b]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!weaker(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int weakest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && weaker(left, weakest)) {
+                weakest = left;
+            }
+            if (right < size && weaker(right, weakest)) {
+                weakest = right;
+            }
+            if (weakest == i) {
+                return;
+            }
+            swap(i, weakest);
+            i = weakest;
+        }
+    }
+
+    private void set(int i, SearchResult r, double score, long arrival) {
+        results[i] = r;
+        scores[i] = score;
+        arrivals[i] = arrival;
+    }
+
+    private void swap(int a, int b) {
+        SearchResult r = results[a];
+        double score = scores[a];
+        long arrival = arrivals[a];
+        set(a, results[b], scores[b], arrivals[b]);
+        set(b, r, score, arrival);
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(k, 2L * results.length);
+        results = Arrays.copyOf(results, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        arrivals = Arrays.copyOf(arrivals, capacity);
+    }
+}
@@ -4,7 +4,7 @@
  * File: ConsoleUI.java
  * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
  * Created: 2025-11-19
- * Updated: 2025-11-19
+ * Updated: 2026-10-16
  * License: MIT License (see LICENSE file for details)
  * =====================================================================================================================
  */
@@ -12,15 +12,17 @@
 package com.mobinyousefi.googlesearchfilter.ui;
 
 import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.metrics.SearchMetrics;
 import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
 import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.FilteredSearchService;
 import com.mobinyousefi.googlesearchfilter.service.SearchClient;
+import com.mobinyousefi.googlesearchfilter.service.SearchCursor;
 import com.mobinyousefi.googlesearchfilter.service.SearchFilter;
 
 import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -28,12 +30,14 @@ import java.util.Scanner;
  */
 public class ConsoleUI {
 
-    private final SearchClient searchClient;
-    private final SearchFilter searchFilter;
+    private final FilteredSearchService searchService;
 
     public ConsoleUI(SearchClient searchClient, SearchFilter searchFilter) {
-        this.searchClient = searchClient;
-        this.searchFilter = searchFilter;
+        this(new FilteredSearchService(searchClient, searchFilter));
+    }
+
+    public ConsoleUI(FilteredSearchService searchService) {
+        this.searchService = searchService;
     }
 
     public void start() {
@@ -54,11 +58,9 @@ public class ConsoleUI {
 
                 FilterCriteria criteria = askCriteria(scanner);
 
-                try {
-                    List<SearchResult> raw = searchClient.search(query, criteria.getMaxResults());
-                    List<SearchResult> filtered = searchFilter.apply(raw, criteria);
-                    printResults(filtered);
-                } catch (IOException | SearchException e) {
+                try (SearchCursor results = searchService.stream(query, criteria)) {
+                    printResults(results);
+                } catch (IOException | SearchException | IllegalArgumentException e) {
                     System.err.println("[ERROR] Search failed: " + e.getMessage());
                 }
             }
@@ -106,23 +108,27 @@ public class ConsoleUI {
             }
         }
 
-        System.out.print("Domain whitelist (comma-separated, e.g., example.com,github.com) [skip]: ");
+        System.out.print("Domain whitelist (comma-separated, e.g., example.com,github.com; @file for a list) [skip]: ");
         String whitelist = scanner.nextLine().trim();
         if (!whitelist.isEmpty()) {
             for (String d : whitelist.split(",")) {
                 String domain = d.trim();
-                if (!domain.isEmpty()) {
+                if (domain.startsWith("@") && domain.length() > 1) {
+                    criteria.getDomainAllowlistFiles().add(domain.substring(1));
+                } else if (!domain.isEmpty()) {
                     criteria.getDomainWhitelist().add(domain);
                 }
             }
         }
 
-        System.out.print("Domain blacklist (comma-separated) [skip]: ");
+        System.out.print("Domain blacklist (comma-separated; @file for a list file) [skip]: ");
         String blacklist = scanner.nextLine().trim();
         if (!blacklist.isEmpty()) {
             for (String d : blacklist.split(",")) {
                 String domain = d.trim();
-                if (!domain.isEmpty()) {
+                if (domain.startsWith("@") && domain.length() > 1) {
+                    criteria.getDomainBlocklistFiles().add(domain.substring(1));
+                } else if (!domain.isEmpty()) {
                     criteria.getDomainBlacklist().add(domain);
                 }
             }
@@ -154,19 +160,31 @@ public class ConsoleUI {
         String safe = scanner.nextLine().trim();
         criteria.setSafeOnly(!safe.equalsIgnoreCase("n"));
 
+        System.out.print("Collapse near-duplicates within distance (0-8, e.g., 6) [skip]: ");
+        String distance = scanner.nextLine().trim();
+        if (!distance.isEmpty()) {
+            try {
+                criteria.setNearDuplicateDistance(Integer.parseInt(distance));
+            } catch (IllegalArgumentException e) {
+                System.out.println("[WARN] Invalid distance. Keeping near-duplicates.");
+            }
+        }
+
         return criteria;
     }
 
-    private void printResults(List<SearchResult> results) {
-        if (results == null || results.isEmpty()) {
-            System.out.println("\n[INFO] No results matched the filter criteria.");
-            return;
-        }
-
-        System.out.println("\nFiltered results (" + results.size() + "):");
-        System.out.println("------------------------------------------------------------");
+    /**
+     * Prints results as they are pulled from the cursor, so the first matches show up after a single round trip.
+     */
+    private void printResults(SearchCursor results) throws IOException, SearchException {
         int index = 1;
-        for (SearchResult r : results) {
+        SearchResult r;
+        while ((r = results.next()) != null) {
+            long start = System.nanoTime();
+            if (index == 1) {
+                System.out.println("\nFiltered results:");
+                System.out.println("------------------------------------------------------------");
+            }
             System.out.println("#" + index++);
             if (r.getTitle() != null) {
                 System.out.println("Title : " + r.getTitle());
@@ -190,6 +208,13 @@ public class ConsoleUI {
                 System.out.println("Snippet:\n" + r.getSnippet());
             }
             System.out.println("------------------------------------------------------------");
+            SearchMetrics.RENDER.recordSince(start);
+        }
+
+        if (index == 1) {
+            System.out.println("\n[INFO] No results matched the filter criteria.");
+        } else {
+            System.out.println("(" + (index - 1) + " results)");
         }
     }
 }
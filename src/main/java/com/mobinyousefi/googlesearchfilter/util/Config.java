@@ -4,7 +4,7 @@
  * File: Config.java
  * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
  * Created: 2025-11-19
- * Updated: 2025-11-19
+ * Updated: 2026-10-16
  * License: MIT License (see LICENSE file for details)
  * =====================================================================================================================
  */
@@ -33,6 +33,24 @@ public class Config {
         }
     }
 
+    /**
+     * Builds a config from already loaded properties (benchmarks, tools and embedding code).
+     */
+    public Config(Properties properties) {
+        Objects.requireNonNull(properties, "properties must not be null");
+        this.properties.putAll(properties);
+    }
+
+    /**
+     * @return a copy of this config with {@code key} set to {@code value} (command line overrides)
+     */
+    public Config with(String key, String value) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        copy.setProperty(key, value);
+        return new Config(copy);
+    }
+
     public String get(String key) {
         return properties.getProperty(key);
     }
@@ -48,4 +66,48 @@ public class Config {
         }
         return value.trim();
     }
+
+    public int getInt(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Config key " + key + " is not an integer: " + value, e);
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Config key " + key + " is not an integer: " + value, e);
+        }
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Config key " + key + " is not a number: " + value, e);
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
 }
@@ -0,0 +1,345 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DateParser.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.util;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lenient recognizer for the dates pages publish in their metadata ({@code article:published_time},
+ * {@code og:updated_time}, {@code date}, ...).
+ *
+ * Recognized without exceptions or allocation beyond the result, by hand:
+ * <ul>
+ *   <li>ISO-8601 {@code 2024-03-15T10:30:00.123+01:00}, with {@code T} or a space, optional seconds and fraction,
+ *       and an offset of {@code Z}, {@code +01:00}, {@code +0100} or {@code +01} (missing offsets mean UTC)</li>
+ *   <li>ISO dates {@code 2024-03-15} and compact {@code 20240315}, as midnight UTC</li>
+ *   <li>RFC 1123 {@code Fri, 15 Mar 2024 10:30:00 GMT}, day name optional, zone {@code GMT}/{@code UT}/{@code UTC}/
+ *       {@code Z} or {@code +0100}</li>
+ * </ul>
+ * Anything else goes through a few {@link DateTimeFormatter}s for written-out dates ({@code March 15, 2024}, ...),
+ * pre-checked with {@link DateTimeFormatter#parseUnresolved} so non-matching formats cost no exception.
+ *
+ * Sites repeat the same strings across results, so outcomes (misses included) are cached per string up to
+ * {@code cacheCapacity} entries; the cache is simply dropped when full. Instances are thread-safe.
+ */
+public final class DateParser {
+
+    public static final int DEFAULT_CACHE_CAPACITY = 4096;
+    private static final int MAX_CACHED_LENGTH = 64;
+    private static final Object MISS = new Object();
+
+    private static final String[] MONTHS = {"jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct",
+            "nov", "dec"};
+
+    private static final List<DateTimeFormatter> FALLBACKS = List.of(
+            formatter("MMMM d, uuuu"),
+            formatter("MMM d, uuuu"),
+            formatter("d MMMM uuuu"),
+            formatter("d MMM uuuu"),
+            formatter("uuuu/MM/dd"),
+            formatter("uuuu.MM.dd"));
+
+    private final int cacheCapacity;
+    private final Map<String, Object> cache;
+
+    public DateParser() {
+        this(DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * @param cacheCapacity distinct strings remembered; 0 disables caching
+     */
+    public DateParser(int cacheCapacity) {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("cacheCapacity must not be negative");
+        }
+        this.cacheCapacity = cacheCapacity;
+        this.cache = cacheCapacity > 0 ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * @return the first candidate that parses, or null when none does
+     */
+    public OffsetDateTime parseFirst(String... candidates) {
+        for (String candidate : candidates) {
+            OffsetDateTime parsed = parse(candidate);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the instant {@code text} denotes, or null when it is null or not a recognized date
+     */
+    public OffsetDateTime parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (cache == null || text.length() > MAX_CACHED_LENGTH) {
+            return parseUncached(text);
+        }
+        Object cached = cache.get(text);
+        if (cached == null) {
+            OffsetDateTime parsed = parseUncached(text);
+            if (cache.size() >= cacheCapacity) {
+                cache.clear();
+            }
+            cache.put(text, parsed == null ? MISS : parsed);
+            return parsed;
+        }
+        return cached == MISS ? null : (OffsetDateTime) cached;
+    }
+
+    static OffsetDateTime parseUncached(String raw) {
+        String text = raw.strip();
+        if (text.isEmpty()) {
+            return null;
+        }
+        OffsetDateTime parsed = isDigit(text.charAt(0)) ? parseIso(text) : null;
+        if (parsed == null) {
+            parsed = parseRfc1123(text);
+        }
+        return parsed != null ? parsed : parseFallback(text);
+    }
+
+    /**
+     * {@code yyyy-MM-dd[(T| )HH:mm[:ss[.f{1,9}]][offset]]} or {@code yyyyMMdd}.
+     */
+    private static OffsetDateTime parseIso(String s) {
+        int n = s.length();
+        if (n == 8) {
+            return date(digits(s, 0, 4), digits(s, 4, 6), digits(s, 6, 8));
+        }
+        if (n < 10 || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 7);
+        int day = digits(s, 8, 10);
+        if (n == 10) {
+            return date(year, month, day);
+        }
+        char separator = s.charAt(10);
+        if ((separator != 'T' && separator != 't' && separator != ' ') || n < 16 || s.charAt(13) != ':') {
+            return null;
+        }
+        int hour = digits(s, 11, 13);
+        int minute = digits(s, 14, 16);
+        int second = 0;
+        int nanos = 0;
+        int i = 16;
+        if (i < n && s.charAt(i) == ':') {
+            if (n < 19) {
+                return null;
+            }
+            second = digits(s, 17, 19);
+            i = 19;
+            if (i < n && (s.charAt(i) == '.' || s.charAt(i) == ',')) {
+                int start = ++i;
+                while (i < n && isDigit(s.charAt(i))) {
+                    i++;
+                }
+                int length = i - start;
+                if (length == 0 || length > 9) {
+                    return null;
+                }
+                nanos = digits(s, start, i);
+                for (int k = length; k < 9; k++) {
+                    nanos *= 10;
+                }
+            }
+        }
+        int offsetSeconds = i == n ? 0 : offset(s, i);
+        return dateTime(year, month, day, hour, minute, second, nanos, offsetSeconds);
+    }
+
+    /**
+     * {@code [EEE, ]d MMM yyyy HH:mm[:ss] zone}.
+     */
+    private static OffsetDateTime parseRfc1123(String s) {
+        int n = s.length();
+        int i = 0;
+        int comma = s.indexOf(',');
+        if (comma > 0 && comma <= 9) { // day name, abbreviated or full
+            i = comma + 1;
+            while (i < n && s.charAt(i) == ' ') {
+                i++;
+            }
+        }
+        int dayStart = i;
+        while (i < n && isDigit(s.charAt(i))) {
+            i++;
+        }
+        if (i - dayStart < 1 || i - dayStart > 2 || i + 17 > n || s.charAt(i) != ' ') {
+            return null;
+        }
+        int day = digits(s, dayStart, i);
+        int month = month(s, i + 1);
+        if (month < 0 || s.charAt(i + 4) != ' ' || s.charAt(i + 9) != ' ' || s.charAt(i + 12) != ':') {
+            return null;
+        }
+        int year = digits(s, i + 5, i + 9);
+        int hour = digits(s, i + 10, i + 12);
+        int minute = digits(s, i + 13, i + 15);
+        int second = 0;
+        i += 15;
+        if (i < n && s.charAt(i) == ':') {
+            if (i + 3 > n) {
+                return null;
+            }
+            second = digits(s, i + 1, i + 3);
+            i += 3;
+        }
+        if (i >= n || s.charAt(i) != ' ') {
+            return null;
+        }
+        String zone = s.substring(i + 1);
+        int offsetSeconds = switch (zone) {
+            case "GMT", "UT", "UTC", "Z" -> 0;
+            default -> offset(zone, 0);
+        };
+        return dateTime(year, month, day, hour, minute, second, 0, offsetSeconds);
+    }
+
+    private static OffsetDateTime parseFallback(String text) {
+        for (DateTimeFormatter formatter : FALLBACKS) {
+            ParsePosition position = new ParsePosition(0);
+            TemporalAccessor fields = formatter.parseUnresolved(text, position);
+            if (fields == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+                continue;
+            }
+            try {
+                return LocalDate.from(formatter.parse(text)).atStartOfDay().atOffset(ZoneOffset.UTC);
+            } catch (DateTimeException e) {
+                return null; // right shape, impossible date such as February 30
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses {@code Z}, {@code ±HH:mm}, {@code ±HHmm} or {@code ±HH} spanning the rest of {@code s} from {@code i}.
+     *
+     * @return the offset in seconds, or {@link Integer#MIN_VALUE} if invalid
+     */
+    private static int offset(String s, int i) {
+        int n = s.length();
+        if (i >= n) {
+            return Integer.MIN_VALUE;
+        }
+        char sign = s.charAt(i);
+        if (sign == 'Z' || sign == 'z') {
+            return i + 1 == n ? 0 : Integer.MIN_VALUE;
+        }
+        if (sign != '+' && sign != '-') {
+            return Integer.MIN_VALUE;
+        }
+        int hours;
+        int minutes = 0;
+        int length = n - i - 1;
+        if (length == 2) {
+            hours = digits(s, i + 1, i + 3);
+        } else if (length == 4) {
+            hours = digits(s, i + 1, i + 3);
+            minutes = digits(s, i + 3, i + 5);
+        } else if (length == 5 && s.charAt(i + 3) == ':') {
+            hours = digits(s, i + 1, i + 3);
+            minutes = digits(s, i + 4, i + 6);
+        } else {
+            return Integer.MIN_VALUE;
+        }
+        if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59 || (hours == 18 && minutes > 0)) {
+            return Integer.MIN_VALUE;
+        }
+        int seconds = hours * 3600 + minutes * 60;
+        return sign == '-' ? -seconds : seconds;
+    }
+
+    private static OffsetDateTime date(int year, int month, int day) {
+        return dateTime(year, month, day, 0, 0, 0, 0, 0);
+    }
+
+    private static OffsetDateTime dateTime(int year, int month, int day, int hour, int minute, int second, int nanos,
+                                           int offsetSeconds) {
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || offsetSeconds == Integer.MIN_VALUE) {
+            return null;
+        }
+        return OffsetDateTime.of(year, month, day, hour, minute, second, nanos,
+                ZoneOffset.ofTotalSeconds(offsetSeconds));
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * @return the 1-based month of the English abbreviation at {@code i}, or -1
+     */
+    private static int month(String s, int i) {
+        if (i + 3 > s.length()) {
+            return -1;
+        }
+        for (int m = 0; m < MONTHS.length; m++) {
+            if (s.regionMatches(true, i, MONTHS[m], 0, 3)) {
+                return m + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the decimal value of {@code s[from, to)}, or -1 if it is out of range or not all digits
+     */
+    private static int digits(String s, int from, int to) {
+        if (to > s.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static DateTimeFormatter formatter(String pattern) {
+        return new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern)
+                .toFormatter(Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: Hashing.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.util;
+
+/**
+ * The 64-bit string hash shared by the on-disk formats and the near-duplicate fingerprints. Its values are stored in
+ * index segments and seen-set files, so they must never change.
+ */
+public final class Hashing {
+
+    /** FNV-1a offset basis. */
+    public static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    /** FNV-1a prime; one step is {@code h = (h ^ c) * FNV_PRIME}. */
+    public static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer.
+     */
+    public static long hash(CharSequence s) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return mix(h);
+    }
+
+    /**
+     * MurmurHash3 finalizer ({@code fmix64}): spreads FNV's weak high bits over all 64.
+     */
+    public static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SearchJson.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+/**
+ * JSON mapping of {@link FilterCriteria} and {@link SearchResult} shared by the non-interactive front ends.
+ *
+ * Criteria use the bean property names ({@code maxResults}, {@code fromDate}, {@code domainWhitelist}, ...), dates are
+ * ISO-8601 strings; absent properties keep the {@link FilterCriteria} defaults.
+ */
+public final class SearchJson {
+
+    private SearchJson() {
+    }
+
+    public static FilterCriteria readCriteria(JsonNode node) {
+        FilterCriteria criteria = new FilterCriteria();
+        if (node == null || node.isNull()) {
+            return criteria;
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("criteria must be a JSON object");
+        }
+        if (node.hasNonNull("maxResults")) {
+            criteria.setMaxResults(node.get("maxResults").asInt());
+        }
+        criteria.setFromDate(readDate(node, "fromDate"));
+        criteria.setToDate(readDate(node, "toDate"));
+        readStrings(node, "domainWhitelist", criteria.getDomainWhitelist());
+        readStrings(node, "domainBlacklist", criteria.getDomainBlacklist());
+        readStrings(node, "domainAllowlistFiles", criteria.getDomainAllowlistFiles());
+        readStrings(node, "domainBlocklistFiles", criteria.getDomainBlocklistFiles());
+        readStrings(node, "mimeTypes", criteria.getMimeTypes());
+        readStrings(node, "languageCodes", criteria.getLanguageCodes());
+        if (node.hasNonNull("safeOnly")) {
+            criteria.setSafeOnly(node.get("safeOnly").asBoolean());
+        }
+        if (node.hasNonNull("nearDuplicateDistance")) {
+            criteria.setNearDuplicateDistance(node.get("nearDuplicateDistance").asInt());
+        }
+        return criteria;
+    }
+
+    public static void writeCriteria(JsonGenerator gen, FilterCriteria criteria) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("maxResults", criteria.getMaxResults());
+        if (criteria.getFromDate() != null) {
+            gen.writeStringField("fromDate", criteria.getFromDate().toString());
+        }
+        if (criteria.getToDate() != null) {
+            gen.writeStringField("toDate", criteria.getToDate().toString());
+        }
+        writeStrings(gen, "domainWhitelist", criteria.getDomainWhitelist());
+        writeStrings(gen, "domainBlacklist", criteria.getDomainBlacklist());
+        writeStrings(gen, "domainAllowlistFiles", criteria.getDomainAllowlistFiles());
+        writeStrings(gen, "domainBlocklistFiles", criteria.getDomainBlocklistFiles());
+        writeStrings(gen, "mimeTypes", criteria.getMimeTypes());
+        writeStrings(gen, "languageCodes", criteria.getLanguageCodes());
+        gen.writeBooleanField("safeOnly", criteria.isSafeOnly());
+        if (criteria.getNearDuplicateDistance() >= 0) {
+            gen.writeNumberField("nearDuplicateDistance", criteria.getNearDuplicateDistance());
+        }
+        gen.writeEndObject();
+    }
+
+    public static void writeResult(JsonGenerator gen, SearchResult r) throws IOException {
+        gen.writeStartObject();
+        writeNullable(gen, "title", r.getTitle());
+        writeNullable(gen, "link", r.getLink());
+        writeNullable(gen, "displayLink", r.getDisplayLink());
+        writeNullable(gen, "snippet", r.getSnippet());
+        writeNullable(gen, "mimeType", r.getMimeType());
+        writeNullable(gen, "fileFormat", r.getFileFormat());
+        if (r.getIndexedTime() != null) {
+            gen.writeStringField("indexedTime", r.getIndexedTime().toString());
+        }
+        writeNullable(gen, "languageCode", r.getLanguageCode());
+        gen.writeBooleanField("safe", r.isSafe());
+        gen.writeEndObject();
+    }
+
+    public static SearchResult readResult(JsonNode node) {
+        SearchResult.Builder builder = SearchResult.builder()
+                .title(text(node, "title"))
+                .link(text(node, "link"))
+                .displayLink(text(node, "displayLink"))
+                .snippet(text(node, "snippet"))
+                .mimeType(text(node, "mimeType"))
+                .fileFormat(text(node, "fileFormat"))
+                .indexedTime(readDate(node, "indexedTime"))
+                .languageCode(text(node, "languageCode"));
+        if (node.hasNonNull("safe")) {
+            builder.safe(node.get("safe").asBoolean());
+        }
+        return builder.build();
+    }
+
+    private static OffsetDateTime readDate(JsonNode node, String field) {
+        String value = text(node, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid ISO-8601 date for " + field + ": " + value, e);
+        }
+    }
+
+    private static void readStrings(JsonNode node, String field, Set<String> target) {
+        JsonNode values = node.get(field);
+        if (values == null || values.isNull()) {
+            return;
+        }
+        if (values.isTextual()) {
+            // also accept the console's comma-separated form
+            for (String value : values.asText().split(",")) {
+                if (!value.isBlank()) {
+                    target.add(value.trim());
+                }
+            }
+            return;
+        }
+        for (JsonNode value : values) {
+            if (value.isTextual() && !value.asText().isBlank()) {
+                target.add(value.asText().trim());
+            }
+        }
+    }
+
+    private static void writeStrings(JsonGenerator gen, String field, Set<String> values) throws IOException {
+        if (values.isEmpty()) {
+            return;
+        }
+        gen.writeArrayFieldStart(field);
+        for (String value : values) {
+            gen.writeString(value);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeNullable(JsonGenerator gen, String field, String value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(field, value);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SeenSet.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.watch;
+
+import com.mobinyousefi.googlesearchfilter.util.Hashing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistent, approximate set of keys already seen: a scalable Bloom filter whose bits live in memory-mapped files,
+ * so the heap cost is constant and the page cache holds only the parts in use, however long the history grows.
+ *
+ * A Bloom filter never forgets a key but may claim to have seen one it has not (a false positive), in which case a
+ * new link would go unreported. Each layer ({@code seen-<n>.bloom}) is sized for a fixed number of keys; once full,
+ * a new layer with twice the capacity and half the false-positive rate is added. The rates form a geometric series,
+ * so the overall rate stays below the configured one at any size, and lookups cost one probe per layer, which grows
+ * logarithmically with the number of keys.
+ *
+ * Additions only ever set bits, so a crash can at worst lose recent additions, which are then reported again. A lock
+ * file keeps a second process from opening the same directory. Thread-safe.
+ */
+public final class SeenSet implements Closeable {
+
+    private static final int MAGIC = 0x47534653; // "GSFS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int COUNT_OFFSET = 16;
+    private static final long MAX_LAYER_BYTES = 1L << 30;
+
+    private final Path directory;
+    private final FileChannel lockChannel;
+    private final List<Layer> layers = new ArrayList<>();
+
+    private SeenSet(Path directory, FileChannel lockChannel) {
+        this.directory = directory;
+        this.lockChannel = lockChannel;
+    }
+
+    /**
+     * Opens the set in {@code directory}, creating it with a first layer for {@code initialCapacity} keys if needed.
+     * The parameters of an existing set are kept.
+     *
+     * @param falsePositiveRate upper bound on the share of unseen keys reported as seen, e.g. {@code 1e-6}
+     */
+    public static SeenSet open(Path directory, long initialCapacity, double falsePositiveRate) throws IOException {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve("seen.lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock lock;
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException("Seen set " + directory + " is already open");
+            }
+            SeenSet set = new SeenSet(directory, channel);
+            for (int n = 0; Files.exists(set.layerFile(n)); n++) {
+                set.layers.add(Layer.open(set.layerFile(n)));
+            }
+            if (set.layers.isEmpty()) {
+                // half the budget for the first layer: 1/2 + 1/4 + ... stays below the whole
+                set.layers.add(Layer.create(set.layerFile(0), initialCapacity, falsePositiveRate / 2));
+            }
+            return set;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds {@code key} unless it was (probably) seen before.
+     *
+     * @return true if the key is new
+     */
+    public synchronized boolean add(String key) {
+        long h1 = Hashing.hash(key);
+        long h2 = Hashing.mix(h1 + 0x9e3779b97f4a7c15L) | 1; // odd, so the probes of a key never cycle early
+        if (contains(h1, h2)) {
+            return false;
+        }
+        Layer last = layers.get(layers.size() - 1);
+        if (last.count() >= last.capacity) {
+            try {
+                last.force();
+                last = Layer.create(layerFile(layers.size()), Math.min(last.capacity * 2, Long.MAX_VALUE / 2),
+                        last.falsePositiveRate / 2);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot add a layer to seen set " + directory, e);
+            }
+            layers.add(last);
+        }
+        last.add(h1, h2);
+        return true;
+    }
+
+    public synchronized boolean mightContain(String key) {
+        long h1 = Hashing.hash(key);
+        return contains(h1, Hashing.mix(h1 + 0x9e3779b97f4a7c15L) | 1);
+    }
+
+    /**
+     * @return keys added, across all layers
+     */
+    public synchronized long size() {
+        long size = 0;
+        for (Layer layer : layers) {
+            size += layer.count();
+        }
+        return size;
+    }
+
+    public synchronized int layerCount() {
+        return layers.size();
+    }
+
+    /**
+     * @return bytes mapped, which bounds the memory the set can occupy
+     */
+    public synchronized long sizeInBytes() {
+        long bytes = 0;
+        for (Layer layer : layers) {
+            bytes += layer.buffer.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes recent additions through to disk.
+     */
+    public synchronized void flush() {
+        for (Layer layer : layers) {
+            layer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        lockChannel.close();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "seen set " + directory + " keys=" + size() + ", layers=" + layers.size() + ", mapped="
+                + sizeInBytes() / 1024 + " KiB";
+    }
+
+    private boolean contains(long h1, long h2) {
+        for (int i = layers.size() - 1; i >= 0; i--) { // newest first: recent keys are the likeliest repeats
+            if (layers.get(i).contains(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path layerFile(int n) {
+        return directory.resolve("seen-" + n + ".bloom");
+    }
+
+    /**
+     * One fixed-size Bloom filter: a header (magic, version, capacity, count, hash count, false-positive rate, bit
+     * count) followed by the bits. Positions come from double hashing, {@code h1 + i * h2}.
+     */
+    private static final class Layer {
+        final long capacity;
+        final double falsePositiveRate;
+        final int hashes;
+        final long bits;
+        final MappedByteBuffer buffer;
+        boolean dirty;
+
+        private Layer(long capacity, double falsePositiveRate, int hashes, long bits, MappedByteBuffer buffer) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            this.hashes = hashes;
+            this.bits = bits;
+            this.buffer = buffer;
+        }
+
+        static Layer create(Path file, long capacity, double falsePositiveRate) throws IOException {
+            // optimal size and hash count for the capacity and rate; capped so one mapping stays addressable
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            bits = Math.min((bits + 63) & ~63L, (MAX_LAYER_BYTES - HEADER_BYTES) * 8);
+            capacity = Math.min(capacity, (long) (bits * Math.log(2) * Math.log(2) / -Math.log(falsePositiveRate)));
+            int hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + bits / 8);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putLong(8, capacity);
+                buffer.putLong(COUNT_OFFSET, 0);
+                buffer.putInt(24, hashes);
+                buffer.putDouble(32, falsePositiveRate);
+                buffer.putLong(40, bits);
+                buffer.force();
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+            return open(file);
+        }
+
+        static Layer open(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() < HEADER_BYTES || channel.size() > MAX_LAYER_BYTES) {
+                    throw new IOException("Not a seen set layer: " + file);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                        || HEADER_BYTES + buffer.getLong(40) / 8 != channel.size()) {
+                    throw new IOException("Not a seen set layer of a supported version: " + file);
+                }
+                return new Layer(buffer.getLong(8), buffer.getDouble(32), buffer.getInt(24), buffer.getLong(40),
+                        buffer);
+            }
+        }
+
+        long count() {
+            return buffer.getLong(COUNT_OFFSET);
+        }
+
+        boolean contains(long h1, long h2) {
+            long h = h1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(h, bits);
+                if ((buffer.getLong(HEADER_BYTES + (int) (bit >>> 6) * 8) & (1L << bit)) == 0) {
+                    return false;
+                }
+                h += h2;
+            }
+            return true;
+        }
+
+        void add(long h1, long h2) {
+            long h = h1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Long.remainderUnsigned(h, bits);
+                int offset = HEADER_BYTES + (int) (bit >>> 6) * 8;
+                buffer.putLong(offset, buffer.getLong(offset) | (1L << bit));
+                h += h2;
+            }
+            buffer.putLong(COUNT_OFFSET, count() + 1);
+            dirty = true;
+        }
+
+        void force() {
+            if (dirty) {
+                buffer.force();
+                dirty = false;
+            }
+        }
+    }
+}
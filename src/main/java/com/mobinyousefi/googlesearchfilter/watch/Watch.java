@@ -0,0 +1,123 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: Watch.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.watch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.util.SearchJson;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A saved query: re-run every {@code interval} by {@link WatchRunner}, which reports the results it has not reported
+ * before. The id keys the seen links, so renaming a watch makes all its results new again.
+ */
+public final class Watch {
+
+    public static final Duration DEFAULT_INTERVAL = Duration.ofHours(1);
+
+    private final String id;
+    private final String query;
+    private final FilterCriteria criteria;
+    private final Duration interval;
+
+    public Watch(String id, String query, FilterCriteria criteria, Duration interval) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("id must not be null or blank");
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query must not be null or blank");
+        }
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        this.id = id;
+        this.query = query;
+        this.criteria = Objects.requireNonNull(criteria, "criteria must not be null").copy();
+        this.interval = interval;
+    }
+
+    /**
+     * Reads watches from JSON Lines, one per line:
+     * <pre>
+     *   {"id": "llm-papers", "query": "large language models", "criteria": {"domainWhitelist": ["arxiv.org"]},
+     *    "intervalMinutes": 30}
+     * </pre>
+     * {@code id} defaults to the query, {@code criteria} to none (see {@link SearchJson}) and {@code intervalMinutes}
+     * to 60. Blank lines and lines starting with {@code #} are skipped.
+     *
+     * @throws IllegalArgumentException for an invalid line or a repeated id, naming the line
+     */
+    public static List<Watch> readAll(BufferedReader reader) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Watch> watches = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            Watch watch;
+            try {
+                JsonNode node = objectMapper.readTree(trimmed);
+                String query = node.hasNonNull("query") ? node.get("query").asText() : null;
+                String id = node.hasNonNull("id") ? node.get("id").asText() : query;
+                Duration interval = node.hasNonNull("intervalMinutes")
+                        ? Duration.ofMinutes(node.get("intervalMinutes").asLong())
+                        : DEFAULT_INTERVAL;
+                watch = new Watch(id, query, SearchJson.readCriteria(node.get("criteria")), interval);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+            if (!ids.add(watch.getId())) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": duplicate watch id " + watch.getId());
+            }
+            watches.add(watch);
+        }
+        return watches;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return a copy of the criteria, safe to modify
+     */
+    public FilterCriteria getCriteria() {
+        return criteria.copy();
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    @Override
+    public String toString() {
+        return "watch " + id + " \"" + query + "\" every " + interval.toMinutes() + " min";
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: WatchRunner.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-16
+ * Updated: 2026-10-16
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.watch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.mobinyousefi.googlesearchfilter.metrics.SearchMetrics;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import com.mobinyousefi.googlesearchfilter.service.FilteredSearchService;
+import com.mobinyousefi.googlesearchfilter.util.SearchJson;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watch mode: re-runs saved queries ({@link Watch}) and streams one JSON line per result not reported before:
+ * <pre>
+ *   {"watch": "llm-papers", "query": "large language models", "foundAt": "2026-10-16T08:00:00Z", "result": {...}}
+ * </pre>
+ * Reported links are remembered per watch in a {@link SeenSet}, which is written through after every run, so a
+ * restarted watcher carries on where it stopped. A crash between reporting a link and flushing the set reports it
+ * again on the next run (at least once, never silently lost), while a Bloom false positive may suppress a new link
+ * at the configured rate.
+ *
+ * Runs are either scheduled, each watch at its own fixed rate on a small pool of daemon threads ({@link #start}), or
+ * made once for all watches ({@link #runAll}), e.g. from cron. A run of a watch never overlaps its previous one.
+ */
+public class WatchRunner implements AutoCloseable {
+
+    private final FilteredSearchService searchService;
+    private final SeenSet seen;
+    private final Writer output;
+    private final PrintStream log;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private ScheduledExecutorService scheduler;
+
+    public WatchRunner(FilteredSearchService searchService, SeenSet seen, Writer output, PrintStream log) {
+        this.searchService = Objects.requireNonNull(searchService, "searchService must not be null");
+        this.seen = Objects.requireNonNull(seen, "seen must not be null");
+        this.output = Objects.requireNonNull(output, "output must not be null");
+        this.log = Objects.requireNonNull(log, "log must not be null");
+    }
+
+    /**
+     * Runs every watch once, one after the other.
+     *
+     * @return new results reported
+     */
+    public long runAll(List<Watch> watches) {
+        long reported = 0;
+        for (Watch watch : watches) {
+            reported += run(watch);
+        }
+        return reported;
+    }
+
+    /**
+     * Schedules every watch at its interval, the first runs spread over the first minute so that a large watch list
+     * does not burst. Returns immediately; runs continue until {@link #close()}.
+     *
+     * @param threads watches that may run at the same time
+     */
+    public synchronized void start(List<Watch> watches, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        if (scheduler != null) {
+            throw new IllegalStateException("Watch runner already started");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "watch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        scheduler = executor;
+        long spreadMillis = watches.size() > 1 ? TimeUnit.MINUTES.toMillis(1) / watches.size() : 0;
+        for (int i = 0; i < watches.size(); i++) {
+            Watch watch = watches.get(i);
+            executor.scheduleAtFixedRate(() -> run(watch), i * spreadMillis, watch.getInterval().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+        log.println("[INFO] Watching " + watches.size() + " queries; " + seen);
+    }
+
+    /**
+     * Runs one watch, reporting its new results. Failures are logged, never thrown, so that a schedule survives them.
+     *
+     * @return new results reported
+     */
+    public long run(Watch watch) {
+        long started = System.nanoTime();
+        List<SearchResult> results;
+        try {
+            results = searchService.search(watch.getQuery(), watch.getCriteria());
+        } catch (Exception e) {
+            log.println("[WARN] watch " + watch.getId() + ": " + e.getClass().getSimpleName() + ": "
+                    + e.getMessage());
+            return 0;
+        }
+
+        String prefix = watch.getId() + '\0';
+        String foundAt = Instant.now().toString();
+        long reported = 0;
+        try {
+            for (SearchResult r : results) {
+                String key = r.getLink() != null ? r.getLink() : r.getTitle();
+                if (key != null && !seen.mightContain(prefix + key)) {
+                    writeLine(watch, foundAt, r); // first, so that a failed write leaves the link unseen
+                    seen.add(prefix + key);
+                    reported++;
+                }
+            }
+        } catch (IOException e) {
+            log.println("[ERROR] Failed to write watch output for " + watch.getId() + ": " + e.getMessage());
+        } catch (RuntimeException e) { // e.g. no room for a new seen set layer
+            log.println("[ERROR] Failed to record results of watch " + watch.getId() + " as seen: " + e);
+        }
+        try {
+            seen.flush();
+        } catch (RuntimeException e) { // MappedByteBuffer.force reports I/O errors unchecked
+            log.println("[ERROR] Failed to flush the seen set after watch " + watch.getId() + ": " + e);
+        }
+        log.printf("[INFO] watch %s: %d results, %d new in %d ms%n", watch.getId(), results.size(), reported,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return reported;
+    }
+
+    public SeenSet getSeenSet() {
+        return seen;
+    }
+
+    /**
+     * Stops scheduling, waiting briefly for runs in progress. The seen set stays open; it belongs to the caller.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLine(Watch watch, String foundAt, SearchResult r) throws IOException {
+        long start = System.nanoTime();
+        StringWriter buffer = new StringWriter(512);
+        try (JsonGenerator gen = jsonFactory.createGenerator(buffer)) {
+            gen.writeStartObject();
+            gen.writeStringField("watch", watch.getId());
+            gen.writeStringField("query", watch.getQuery());
+            gen.writeStringField("foundAt", foundAt);
+            gen.writeFieldName("result");
+            SearchJson.writeResult(gen, r);
+            gen.writeEndObject();
+        }
+        buffer.write('\n');
+        SearchMetrics.RENDER.recordSince(start);
+        synchronized (output) {
+            output.write(buffer.toString());
+            output.flush();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: LocalIndexTest.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.index;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storedFieldsSurviveReopen() throws IOException {
+        SearchResult full = SearchResult.builder().title("Garbage collection tuning").link("https://gc.example/tuning")
+                .displayLink("gc.example").snippet("Pause times and heap sizing").mimeType("text/html")
+                .fileFormat("HTML").languageCode("en").indexedTime(OffsetDateTime.parse("2023-02-03T04:05:06Z"))
+                .safe(true).build();
+        SearchResult bare = SearchResult.builder().title("collection").link("https://bare.example/").build();
+        try (LocalIndex index = LocalIndex.open(directory)) {
+            index.add(List.of(full, bare));
+        }
+        try (LocalIndex index = LocalIndex.open(directory)) {
+            assertEquals(2, index.size());
+            List<SearchResult> hits = index.search("garbage collection", 10);
+            assertEquals(2, hits.size());
+            SearchResult read = hits.get(0); // matches both terms
+            assertEquals(full.getLink(), read.getLink());
+            assertEquals(full.getTitle(), read.getTitle());
+            assertEquals(full.getDisplayLink(), read.getDisplayLink());
+            assertEquals(full.getSnippet(), read.getSnippet());
+            assertEquals(full.getMimeType(), read.getMimeType());
+            assertEquals(full.getFileFormat(), read.getFileFormat());
+            assertEquals(full.getLanguageCode(), read.getLanguageCode());
+            assertEquals(full.getIndexedTime(), read.getIndexedTime());
+            assertTrue(read.isSafe());
+            SearchResult other = hits.get(1);
+            assertEquals(bare.getLink(), other.getLink());
+            assertEquals(null, other.getSnippet());
+            assertFalse(other.hasIndexedTime());
+        }
+    }
+
+    @Test
+    void queriesWithoutMatchesAreEmpty() throws IOException {
+        try (LocalIndex index = LocalIndex.open(directory)) {
+            assertTrue(index.search("anything", 5).isEmpty()); // no segments yet
+            index.add(List.of(result("a", "alpha beta")));
+            assertTrue(index.search("gamma", 5).isEmpty());
+            assertTrue(index.search("  ... ", 5).isEmpty()); // no terms at all
+            assertThrows(IllegalArgumentException.class, () -> index.search("alpha", 0));
+        }
+    }
+
+    @Test
+    void newerVersionOfALinkSupersedesTheOlderOne() throws IOException {
+        try (LocalIndex index = LocalIndex.open(directory)) {
+            index.add(List.of(result("a", "original wording"), result("b", "original text")));
+            index.add(List.of(result("a", "revised wording")));
+            assertEquals(2, index.size());
+            assertEquals(List.of("https://b.example/"), links(index.search("original", 10)));
+            assertEquals(List.of("https://a.example/"), links(index.search("revised", 10)));
+        }
+        try (LocalIndex index = LocalIndex.open(directory)) { // the deletion was persisted
+            assertEquals(2, index.size());
+            assertEquals(List.of("https://b.example/"), links(index.search("original", 10)));
+        }
+    }
+
+    @Test
+    void fullySupersededSegmentIsDropped() throws IOException {
+        try (LocalIndex index = LocalIndex.open(directory)) {
+            index.add(List.of(result("a", "first")));
+            index.add(List.of(result("a", "second")));
+            assertEquals(1, index.segmentCount());
+            assertEquals(1, index.size());
+        }
+    }
+
+    @Test
+    void mergesKeepLiveDocumentsOnly() throws IOException {
+        int adds = LocalIndex.MAX_SEGMENTS * 3;
+        try (LocalIndex index = LocalIndex.open(directory, 2)) {
+            for (int i = 0; i < adds; i++) {
+                // every add also rewrites the previous add's first result
+                List<SearchResult> batch = new ArrayList<>();
+                batch.add(result("doc" + i, "common term" + i));
+                batch.add(result("doc" + i + "b", "common other" + i));
+                if (i > 0) {
+                    batch.add(result("doc" + (i - 1), "common rewritten" + i));
+                }
+                index.add(batch);
+                assertTrue(index.segmentCount() <= LocalIndex.MAX_SEGMENTS, "segments: " + index.segmentCount());
+            }
+            assertEquals(2L * adds, index.size());
+        }
+        try (LocalIndex index = LocalIndex.open(directory, 2)) {
+            assertEquals(2L * adds, index.size());
+            List<SearchResult> all = index.search("common", 1000);
+            assertEquals(2 * adds, all.size());
+            assertEquals(2 * adds, new HashSet<>(links(all)).size());
+            assertTrue(index.search("term0", 10).isEmpty()); // superseded before and after merges
+            assertEquals(List.of("https://doc0.example/"), links(index.search("rewritten1", 10)));
+        }
+    }
+
+    @Test
+    void interruptedWritesAreCleanedUpOnOpen() throws IOException {
+        try (LocalIndex index = LocalIndex.open(directory)) {
+            index.add(List.of(result("a", "kept")));
+        }
+        // data files of a segment whose meta never got written, and temporary files
+        Files.write(Segment.file(directory, 99, "tim"), new byte[]{1, 2, 3});
+        Files.write(Segment.file(directory, 99, "pst"), new byte[]{4});
+        Files.write(Segment.file(directory, 1, "del.tmp"), new byte[]{5});
+        Files.write(Segment.file(directory, 100, "meta.tmp"), new byte[]{6});
+        try (LocalIndex index = LocalIndex.open(directory)) {
+            assertEquals(1, index.size());
+            assertEquals(1, index.search("kept", 5).size());
+            index.add(List.of(result("b", "later"))); // generations continue past the leftovers
+            assertEquals(2, index.size());
+        }
+        assertFalse(Files.exists(Segment.file(directory, 99, "tim")));
+        assertFalse(Files.exists(Segment.file(directory, 1, "del.tmp")));
+        assertFalse(Files.exists(Segment.file(directory, 100, "meta.tmp")));
+    }
+
+    @Test
+    void segmentsReplacedByACommittedMergeAreDroppedOnOpen(@TempDir Path saved) throws IOException {
+        try (LocalIndex index = LocalIndex.open(directory, 1)) {
+            for (int i = 0; i < LocalIndex.MAX_SEGMENTS; i++) {
+                index.add(List.of(result("doc" + i, "merged words")));
+            }
+            copyAll(directory, saved);
+            index.add(List.of(result("last", "merged words"))); // one segment too many: merges
+            assertTrue(index.segmentCount() < LocalIndex.MAX_SEGMENTS + 1);
+        }
+        // a crash between committing the merge and deleting its inputs leaves both on disk
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(saved, "seg-*")) {
+            for (Path file : files) {
+                Files.copy(file, directory.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        try (LocalIndex index = LocalIndex.open(directory, 1)) {
+            assertEquals(LocalIndex.MAX_SEGMENTS + 1, index.size());
+            assertEquals(LocalIndex.MAX_SEGMENTS + 1, index.search("merged", 100).size());
+        }
+    }
+
+    @Test
+    void secondOpenOfTheSameDirectoryFails() throws IOException {
+        try (LocalIndex ignored = LocalIndex.open(directory)) {
+            assertThrows(IOException.class, () -> LocalIndex.open(directory));
+        }
+        LocalIndex.open(directory).close();
+    }
+
+    @Test
+    void linkHashIsStable() {
+        // part of the lnk file format: changing it would break supersession of links indexed earlier
+        assertEquals(0x8ad5a9627adc413cL, Segment.linkHash("https://a.example/"));
+        Set<Long> hashes = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            hashes.add(Segment.linkHash("https://site" + i + ".example/"));
+        }
+        assertEquals(10_000, hashes.size());
+    }
+
+    private static void copyAll(Path from, Path to) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(from, "seg-*")) {
+            for (Path file : files) {
+                Files.copy(file, to.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    private static SearchResult result(String site, String title) {
+        return SearchResult.builder().title(title).link("https://" + site + ".example/")
+                .displayLink(site + ".example").snippet("snippet of " + site).build();
+    }
+
+    private static List<String> links(List<SearchResult> results) {
+        List<String> links = new ArrayList<>();
+        for (SearchResult r : results) {
+            links.add(r.getLink());
+        }
+        return links;
+    }
+}
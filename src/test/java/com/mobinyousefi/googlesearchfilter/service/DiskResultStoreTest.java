@@ -0,0 +1,237 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DiskResultStoreTest.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiskResultStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Duration NEVER = Duration.ofDays(1); // compaction is triggered by the tests
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void pagesSurviveReopen() throws IOException {
+        List<SearchResult> page = List.of(
+                SearchResult.builder().title("Ünïcode title").link("https://a.example/1").displayLink("a.example")
+                        .snippet("snippet").mimeType("application/pdf").fileFormat("PDF").languageCode("de")
+                        .indexedTime(OffsetDateTime.parse("2024-05-01T10:15:30.5+02:00")).safe(true).build(),
+                SearchResult.builder().title("no optional fields").link("https://b.example/").build());
+        try (DiskResultStore store = open(1 << 20)) {
+            store.put(key("q", 1), 10, page);
+        }
+        try (DiskResultStore store = open(1 << 20)) {
+            List<SearchResult> read = store.get(key("q", 1), 10);
+            assertNotNull(read);
+            assertEquals(2, read.size());
+            assertSameResult(page.get(0), read.get(0));
+            assertSameResult(page.get(1), read.get(1));
+            assertNull(store.get(key("q", 11), 10));
+        }
+    }
+
+    @Test
+    void newestRecordWinsOnReopen() throws IOException {
+        try (DiskResultStore store = open(1 << 20)) {
+            store.put(key("q", 1), 10, results("old", 10));
+            store.put(key("q", 1), 10, results("new", 10));
+        }
+        try (DiskResultStore store = open(1 << 20)) {
+            assertEquals("https://new.example/0", store.get(key("q", 1), 10).get(0).getLink());
+        }
+    }
+
+    @Test
+    void tornTailIsTruncatedOnOpen() throws IOException {
+        try (DiskResultStore store = open(1 << 20)) {
+            store.put(key("first", 1), 10, results("first", 3));
+            store.put(key("second", 1), 10, results("second", 3));
+        }
+        Path segment = onlySegment();
+        long full = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(full - 5); // a crash in the middle of the second record
+        }
+
+        try (DiskResultStore store = open(1 << 20)) {
+            assertNotNull(store.get(key("first", 1), 10));
+            assertNull(store.get(key("second", 1), 10));
+            store.put(key("third", 1), 10, results("third", 3)); // appends where the good data ends
+        }
+        try (DiskResultStore store = open(1 << 20)) {
+            assertNotNull(store.get(key("first", 1), 10));
+            assertEquals("https://third.example/2", store.get(key("third", 1), 10).get(2).getLink());
+        }
+    }
+
+    @Test
+    void corruptRecordEndsRecovery() throws IOException {
+        try (DiskResultStore store = open(1 << 20)) {
+            store.put(key("first", 1), 10, results("first", 3));
+            store.put(key("second", 1), 10, results("second", 3));
+        }
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            long last = channel.size() - 2;
+            channel.read(b, last);
+            b.put(0, (byte) (b.get(0) ^ 0x40)).rewind();
+            channel.write(b, last);
+        }
+        try (DiskResultStore store = open(1 << 20)) {
+            assertNotNull(store.get(key("first", 1), 10));
+            assertNull(store.get(key("second", 1), 10));
+        }
+    }
+
+    @Test
+    void secondOpenOfTheSameDirectoryFails() throws IOException {
+        try (DiskResultStore ignored = open(1 << 20)) {
+            assertThrows(IOException.class, () -> open(1 << 20));
+        }
+        open(1 << 20).close(); // released on close
+    }
+
+    @Test
+    void compactionKeepsLiveRecordsAcrossReopen() throws IOException {
+        int keys = 40;
+        try (DiskResultStore store = open(4096)) {
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < keys; i++) {
+                    store.put(key("q" + i, 1), 10, results("r" + round + "k" + i, 2));
+                }
+            }
+            int before = store.segmentCount();
+            store.compact();
+            assertTrue(store.segmentCount() < before, before + " -> " + store.segmentCount());
+            assertEquals(keys, store.size());
+            for (int i = 0; i < keys; i++) {
+                assertEquals("https://r2k" + i + ".example/0", store.get(key("q" + i, 1), 10).get(0).getLink());
+            }
+            store.put(key("q0", 1), 10, results("after", 2)); // written after compaction, must win on reopen
+        }
+        try (DiskResultStore store = open(4096)) {
+            assertEquals(keys, store.size());
+            assertEquals("https://after.example/0", store.get(key("q0", 1), 10).get(0).getLink());
+            for (int i = 1; i < keys; i++) {
+                assertEquals("https://r2k" + i + ".example/0", store.get(key("q" + i, 1), 10).get(0).getLink());
+            }
+        }
+    }
+
+    @Test
+    void writesDuringCompactionAreNotLost() throws Exception {
+        int keys = 50;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try (DiskResultStore store = open(2048)) {
+            Thread compactor = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 200; i++) {
+                        store.compact();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failure.set(e);
+                }
+            });
+            compactor.start();
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < keys; i++) {
+                    store.put(key("q" + i, 1), 10, results("r" + round + "k" + i, 1));
+                }
+            }
+            compactor.join();
+            assertNull(failure.get());
+            store.compact();
+            for (int i = 0; i < keys; i++) {
+                assertEquals("https://r19k" + i + ".example/0", store.get(key("q" + i, 1), 10).get(0).getLink());
+            }
+        }
+        try (DiskResultStore store = open(2048)) {
+            for (int i = 0; i < keys; i++) {
+                assertEquals("https://r19k" + i + ".example/0", store.get(key("q" + i, 1), 10).get(0).getLink());
+            }
+        }
+    }
+
+    @Test
+    void leftoverCompactionFileIsDiscarded() throws IOException {
+        try (DiskResultStore store = open(1 << 20)) {
+            store.put(key("q", 1), 10, results("kept", 2));
+        }
+        Files.write(directory.resolve("segment-000000000001.log.compact"), new byte[]{1, 2, 3});
+        try (DiskResultStore store = open(1 << 20)) {
+            assertNotNull(store.get(key("q", 1), 10));
+        }
+        assertTrue(Files.notExists(directory.resolve("segment-000000000001.log.compact")));
+    }
+
+    private DiskResultStore open(long segmentBytes) throws IOException {
+        return DiskResultStore.open(directory, TTL, segmentBytes, NEVER);
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "segment-*.log")) {
+            files.forEach(segments::add);
+        }
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private static PageKey key(String query, int start) {
+        return PageKey.of(query, QueryParameters.EMPTY, start);
+    }
+
+    private static List<SearchResult> results(String site, int count) {
+        List<SearchResult> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(SearchResult.builder().title(site + " " + i).link("https://" + site + ".example/" + i)
+                    .displayLink(site + ".example").build());
+        }
+        return results;
+    }
+
+    private static void assertSameResult(SearchResult expected, SearchResult actual) {
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getLink(), actual.getLink());
+        assertEquals(expected.getDisplayLink(), actual.getDisplayLink());
+        assertEquals(expected.getSnippet(), actual.getSnippet());
+        assertEquals(expected.getMimeType(), actual.getMimeType());
+        assertEquals(expected.getFileFormat(), actual.getFileFormat());
+        assertEquals(expected.getLanguageCode(), actual.getLanguageCode());
+        assertEquals(expected.getIndexedTime(), actual.getIndexedTime());
+        assertEquals(expected.isSafe(), actual.isSafe());
+    }
+}
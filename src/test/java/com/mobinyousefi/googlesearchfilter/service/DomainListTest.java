@@ -0,0 +1,174 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DomainListTest.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DomainListTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void subDomainsMatchButSiblingLabelsDoNot() throws IOException {
+        DomainList list = compile("example.com", "evil.co.uk", "b.example.org");
+        assertTrue(list.matches("example.com"));
+        assertTrue(list.matches("a.example.com"));
+        assertTrue(list.matches("x.y.example.com"));
+        assertTrue(list.matches("WWW.Example.COM"));
+        assertTrue(list.matches("example.com.")); // fully qualified
+        assertTrue(list.matches("www.evil.co.uk"));
+        assertTrue(list.matches("a.b.example.org"));
+
+        assertFalse(list.matches("badexample.com")); // shares the bytes but not the label
+        assertFalse(list.matches("ample.com"));
+        assertFalse(list.matches("example.co"));
+        assertFalse(list.matches("example.com.au"));
+        assertFalse(list.matches("com"));
+        assertFalse(list.matches("co.uk"));
+        assertFalse(list.matches("example.org")); // the parent of an entry
+        assertFalse(list.matches("bb.example.org"));
+        assertFalse(list.matches(""));
+        assertFalse(list.matches(null));
+    }
+
+    @Test
+    void entriesCoveredByAShorterOneAreDropped() throws IOException {
+        DomainList list = compile("a.example.com", "example.com", "b.a.example.com", "example.com", "example.org",
+                "www.example.org", "example.organic.net");
+        assertEquals(3, list.size()); // example.com, example.org, example.organic.net
+        assertEquals(0, list.getSkippedCount());
+        assertTrue(list.matches("a.example.com"));
+        assertTrue(list.matches("c.b.a.example.com"));
+        assertTrue(list.matches("www.example.org"));
+        assertTrue(list.matches("example.organic.net"));
+        assertFalse(list.matches("organic.net"));
+    }
+
+    @Test
+    void prefixTiesAcrossBlocksAreResolvedOnFullEntries() throws IOException {
+        // all reversed entries start with "com.long", so every block's prefix ties with every key below
+        List<String> entries = new ArrayList<>();
+        entries.add("long.com");
+        for (int i = 0; i < 10 * DomainList.BLOCK_SIZE; i += 2) {
+            entries.add(String.format("s%04d.longdomain.com", i));
+        }
+        DomainList list = compile(entries.toArray(new String[0]));
+        assertEquals(entries.size(), list.size());
+        assertTrue(list.size() > 4 * DomainList.BLOCK_SIZE);
+
+        assertTrue(list.matches("long.com"));
+        assertTrue(list.matches("x.long.com"));
+        assertFalse(list.matches("longdomain.com"));
+        assertFalse(list.matches("a.longdomain.com")); // below the first tied entry after long.com
+        assertFalse(list.matches("z.longdomain.com")); // above the last
+        for (int i = 0; i < 10 * DomainList.BLOCK_SIZE; i++) {
+            String host = String.format("s%04d.longdomain.com", i);
+            boolean listed = i % 2 == 0;
+            assertEquals(listed, list.matches(host), host);
+            assertEquals(listed, list.matches("www." + host), "www." + host);
+            assertFalse(list.matches(String.format("s%04dx.longdomain.com", i)), host + " sibling");
+        }
+    }
+
+    @Test
+    void compiledListRoundTripsThroughOpen() throws IOException {
+        Path source = source("one.example", "two.example", "three.example");
+        Path target = directory.resolve("list.bin");
+        DomainList compiled = DomainList.compile(source, target, PublicSuffixList.DEFAULT, false, false, 42);
+        DomainList opened = DomainList.open(target);
+        assertEquals(compiled.size(), opened.size());
+        assertEquals(compiled.sizeInBytes(), opened.sizeInBytes());
+        assertEquals(42, opened.getOptions());
+        assertEquals(Files.size(source), opened.getSourceSize());
+        assertEquals(Files.getLastModifiedTime(source).toMillis(), opened.getSourceModified());
+        assertTrue(opened.matches("www.two.example"));
+        assertFalse(opened.matches("four.example"));
+    }
+
+    @Test
+    void sourceFormatsAndSkippedLines() throws IOException {
+        DomainList list = compile("# a hosts file", "0.0.0.0 hosts.example", "127.0.0.1 local.example # note",
+                "||adblock.example^", "https://url.example/path?q=1", "*.wild.example", "", "! adblock comment",
+                "[Adblock Plus 2.0]", "???", "Upper.Example.");
+        assertEquals(6, list.size());
+        assertEquals(1, list.getSkippedCount()); // "???"
+        for (String host : List.of("hosts.example", "local.example", "adblock.example", "url.example",
+                "a.wild.example", "upper.example")) {
+            assertTrue(list.matches(host), host);
+        }
+        assertFalse(list.matches("0.0.0.0"));
+    }
+
+    @Test
+    void publicSuffixesAreSkippedAndEntriesWidened() throws IOException {
+        Path rules = directory.resolve("suffixes.dat");
+        Files.write(rules, List.of("// rules", "com", "uk", "co.uk", "blogspot.com"));
+        PublicSuffixList suffixes = PublicSuffixList.load(rules);
+        DomainList list = DomainList.compile(source("blogspot.com", "login.evil.co.uk", "co.uk"),
+                directory.resolve("list.bin"), suffixes, true, true, 0);
+        assertEquals(1, list.size());
+        assertEquals(2, list.getSkippedCount());
+        assertTrue(list.matches("evil.co.uk"));
+        assertTrue(list.matches("www.evil.co.uk"));
+        assertFalse(list.matches("good.co.uk"));
+        assertFalse(list.matches("someone.blogspot.com"));
+    }
+
+    @Test
+    void emptyListMatchesNothing() throws IOException {
+        DomainList list = compile("# only comments", "");
+        assertEquals(0, list.size());
+        assertFalse(list.matches("example.com"));
+        assertEquals(0, DomainList.open(directory.resolve("list.bin")).size());
+    }
+
+    @Test
+    void damagedFilesAreRejected() throws IOException {
+        compile("example.com", "example.org");
+        Path target = directory.resolve("list.bin");
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        assertThrows(IOException.class, () -> DomainList.open(target));
+
+        Files.write(target, new byte[8]);
+        assertThrows(IOException.class, () -> DomainList.open(target));
+        Files.write(target, new byte[128]);
+        assertThrows(IOException.class, () -> DomainList.open(target));
+    }
+
+    private DomainList compile(String... lines) throws IOException {
+        return DomainList.compile(source(lines), directory.resolve("list.bin"), PublicSuffixList.DEFAULT, false,
+                false, 0);
+    }
+
+    private Path source(String... lines) throws IOException {
+        Path source = directory.resolve("list.txt");
+        Files.write(source, List.of(lines));
+        return source;
+    }
+}
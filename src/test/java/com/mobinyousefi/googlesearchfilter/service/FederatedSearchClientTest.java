@@ -0,0 +1,164 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: FederatedSearchClientTest.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.loadtest.LatencyDistribution;
+import com.mobinyousefi.googlesearchfilter.loadtest.StubSearchClient;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FederatedSearchClientTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void resultsAreMergedRoundRobinInProviderOrder() throws IOException, SearchException {
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("a", stub("a", 0, 3, 0), TIMEOUT)
+                .provider("b", stub("b", 10, 2, 30), TIMEOUT) // slower, yet keeps its place in the order
+                .build()) {
+            List<SearchResult> a = StubSearchClient.results(0, 3);
+            List<SearchResult> b = StubSearchClient.results(10, 2);
+            assertEquals(links(List.of(a.get(0), b.get(0), a.get(1), b.get(1), a.get(2))),
+                    links(client.search("query", 10)));
+            assertEquals(links(List.of(a.get(0), b.get(0), a.get(1))), links(client.search("query", 3)));
+        }
+    }
+
+    @Test
+    void linksFoundBySeveralProvidersAreEmittedOnce() throws IOException, SearchException {
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("a", stub("a", 0, 3, 0), TIMEOUT)
+                .provider("b", stub("b", 1, 3, 0), TIMEOUT)
+                .build()) {
+            // a: 0 1 2, b: 1 2 3; each link keeps its best rank
+            assertEquals(links(StubSearchClient.results(0, 4)), links(client.search("query", 10)));
+        }
+    }
+
+    @Test
+    void slowProviderTimesOutWhileTheOthersStillMerge() throws IOException, SearchException {
+        StubSearchClient slow = stub("slow", 0, 3, 5_000);
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("slow", slow, Duration.ofMillis(100))
+                .provider("fast", stub("fast", 10, 3, 0), TIMEOUT)
+                .build()) {
+            long start = System.nanoTime();
+            List<SearchResult> results = client.search("query", 10);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(links(StubSearchClient.results(10, 3)), links(results));
+            assertEquals(1, client.getTimeoutCount());
+            assertTrue(millis < 2_000, millis + " ms");
+        }
+    }
+
+    @Test
+    void hedgeFiresAndWinsForASlowPrimary() throws IOException, SearchException {
+        StubSearchClient primary = stub("primary", 0, 3, 5_000);
+        StubSearchClient backup = stub("backup", 20, 3, 0);
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("hedged", primary, TIMEOUT, backup, Duration.ofMillis(50))
+                .build()) {
+            long start = System.nanoTime();
+            List<SearchResult> results = client.search("query", 10);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(links(StubSearchClient.results(20, 3)), links(results));
+            assertEquals(1, client.getHedgeCount());
+            assertEquals(1, client.getHedgeWinCount());
+            assertEquals(1, backup.getRequestCount());
+            assertTrue(millis < 2_000, millis + " ms"); // the primary was not waited for
+        }
+    }
+
+    @Test
+    void hedgeDoesNotFireForAFastPrimary() throws Exception {
+        StubSearchClient backup = stub("backup", 20, 3, 0);
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("hedged", stub("primary", 0, 3, 0), TIMEOUT, backup, Duration.ofMillis(300))
+                .build()) {
+            assertEquals(links(StubSearchClient.results(0, 3)), links(client.search("query", 10)));
+            Thread.sleep(500); // past the hedge delay
+            assertEquals(0, client.getHedgeCount());
+            assertEquals(0, backup.getRequestCount());
+        }
+    }
+
+    @Test
+    void failingPrimaryFallsBackToTheBackupBeforeTheHedgeDelay() throws IOException, SearchException {
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("hedged", failing("primary"), TIMEOUT, stub("backup", 20, 2, 0), Duration.ofSeconds(10))
+                .build()) {
+            assertEquals(links(StubSearchClient.results(20, 2)), links(client.search("query", 10)));
+            assertEquals(1, client.getHedgeWinCount());
+        }
+    }
+
+    @Test
+    void failedProviderIsSkipped() throws IOException, SearchException {
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("broken", failing("broken"), TIMEOUT)
+                .provider("ok", stub("ok", 0, 2, 0), TIMEOUT)
+                .build()) {
+            assertEquals(links(StubSearchClient.results(0, 2)), links(client.search("query", 10)));
+            assertEquals(1, client.getFailureCount());
+        }
+    }
+
+    @Test
+    void queryFailsWhenEveryProviderFails() {
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("a", failing("a"), TIMEOUT)
+                .provider("b", failing("b"), TIMEOUT)
+                .build()) {
+            IOException e = assertThrows(IOException.class, () -> client.search("query", 10));
+            assertTrue(e.getMessage().contains("simulated failure"), e.getMessage());
+            assertEquals(2, client.getFailureCount());
+        }
+    }
+
+    @Test
+    void emptyAnswerIsNotAFailure() throws IOException, SearchException {
+        try (FederatedSearchClient client = FederatedSearchClient.builder()
+                .provider("empty", stub("empty", 0, 0, 0), TIMEOUT)
+                .provider("broken", failing("broken"), TIMEOUT)
+                .build()) {
+            assertTrue(client.search("query", 10).isEmpty());
+        }
+    }
+
+    private static StubSearchClient stub(String name, int firstDomain, int count, double latencyMillis) {
+        return new StubSearchClient(name, StubSearchClient.results(firstDomain, count),
+                LatencyDistribution.fixed(latencyMillis));
+    }
+
+    private static StubSearchClient failing(String name) {
+        return new StubSearchClient(name, StubSearchClient.results(0, 3), LatencyDistribution.fixed(0), 1);
+    }
+
+    private static List<String> links(List<SearchResult> results) {
+        List<String> links = new ArrayList<>();
+        for (SearchResult r : results) {
+            links.add(r.getLink());
+        }
+        return links;
+    }
+}
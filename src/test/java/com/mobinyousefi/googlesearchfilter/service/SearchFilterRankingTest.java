@@ -0,0 +1,138 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SearchFilterRankingTest.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.exception.SearchException;
+import com.mobinyousefi.googlesearchfilter.model.FilterCriteria;
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchFilterRankingTest {
+
+    private static final String[] WORDS = {"java", "garbage", "collection", "tuning", "heap", "latency", "index",
+            "thread", "cache", "network"};
+
+    @Test
+    void scoresTitleHitsAboveSnippetHitsAndBoosts() {
+        ResultRanker ranker = ResultRanker.builder().titleWeight(2).snippetWeight(1).domainBoost("docs.example", 0.5)
+                .build();
+        SearchResult inTitle = result("title.example", "Java heap tuning", "nothing relevant");
+        SearchResult inSnippet = result("snippet.example", "Unrelated", "java heap tuning");
+        SearchResult boosted = result("a.docs.example", "Unrelated", "java heap tuning");
+        SearchResult none = result("none.example", "Unrelated", "nothing");
+        assertEquals(List.of(inTitle, boosted, inSnippet),
+                ranker.rank("java heap", List.of(none, inSnippet, boosted, inTitle), 3));
+    }
+
+    @Test
+    void streamingAndInMemoryPathsAgree() throws IOException, SearchException {
+        ResultRanker ranker = ResultRanker.builder().titleWeight(2).snippetWeight(1).domainBoost("site3.example", 0.7)
+                .candidates(50).build();
+        SearchFilter filter = new SearchFilter(ranker);
+        List<SearchResult> input = randomResults(400, new Random(3));
+        for (int distance : new int[]{-1, 3}) {
+            FilterCriteria criteria = new FilterCriteria();
+            criteria.setMaxResults(15);
+            criteria.setNearDuplicateDistance(distance);
+            List<SearchResult> inMemory = filter.apply("java heap tuning", input, criteria);
+
+            FilterCriteria candidates = criteria.copy();
+            candidates.setMaxResults(Integer.MAX_VALUE);
+            candidates.setNearDuplicateDistance(-1);
+            List<SearchResult> streamed = filter.rank(filter.filter(SearchCursor.of(input), candidates),
+                    "java heap tuning", 15, distance).toList();
+            assertEquals(15, inMemory.size());
+            assertEquals(inMemory, streamed, "distance " + distance);
+        }
+    }
+
+    @Test
+    void nearDuplicateGroupKeepsItsBestScoredCopy() throws IOException, SearchException {
+        ResultRanker ranker = ResultRanker.builder().domainBoost("good.example", 5).build();
+        SearchFilter filter = new SearchFilter(ranker);
+        String title = "Java garbage collection tuning guide";
+        String snippet = "How to tune the garbage collector pause times and heap sizes for latency";
+        SearchResult copy = result("copy.example", title, snippet);
+        SearchResult original = result("good.example", title, snippet); // arrives second, scores best
+        SearchResult other = result("other.example", "Thread pools and network caches", "Nothing alike at all here");
+        List<SearchResult> input = List.of(copy, other, original);
+
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setMaxResults(5);
+        criteria.setNearDuplicateDistance(3);
+        assertEquals(List.of(original, other), filter.apply("garbage", input, criteria));
+        assertEquals(List.of(original, other),
+                filter.rank(SearchCursor.of(input), "garbage", 5, 3).toList());
+        criteria.setNearDuplicateDistance(-1);
+        assertEquals(List.of(original, copy, other), filter.apply("garbage", input, criteria));
+    }
+
+    @Test
+    void collapsedCopiesDoNotUseUpTheK() {
+        ResultRanker ranker = ResultRanker.builder().titleWeight(1).build();
+        SearchFilter filter = new SearchFilter(ranker);
+        List<SearchResult> input = new ArrayList<>();
+        for (int i = 0; i < 5; i++) { // five copies of the best-scored text
+            input.add(result("copy" + i + ".example", "java heap tuning guide for servers",
+                    "the same long snippet about java heap tuning for servers"));
+        }
+        input.add(result("second.example", "java threads", "a different text about thread pools"));
+        input.add(result("third.example", "network caches", "yet another page about caching proxies"));
+        List<SearchResult> top = filter.rank(input, "java heap", 3, 3);
+        assertEquals(3, top.size());
+        assertEquals("https://copy0.example/", top.get(0).getLink());
+        assertEquals("https://second.example/", top.get(1).getLink());
+        assertEquals("https://third.example/", top.get(2).getLink());
+    }
+
+    @Test
+    void inMemoryPoolIsBoundedByTheCandidates() {
+        ResultRanker ranker = ResultRanker.builder().titleWeight(1).candidates(20).build();
+        SearchFilter filter = new SearchFilter(ranker);
+        List<SearchResult> input = randomResults(1000, new Random(5));
+        List<SearchResult> top = filter.rank(input, "java", 10, 3);
+        assertTrue(top.size() <= 10);
+        List<SearchResult> best = ranker.rank("java", input, 20);
+        assertTrue(best.containsAll(top)); // collapsed from the best candidates only
+    }
+
+    private static List<SearchResult> randomResults(int n, Random random) {
+        List<SearchResult> results = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String site = "site" + random.nextInt(10) + ".example";
+            results.add(SearchResult.builder().title(words(random, 5)).snippet(words(random, 12))
+                    .link("https://" + site + "/" + i).displayLink(site).build());
+        }
+        return results;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static SearchResult result(String site, String title, String snippet) {
+        return SearchResult.builder().title(title).snippet(snippet).link("https://" + site + "/").displayLink(site)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: TopKTest.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.service;
+
+import com.mobinyousefi.googlesearchfilter.model.SearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKTest {
+
+    @Test
+    void keepsTheBestKBestFirst() {
+        List<Integer> scores = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            scores.add(i);
+        }
+        Collections.shuffle(scores, new Random(7));
+        TopK top = new TopK(10);
+        for (int score : scores) {
+            top.offer(result(score), score);
+        }
+        assertEquals(10, top.size());
+        assertEquals(1000, top.getOfferedCount());
+        List<String> expected = new ArrayList<>();
+        for (int i = 999; i >= 990; i--) {
+            expected.add(link(i));
+        }
+        assertEquals(expected, links(top.toList()));
+        assertEquals(expected, links(top.toList())); // reading leaves the selection unchanged
+    }
+
+    @Test
+    void equalScoresKeepArrivalOrder() {
+        TopK top = new TopK(3);
+        assertTrue(top.offer(result(1), 1.0));
+        assertTrue(top.offer(result(2), 2.0));
+        assertTrue(top.offer(result(3), 1.0));
+        assertTrue(top.offer(result(4), 2.0)); // displaces 3, the later of the two weakest
+        assertFalse(top.offer(result(5), 1.0)); // ties the weakest kept, which arrived first
+        assertEquals(List.of(link(2), link(4), link(1)), links(top.toList()));
+    }
+
+    @Test
+    void fewerResultsThanK() {
+        TopK top = new TopK(5);
+        top.offer(result(1), 0.5);
+        top.offer(result(2), 0.7);
+        assertEquals(List.of(link(2), link(1)), links(top.toList()));
+        assertTrue(new TopK(5).toList().isEmpty());
+    }
+
+    @Test
+    void largeKGrowsOnDemand() {
+        Random random = new Random(11);
+        int n = 3000;
+        List<Double> scores = new ArrayList<>();
+        TopK top = new TopK(5000);
+        for (int i = 0; i < n; i++) {
+            double score = random.nextInt(100); // many ties
+            scores.add(score);
+            top.offer(result(i), score);
+        }
+        List<SearchResult> sorted = top.toList();
+        assertEquals(n, sorted.size());
+        for (int i = 1; i < n; i++) {
+            int previous = index(sorted.get(i - 1));
+            int current = index(sorted.get(i));
+            double byScore = scores.get(previous) - scores.get(current);
+            assertTrue(byScore > 0 || (byScore == 0 && previous < current), previous + " before " + current);
+        }
+    }
+
+    @Test
+    void nonPositiveKIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK(0));
+    }
+
+    private static SearchResult result(int i) {
+        return SearchResult.builder().title("result " + i).link(link(i)).build();
+    }
+
+    private static String link(int i) {
+        return "https://r" + i + ".example/";
+    }
+
+    private static int index(SearchResult r) {
+        String link = r.getLink();
+        return Integer.parseInt(link.substring("https://r".length(), link.indexOf('.')));
+    }
+
+    private static List<String> links(List<SearchResult> results) {
+        List<String> links = new ArrayList<>();
+        for (SearchResult r : results) {
+            links.add(r.getLink());
+        }
+        return links;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: DateParserTest.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DateParserTest {
+
+    private static final DateTimeFormatter ISO_NO_COLON = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSxx");
+    private static final DateTimeFormatter ISO_HOURS = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ssx");
+
+    private final DateParser parser = new DateParser(0);
+
+    @Test
+    void isoDateTimesMatchTheJdk() {
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            OffsetDateTime expected = randomDateTime(random);
+            String text = expected.toString(); // ISO-8601, with as many fraction digits as needed
+            assertEquals(OffsetDateTime.parse(text), parser.parse(text), text);
+            String compactOffset = expected.withNano(expected.getNano() / 1_000_000 * 1_000_000)
+                    .format(ISO_NO_COLON);
+            assertEquals(OffsetDateTime.parse(compactOffset, ISO_NO_COLON), parser.parse(compactOffset), compactOffset);
+            OffsetDateTime wholeHours = expected.withNano(0).withOffsetSameLocal(
+                    ZoneOffset.ofHours(expected.getOffset().getTotalSeconds() / 3600));
+            String hoursOffset = wholeHours.format(ISO_HOURS);
+            assertEquals(wholeHours, parser.parse(hoursOffset), hoursOffset);
+        }
+    }
+
+    @Test
+    void rfc1123DateTimesMatchTheJdk() {
+        Random random = new Random(2);
+        for (int i = 0; i < 20_000; i++) {
+            String text = DateTimeFormatter.RFC_1123_DATE_TIME.format(randomDateTime(random).withNano(0));
+            OffsetDateTime expected = ZonedDateTime.parse(text, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toOffsetDateTime();
+            assertEquals(expected, parser.parse(text), text);
+            String withoutDayName = text.substring(text.indexOf(',') + 2);
+            assertEquals(expected, parser.parse(withoutDayName), withoutDayName);
+        }
+    }
+
+    @Test
+    void otherAcceptedShapes() {
+        OffsetDateTime midnight = OffsetDateTime.of(2024, 3, 15, 0, 0, 0, 0, ZoneOffset.UTC);
+        assertEquals(midnight, parser.parse("2024-03-15"));
+        assertEquals(midnight, parser.parse("20240315"));
+        assertEquals(midnight, parser.parse("  2024-03-15\n"));
+        assertEquals(midnight, parser.parse("March 15, 2024"));
+        assertEquals(midnight, parser.parse("15 mar 2024"));
+        assertEquals(midnight, parser.parse("2024/03/15"));
+        assertEquals(OffsetDateTime.parse("2024-03-15T10:30Z"), parser.parse("2024-03-15t10:30")); // no offset: UTC
+        assertEquals(OffsetDateTime.parse("2024-03-15T10:30:00.5+01:00"), parser.parse("2024-03-15 10:30:00,5+01:00"));
+        assertEquals(OffsetDateTime.parse("2024-03-15T10:30:00.123456789-18:00"),
+                parser.parse("2024-03-15T10:30:00.123456789-18:00"));
+        assertEquals(OffsetDateTime.parse("2024-03-15T10:30:00Z"), parser.parse("15 Mar 2024 10:30 UTC"));
+        assertEquals(OffsetDateTime.parse("2024-03-15T10:30:00+01:00"),
+                parser.parse("Friday, 15 Mar 2024 10:30:00 +0100"));
+        assertEquals(OffsetDateTime.parse("2024-01-01T00:00Z"),
+                parser.parseFirst(null, "not a date", "2024-01-01", "2025-01-01"));
+    }
+
+    @Test
+    void leapYears() {
+        assertEquals(OffsetDateTime.parse("2024-02-29T00:00Z"), parser.parse("2024-02-29"));
+        assertEquals(OffsetDateTime.parse("2000-02-29T00:00Z"), parser.parse("20000229"));
+        assertNull(parser.parse("2023-02-29"));
+        assertNull(parser.parse("1900-02-29")); // divisible by 100, not by 400
+        assertNull(parser.parse("Thu, 29 Feb 2023 10:00:00 GMT"));
+    }
+
+    @Test
+    void rejectedShapes() {
+        assertNull(parser.parse("2024-02-30"));
+        assertNull(parser.parse("2024-04-31T10:00Z"));
+        assertNull(parser.parse("2024-13-01"));
+        assertNull(parser.parse("2024-03-15T24:00Z"));
+        assertNull(parser.parse("2024-03-15T10:60Z"));
+        assertNull(parser.parse("2024-03-15T10:30:60Z"));
+        assertNull(parser.parse("2024-03-15T10:30:00+19:00")); // beyond ±18:00
+        assertNull(parser.parse("2024-03-15T10:30:00+18:30"));
+        assertNull(parser.parse("2024-03-15T10:30:00+01:60"));
+        assertNull(parser.parse("2024-03-15T10:30:00.1234567891Z")); // 10 fraction digits
+        assertNull(parser.parse("2024-03-15T10:30:00.Z"));
+        assertNull(parser.parse("2024-03-15T10:30:00+1"));
+        assertNull(parser.parse("2024-03-15T10:30:00ZZ"));
+        assertNull(parser.parse("2024-03-15T10"));
+        assertNull(parser.parse("2024-3-15"));
+        assertNull(parser.parse("Fri, 15 Mar 2024 10:30:00GMT")); // zone without a space
+        assertNull(parser.parse("Fri, 15 Mar 2024 10:30:00 CET"));
+        assertNull(parser.parse("Fri, 15 Foo 2024 10:30:00 GMT"));
+        assertNull(parser.parse("February 30, 2024"));
+        assertNull(parser.parse(""));
+        assertNull(parser.parse("   "));
+        assertNull(parser.parse(null));
+        assertNull(parser.parse("yesterday"));
+    }
+
+    @Test
+    void cachedResultsMatchUncachedOnes() {
+        DateParser cached = new DateParser(8); // small, so the cache is dropped and refilled many times
+        Random random = new Random(3);
+        for (int i = 0; i < 2_000; i++) {
+            String text = random.nextInt(4) == 0 ? "not a date " + random.nextInt(20)
+                    : randomDateTime(random).toString().substring(0, 10 + random.nextInt(3) * 6);
+            assertEquals(parser.parse(text), cached.parse(text), text);
+            assertEquals(parser.parse(text), cached.parse(text), text); // now from the cache, misses included
+        }
+        assertThrows(IllegalArgumentException.class, () -> new DateParser(-1));
+    }
+
+    private static OffsetDateTime randomDateTime(Random random) {
+        int nanos = switch (random.nextInt(4)) {
+            case 0 -> 0;
+            case 1 -> random.nextInt(1000) * 1_000_000;
+            case 2 -> random.nextInt(1_000_000) * 1_000;
+            default -> random.nextInt(1_000_000_000);
+        };
+        int offsetMinutes = random.nextInt(2 * 18 * 60 + 1) - 18 * 60;
+        return OffsetDateTime.of(1900 + random.nextInt(250), 1 + random.nextInt(12), 1, random.nextInt(24),
+                        random.nextInt(60), random.nextInt(60), nanos, ZoneOffset.ofTotalSeconds(offsetMinutes * 60))
+                .plusDays(random.nextInt(31));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * =====================================================================================================================
+ * Project: Google Search Engine Filter
+ * File: SeenSetTest.java
+ * Author: Mobin Yousefi (GitHub: https://github.com/mobinyousefi-cs)
+ * Created: 2026-10-17
+ * Updated: 2026-10-17
+ * License: MIT License (see LICENSE file for details)
+ * =====================================================================================================================
+ */
+
+package com.mobinyousefi.googlesearchfilter.watch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeenSetTest {
+
+    private static final double RATE = 1e-3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keysSurviveReopen() throws IOException {
+        try (SeenSet set = SeenSet.open(directory, 1000, RATE)) {
+            for (int i = 0; i < 500; i++) {
+                assertTrue(set.add(link(i)));
+            }
+            assertFalse(set.add(link(7))); // already seen
+        }
+        try (SeenSet set = SeenSet.open(directory, 1000, RATE)) {
+            assertEquals(500, set.size());
+            for (int i = 0; i < 500; i++) {
+                assertTrue(set.mightContain(link(i)), link(i));
+            }
+            assertFalse(set.add(link(0)));
+            assertEquals(500, set.size());
+        }
+    }
+
+    @Test
+    void fullLayerAddsALargerOne() throws IOException {
+        try (SeenSet set = SeenSet.open(directory, 100, RATE)) {
+            for (int i = 0; i < 1000; i++) {
+                set.add(link(i));
+            }
+            assertEquals(4, set.layerCount()); // 100 + 200 + 400 + 800
+            assertTrue(Files.exists(directory.resolve("seen-3.bloom")));
+        }
+        try (SeenSet set = SeenSet.open(directory, 5, 0.5)) { // the parameters of the existing set are kept
+            assertEquals(4, set.layerCount());
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(set.mightContain(link(i)), link(i));
+            }
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysWithinTheBound() throws IOException {
+        try (SeenSet set = SeenSet.open(directory, 1000, RATE)) {
+            for (int i = 0; i < 5000; i++) { // three layers
+                set.add(link(i));
+            }
+            int falsePositives = 0;
+            int probes = 100_000;
+            for (int i = 0; i < probes; i++) {
+                if (set.mightContain("https://unseen.example/" + i)) {
+                    falsePositives++;
+                }
+            }
+            // the expected count is below 100; a broken hash or probe sequence gives far more
+            assertTrue(falsePositives < 2 * RATE * probes, "false positives: " + falsePositives);
+        }
+    }
+
+    @Test
+    void secondOpenOfTheSameDirectoryFails() throws IOException {
+        try (SeenSet ignored = SeenSet.open(directory, 100, RATE)) {
+            assertThrows(IOException.class, () -> SeenSet.open(directory, 100, RATE));
+        }
+        SeenSet.open(directory, 100, RATE).close();
+    }
+
+    @Test
+    void truncatedLayerIsRejected() throws IOException {
+        try (SeenSet set = SeenSet.open(directory, 100, RATE)) {
+            set.add(link(1));
+        }
+        Path layer = directory.resolve("seen-0.bloom");
+        try (FileChannel channel = FileChannel.open(layer, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 8);
+        }
+        assertThrows(IOException.class, () -> SeenSet.open(directory, 100, RATE));
+        Files.write(layer, new byte[16]); // shorter than a header
+        assertThrows(IOException.class, () -> SeenSet.open(directory, 100, RATE));
+
+        Files.delete(layer); // the failed opens released the lock
+        try (SeenSet set = SeenSet.open(directory, 100, RATE)) {
+            assertEquals(0, set.size());
+        }
+    }
+
+    @Test
+    void foreignFileIsRejected() throws IOException {
+        try (SeenSet ignored = SeenSet.open(directory, 100, RATE)) {
+            // creates the first layer
+        }
+        Path layer = directory.resolve("seen-0.bloom");
+        byte[] bytes = Files.readAllBytes(layer);
+        bytes[0] ^= 1; // magic
+        Files.write(layer, bytes);
+        assertThrows(IOException.class, () -> SeenSet.open(directory, 100, RATE));
+    }
+
+    @Test
+    void unfinishedLayerFileIsIgnored() throws IOException {
+        try (SeenSet set = SeenSet.open(directory, 100, RATE)) {
+            set.add(link(1));
+        }
+        // a crash while creating the next layer leaves only its temporary file
+        Files.write(directory.resolve("seen-1.bloom.tmp"), new byte[]{1, 2, 3});
+        try (SeenSet set = SeenSet.open(directory, 100, RATE)) {
+            assertEquals(1, set.layerCount());
+            assertTrue(set.mightContain(link(1)));
+        }
+    }
+
+    private static String link(int i) {
+        return "https://site" + i + ".example/page";
+    }
+}